@@ -0,0 +1,36 @@
+{{ config(materialized='view') }}
+
+with
+
+source as (
+    select * from {{ source('raw', 'raw_contributor_stats') }}
+),
+
+deduplicated as (
+    select
+        *,
+        -- Each load is the repository's whole history as GitHub last computed it,
+        -- without weeks that have no commits: keep only the latest load
+        max(ingestion_timestamp) over (partition by repo_full_name) as _latest_ingestion,
+        row_number() over (
+            partition by repo_full_name, author_id, week_start, ingestion_timestamp
+        ) as _row_num
+    from source
+),
+
+renamed as (
+    select
+        repo_full_name,
+        author_login,
+        cast(author_id as int64) as author_id,
+        week_start,
+        cast(additions as int64) as additions,
+        cast(deletions as int64) as deletions,
+        cast(commits as int64) as commit_count,
+        ingestion_timestamp
+    from deduplicated
+    where ingestion_timestamp = _latest_ingestion
+      and _row_num = 1
+)
+
+select * from renamed
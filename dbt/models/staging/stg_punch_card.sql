@@ -0,0 +1,32 @@
+{{ config(materialized='view') }}
+
+with
+
+source as (
+    select * from {{ source('raw', 'raw_punch_card') }}
+),
+
+latest_snapshot as (
+    select
+        *,
+        row_number() over (
+            partition by repo_full_name, day_of_week, hour_of_day
+            order by extraction_date desc, ingestion_timestamp desc
+        ) as _row_num
+    from source
+),
+
+renamed as (
+    select
+        repo_full_name,
+        extraction_date,
+        -- GitHub counts days from 0 = Sunday; match extract(dayofweek) in stg_commits
+        cast(day_of_week as int64) + 1 as day_of_week,
+        cast(hour_of_day as int64) as hour_of_day,
+        cast(commits as int64) as commit_count,
+        ingestion_timestamp
+    from latest_snapshot
+    where _row_num = 1
+)
+
+select * from renamed
@@ -0,0 +1,161 @@
+package com.devpulse.extractor.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD limit on the number of GitHub requests in flight across all threads.
+ *
+ * <p>Every successful response while the limit is in use raises it by
+ * {@code 1/limit}, about one extra request per round of requests (additive
+ * increase). A secondary rate limit (403 with {@code Retry-After}, or 429) halves
+ * it at once. Latency is judged per window of {@value #WINDOW_SIZE} responses: if the
+ * window's p99 exceeds {@value #LATENCY_TOLERANCE}x the best p99 seen so far, the
+ * limit shrinks by {@value #LATENCY_BACKOFF_RATIO}. The limit stays between 1 and the
+ * configured maximum, so a parallel extraction settles near the fastest rate GitHub
+ * tolerates.</p>
+ *
+ * <p>Thread-safe. Waiting uses a {@link ReentrantLock}, so virtual threads unmount
+ * while parked.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    static final int DEFAULT_INITIAL_LIMIT = 4;
+    static final int WINDOW_SIZE = 100;
+    static final double LATENCY_TOLERANCE = 2.0;
+    static final double LATENCY_BACKOFF_RATIO = 0.9;
+    static final double OVERLOAD_BACKOFF_RATIO = 0.5;
+
+    /**
+     * How a request ended, as far as the limit is concerned.
+     */
+    public enum Outcome {
+        /** 2xx or 304: the latency is a health sample. */
+        SUCCESS,
+        /** Secondary rate limit or 429: GitHub wants fewer concurrent requests. */
+        OVERLOAD,
+        /** Network failure or an error unrelated to load. */
+        IGNORE
+    }
+
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final LatencyTracker window = new LatencyTracker(WINDOW_SIZE);
+
+    private double limit;
+    private int inFlight;
+    private long baselineP99Ms;
+
+    public AdaptiveConcurrencyLimiter(int maxLimit) {
+        this(Math.min(DEFAULT_INITIAL_LIMIT, maxLimit), maxLimit);
+    }
+
+    // Visible for testing
+    AdaptiveConcurrencyLimiter(int initialLimit, int maxLimit) {
+        if (initialLimit < 1 || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Invalid limits: initial " + initialLimit + ", max " + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Blocks until fewer requests than the current limit are in flight.
+     */
+    public void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight >= currentLimit()) {
+                released.await();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a slot if one is free, without waiting.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= currentLimit()) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot taken for a request and adjusts the limit from its outcome.
+     */
+    public void release(Outcome outcome, long latencyMs) {
+        lock.lock();
+        try {
+            // Only grow while the limit is actually being used
+            boolean saturated = inFlight >= currentLimit() / 2;
+            inFlight = Math.max(inFlight - 1, 0);
+            switch (outcome) {
+                case SUCCESS -> {
+                    if (saturated) {
+                        limit = Math.min(limit + 1 / limit, maxLimit);
+                    }
+                    recordLatency(latencyMs);
+                }
+                case OVERLOAD -> {
+                    limit = Math.max(limit * OVERLOAD_BACKOFF_RATIO, 1);
+                    window.clear();
+                    logger.warn("GitHub secondary rate limit hit. Concurrency limit lowered to {}", currentLimit());
+                }
+                case IGNORE -> { }
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The number of requests currently allowed in flight.
+     */
+    public int limit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private void recordLatency(long latencyMs) {
+        window.record(latencyMs);
+        if (window.count() < WINDOW_SIZE) {
+            return;
+        }
+        long p99 = window.percentile(99);
+        window.clear();
+        if (baselineP99Ms == 0 || p99 <= baselineP99Ms) {
+            baselineP99Ms = Math.max(p99, 1);
+        } else if (p99 > baselineP99Ms * LATENCY_TOLERANCE) {
+            limit = Math.max(limit * LATENCY_BACKOFF_RATIO, 1);
+            logger.info("GitHub p99 latency {}ms is over {}x the {}ms baseline. Concurrency limit lowered to {}",
+                    p99, LATENCY_TOLERANCE, baselineP99Ms, currentLimit());
+            // Let the baseline follow a lasting slowdown instead of shrinking forever
+            baselineP99Ms = (long) Math.ceil(baselineP99Ms * 1.1);
+        }
+    }
+}
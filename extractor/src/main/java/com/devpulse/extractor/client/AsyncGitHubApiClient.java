@@ -0,0 +1,318 @@
+package com.devpulse.extractor.client;
+
+import com.devpulse.extractor.client.AdaptiveConcurrencyLimiter.Outcome;
+import com.devpulse.extractor.client.GitHubApiClient.DecodedPage;
+import com.devpulse.extractor.client.GitHubApiClient.ResponseHandler;
+import com.devpulse.extractor.model.Commit;
+import com.devpulse.extractor.model.Language;
+import com.devpulse.extractor.model.PullRequest;
+import com.devpulse.extractor.model.Repository;
+import com.devpulse.extractor.model.Review;
+import com.fasterxml.jackson.core.type.TypeReference;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking counterpart of {@link GitHubApiClient}. Requests are sent with
+ * OkHttp's {@code enqueue}, so no thread waits on the network, and each method
+ * returns a {@link CompletableFuture} that completes on an OkHttp dispatcher thread.
+ *
+ * <p>Retries on 429/503 and rate-limit 403s use the same policy as the blocking
+ * client, and requests draw from the same {@link TokenPool} and
+ * {@link AdaptiveConcurrencyLimiter}, but waits are scheduled on a single timer
+ * thread instead of sleeping: when the budget is down to its reserve, or the
+ * adaptive limit is reached, a request is deferred until it is admitted. Up to
+ * {@code maxInFlight} requests run concurrently.</p>
+ *
+ * <p>Request building, conditional-cache handling and decoding are delegated to
+ * the wrapped {@link GitHubApiClient}, so both clients share one configuration.</p>
+ */
+public class AsyncGitHubApiClient implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncGitHubApiClient.class);
+
+    static final int DEFAULT_MAX_IN_FLIGHT = 64;
+    /** How soon a request deferred by the adaptive concurrency limit tries again. */
+    private static final long CONCURRENCY_POLL_MS = 10;
+
+    private final GitHubApiClient client;
+    private final OkHttpClient httpClient;
+    private final ScheduledExecutorService timer;
+
+    public AsyncGitHubApiClient(GitHubApiClient client) {
+        this(client, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public AsyncGitHubApiClient(GitHubApiClient client, int maxInFlight) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxInFlight);
+        dispatcher.setMaxRequestsPerHost(maxInFlight);
+
+        this.client = client;
+        this.httpClient = client.httpClient().newBuilder().dispatcher(dispatcher).build();
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("github-async-timer").factory());
+    }
+
+    // -------------------------------------------------------------------------
+    // Public API endpoint methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * @see GitHubApiClient#getRepositories()
+     */
+    public CompletableFuture<List<Repository>> getRepositories() {
+        return fetchAllPages(client.repositoriesUrl(), client.bindingDecoder(new TypeReference<>() {}));
+    }
+
+    /**
+     * @see GitHubApiClient#getCommits(String, Instant, Instant)
+     */
+    public CompletableFuture<List<Commit>> getCommits(String repoFullName, Instant since, Instant until) {
+        return fetchAllPages(client.commitsUrl(repoFullName, since, until), ProjectedDecoders.COMMITS);
+    }
+
+    /**
+     * @see GitHubApiClient#getPullRequests(String)
+     */
+    public CompletableFuture<List<PullRequest>> getPullRequests(String repoFullName) {
+        return fetchAllPages(client.pullRequestsUrl(repoFullName), ProjectedDecoders.PULL_REQUESTS);
+    }
+
+    /**
+     * @see GitHubApiClient#getReviews(String, int)
+     */
+    public CompletableFuture<List<Review>> getReviews(String repoFullName, int prNumber) {
+        return fetchAllPages(client.reviewsUrl(repoFullName, prNumber),
+                client.bindingDecoder(new TypeReference<>() {}));
+    }
+
+    /**
+     * @see GitHubApiClient#getLanguages(String)
+     */
+    public CompletableFuture<Language> getLanguages(String repoFullName) {
+        return fetchPage(client.languagesUrl(repoFullName), client.languagesDecoder())
+                .thenApply(page -> GitHubApiClient.toLanguage(repoFullName, page.value()));
+    }
+
+    /**
+     * Stops the retry timer and lets idle dispatcher threads exit.
+     * In-flight requests still complete.
+     */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        httpClient.dispatcher().executorService().shutdown();
+    }
+
+    // -------------------------------------------------------------------------
+    // Pagination
+    // -------------------------------------------------------------------------
+
+    /**
+     * Follows {@code rel="next"} links from {@code initialUrl}, concatenating pages.
+     * As in the blocking client, a 304 on the first page means the list is unchanged
+     * and the remaining pages are served from the cache.
+     */
+    <T> CompletableFuture<List<T>> fetchAllPages(String initialUrl, PageDecoder<List<T>> decoder) {
+        return fetchPage(initialUrl, decoder).thenCompose(first -> {
+            List<T> results = new ArrayList<>();
+            if (first.value() != null) {
+                results.addAll(first.value());
+            }
+            if (first.notModified()) {
+                return replayCached(first.nextUrl(), decoder, results);
+            }
+            return fetchRemaining(first.nextUrl(), decoder, results);
+        });
+    }
+
+    private <T> CompletableFuture<List<T>> fetchRemaining(String url, PageDecoder<List<T>> decoder,
+                                                          List<T> results) {
+        if (url == null) {
+            return CompletableFuture.completedFuture(results);
+        }
+        return fetchPage(url, decoder).thenCompose(page -> {
+            if (page.value() != null) {
+                results.addAll(page.value());
+            }
+            return fetchRemaining(page.nextUrl(), decoder, results);
+        });
+    }
+
+    private <T> CompletableFuture<List<T>> replayCached(String url, PageDecoder<List<T>> decoder,
+                                                        List<T> results) {
+        try {
+            while (url != null) {
+                DecodedPage<List<T>> page = client.cachedPage(url, decoder);
+                if (page == null) {
+                    // Cache is missing a page: fetch the rest over the network
+                    return fetchRemaining(url, decoder, results);
+                }
+                if (page.value() != null) {
+                    results.addAll(page.value());
+                }
+                url = page.nextUrl();
+            }
+            return CompletableFuture.completedFuture(results);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Fetches and decodes one page, conditionally if it is cached.
+     */
+    <T> CompletableFuture<DecodedPage<T>> fetchPage(String url, PageDecoder<T> decoder) {
+        ConditionalRequestCache.Entry cached = client.cachedEntry(url);
+        return execute(client.buildConditionalRequest(url, cached),
+                response -> client.decodeResponse(url, response, cached, decoder, null));
+    }
+
+    // -------------------------------------------------------------------------
+    // Core HTTP execution with scheduled retries
+    // -------------------------------------------------------------------------
+
+    /**
+     * Sends {@code request} asynchronously, retrying 429/503 with the blocking client's
+     * backoff policy. {@code handler} runs on a dispatcher thread for 2xx and 304
+     * statuses; any other status completes the future with {@link GitHubApiException}.
+     * Cancelling the returned future cancels the in-flight call.
+     */
+    <R> CompletableFuture<R> execute(Request request, ResponseHandler<R> handler) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        RequestPacer pacer = client.pacer();
+        long delayMs = pacer != null && RateLimiter.CORE.equals(RateLimiter.resourceFor(request.url()))
+                ? pacer.reserve(client.tokenPool()) : 0;
+        long backoffMs = GitHubApiClient.firstBackoffMs();
+        if (delayMs > 0) {
+            schedule(() -> send(request, handler, result, 0, backoffMs), delayMs, result);
+        } else {
+            send(request, handler, result, 0, backoffMs);
+        }
+        return result;
+    }
+
+    private <R> void send(Request request, ResponseHandler<R> handler, CompletableFuture<R> result,
+                          int attempt, long backoffMs) {
+        if (result.isDone()) {
+            return;
+        }
+        // Take the concurrency slot first: a rate-limit permit, once taken, is spent
+        // from the budget even if the request is never sent
+        AdaptiveConcurrencyLimiter concurrency = client.concurrency();
+        if (concurrency != null && !concurrency.tryAcquire()) {
+            schedule(() -> send(request, handler, result, attempt, backoffMs), CONCURRENCY_POLL_MS, result);
+            return;
+        }
+        TokenPool tokenPool = client.tokenPool();
+        String resource = RateLimiter.resourceFor(request.url());
+        String owner = TokenPool.ownerFor(request.url());
+        TokenPool.Acquisition acquisition = tokenPool.tryAcquire(resource, owner);
+        TokenPool.Credential credential = acquisition.credential();
+        if (credential == null) {
+            release(concurrency, Outcome.IGNORE, 0);
+            schedule(() -> send(request, handler, result, attempt, backoffMs), acquisition.waitMs(), result);
+            return;
+        }
+
+        Call call;
+        try {
+            call = httpClient.newCall(GitHubApiClient.authorize(request, credential));
+        } catch (IOException e) {
+            tokenPool.onFailure(credential, resource);
+            release(concurrency, Outcome.IGNORE, 0);
+            result.completeExceptionally(e);
+            return;
+        }
+        long startNanos = System.nanoTime();
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                tokenPool.onFailure(credential, resource);
+                release(concurrency, Outcome.IGNORE, 0);
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                long latencyMs = (System.nanoTime() - startNanos) / 1_000_000;
+                Outcome outcome = Outcome.IGNORE;
+                try (response) {
+                    tokenPool.onResponse(credential, resource, response);
+                    int statusCode = response.code();
+
+                    if (statusCode == 401 && tokenPool.hasUsable(owner)) {
+                        logger.warn("Received 401 from {} with {}. Retrying.", request.url(), credential);
+                        send(request, handler, result, attempt, backoffMs);
+                        return;
+                    }
+
+                    if (statusCode == 429 || statusCode == 503 || GitHubApiClient.isRateLimited(response)) {
+                        if (GitHubApiClient.isSecondaryRateLimit(response)) {
+                            outcome = Outcome.OVERLOAD;
+                        }
+                        if (attempt == GitHubApiClient.MAX_RETRIES) {
+                            result.completeExceptionally(new IOException("Max retries exceeded for "
+                                    + request.url() + " (last status: " + statusCode + ")"));
+                            return;
+                        }
+                        long waitMs = client.getRetryWaitMs(response, backoffMs);
+                        logger.warn("Received {} from {}. Retrying in {}ms (attempt {}/{})",
+                                statusCode, request.url(), waitMs, attempt + 1, GitHubApiClient.MAX_RETRIES);
+                        long nextBackoffMs = GitHubApiClient.nextBackoffMs(backoffMs);
+                        schedule(() -> send(request, handler, result, attempt + 1, nextBackoffMs),
+                                waitMs, result);
+                        return;
+                    }
+
+                    if (statusCode != 304 && (statusCode < 200 || statusCode >= 300)) {
+                        result.completeExceptionally(new GitHubApiException(statusCode, request.url().toString()));
+                        return;
+                    }
+                    outcome = Outcome.SUCCESS;
+                    result.complete(handler.handle(response));
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    release(concurrency, outcome, latencyMs);
+                }
+            }
+        });
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter concurrency, Outcome outcome, long latencyMs) {
+        if (concurrency != null) {
+            concurrency.release(outcome, latencyMs);
+        }
+    }
+
+    private void schedule(Runnable task, long delayMs, CompletableFuture<?> result) {
+        try {
+            timer.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new IOException("Client closed", e));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.devpulse.extractor.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Fails requests to one {@link Endpoint} family fast while GitHub is failing them.
+ *
+ * <p>The breaker tracks the outcomes of the last {@value #WINDOW_SIZE} requests. It
+ * <em>opens</em> once at least {@value #MIN_CALLS} are known and
+ * {@link #FAILURE_THRESHOLD} of them failed, and then rejects requests for
+ * {@value #OPEN_MS} ms. After that it is <em>half-open</em>: one trial request goes
+ * through, and its outcome closes the breaker again or reopens it.</p>
+ *
+ * <p>Failures are network errors and 5xx responses. Rate limits and other 4xx
+ * responses say nothing about GitHub's health and are not counted.</p>
+ *
+ * <p>Thread-safe.</p>
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    static final int WINDOW_SIZE = 20;
+    static final int MIN_CALLS = 10;
+    static final double FAILURE_THRESHOLD = 0.5;
+    static final long OPEN_MS = 30_000;
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final Endpoint endpoint;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] failed = new boolean[WINDOW_SIZE];
+
+    private State state = State.CLOSED;
+    private int next;
+    private int count;
+    private int failures;
+    private long openedAtMs;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(Endpoint endpoint) {
+        this(endpoint, System::currentTimeMillis);
+    }
+
+    // Visible for testing
+    CircuitBreaker(Endpoint endpoint, LongSupplier clock) {
+        this.endpoint = endpoint;
+        this.clock = clock;
+    }
+
+    /**
+     * Whether a request may be sent now. In the half-open state, only the first
+     * caller gets the trial.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && clock.getAsLong() - openedAtMs >= OPEN_MS) {
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    if (trialInFlight) {
+                        yield false;
+                    }
+                    trialInFlight = true;
+                    yield true;
+                }
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a request GitHub answered normally.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                logger.info("GitHub {} requests are succeeding again. Circuit closed.", endpoint.key());
+                state = State.CLOSED;
+                resetWindow();
+                return;
+            }
+            record(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a network error or 5xx response.
+     */
+    public void onFailure() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                open("trial request failed");
+                return;
+            }
+            record(true);
+            if (state == State.CLOSED && count >= MIN_CALLS && failures >= count * FAILURE_THRESHOLD) {
+                open(failures + " of the last " + count + " requests failed");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a request whose outcome says nothing about GitHub's health, such as a
+     * rate limit. A half-open trial ending this way lets the next caller try.
+     */
+    public void onIgnored() {
+        lock.lock();
+        try {
+            trialInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (count == WINDOW_SIZE && failed[next]) {
+            failures--;
+        }
+        failed[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % WINDOW_SIZE;
+        count = Math.min(count + 1, WINDOW_SIZE);
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openedAtMs = clock.getAsLong();
+        resetWindow();
+        logger.warn("Circuit open for GitHub {} requests ({}). Failing them fast for {}s.",
+                endpoint.key(), reason, OPEN_MS / 1000);
+    }
+
+    private void resetWindow() {
+        next = 0;
+        count = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.devpulse.extractor.client;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of sending a request while the {@link CircuitBreaker} for its
+ * endpoint family is open. Carries the endpoint so callers can tell which family
+ * GitHub is failing.
+ */
+public class CircuitOpenException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Endpoint endpoint;
+
+    public CircuitOpenException(Endpoint endpoint, String url) {
+        super("Circuit open for GitHub " + endpoint.key() + " requests; not sending " + url);
+        this.endpoint = endpoint;
+    }
+
+    public Endpoint endpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,402 @@
+package com.devpulse.extractor.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Persistent store of compact commit records keyed by SHA. A commit's contents
+ * never change once it has a SHA, so a record fetched once — from any repository,
+ * fork or run — answers every later lookup without a request.
+ *
+ * <p>Records are fixed-size and kept in immutable segment files sorted by SHA, each
+ * memory-mapped and searched with a binary search. New records collect in memory
+ * and are written as a new segment every {@value #FLUSH_THRESHOLD} records and on
+ * {@link #close()}; a segment is written to a temporary file and moved into place,
+ * so readers never see a partial one. Once there are more than
+ * {@value #MAX_SEGMENTS} segments they are merged into one.</p>
+ *
+ * <p>A record keeps the line stats, the number of changed files, the author's user
+ * id and a hash of the message; file names are not kept.</p>
+ *
+ * <p>Segment layout (big-endian): a {@value #HEADER_SIZE}-byte header holding
+ * {@link #MAGIC} and the record count, then records of {@value #RECORD_SIZE} bytes:
+ * the 20-byte SHA, {@code additions}, {@code deletions}, {@code changedFiles},
+ * {@code authorId} and {@code messageHash}.</p>
+ *
+ * <p>Thread-safe within one process. Processes must not share a directory.</p>
+ */
+public final class CommitStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommitStore.class);
+
+    static final long MAGIC = 0x4450_434F_4D4D_3031L; // "DPCOMM01"
+    static final int HEADER_SIZE = 16;
+    static final int SHA_SIZE = 20;
+    static final int RECORD_SIZE = 48;
+    static final int FLUSH_THRESHOLD = 4_096;
+    static final int MAX_SEGMENTS = 8;
+
+    private static final int ADDITIONS_OFFSET = 20;
+    private static final int DELETIONS_OFFSET = 24;
+    private static final int CHANGED_FILES_OFFSET = 28;
+    private static final int AUTHOR_ID_OFFSET = 32;
+    private static final int MESSAGE_HASH_OFFSET = 40;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{10})\\.dpc");
+    private static final Pattern SHA = Pattern.compile("[0-9a-f]{40}");
+
+    private final Path directory;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Newest first; lookups stop at the first hit. */
+    private final List<Segment> segments;
+    /** Unflushed records, keyed by lowercase SHA — whose order matches the segments' byte order. */
+    private final Map<String, Entry> pending = new TreeMap<>();
+    private long nextGeneration;
+
+    private CommitStore(Path directory, List<Segment> segments, long nextGeneration) {
+        this.directory = directory;
+        this.segments = segments;
+        this.nextGeneration = nextGeneration;
+    }
+
+    /**
+     * Opens the store in {@code directory}, creating it if needed.
+     *
+     * @throws IOException if a segment in the directory is not a commit store segment
+     */
+    public static CommitStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        TreeMap<Long, Path> byGeneration = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "segment-*.dpc")) {
+            for (Path file : files) {
+                Matcher name = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (name.matches()) {
+                    byGeneration.put(Long.parseLong(name.group(1)), file);
+                }
+            }
+        }
+        List<Segment> segments = new ArrayList<>();
+        long records = 0;
+        for (Path file : byGeneration.descendingMap().values()) {
+            Segment segment = Segment.map(file);
+            segments.add(segment);
+            records += segment.count;
+        }
+        long nextGeneration = byGeneration.isEmpty() ? 0 : byGeneration.lastKey() + 1;
+        logger.info("Commit store at {}: {} records in {} segments",
+                directory.toAbsolutePath(), records, segments.size());
+        return new CommitStore(directory, segments, nextGeneration);
+    }
+
+    /**
+     * Whether {@code sha} can be stored: a full, 40-character hex SHA-1.
+     */
+    public static boolean isStorable(String sha) {
+        return sha != null && SHA.matcher(sha.toLowerCase()).matches();
+    }
+
+    /**
+     * Returns the record for {@code sha}, or null if none is stored.
+     */
+    public Entry get(String sha) {
+        if (!isStorable(sha)) {
+            return null;
+        }
+        String key = sha.toLowerCase();
+        byte[] shaBytes = HexFormat.of().parseHex(key);
+        lock.readLock().lock();
+        try {
+            Entry entry = pending.get(key);
+            if (entry != null) {
+                return entry;
+            }
+            for (Segment segment : segments) {
+                entry = segment.find(shaBytes);
+                if (entry != null) {
+                    return entry;
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores {@code entry} for {@code sha}, writing a segment once enough records
+     * are pending. SHAs that are not {@linkplain #isStorable storable} are ignored.
+     */
+    public void put(String sha, Entry entry) throws IOException {
+        if (!isStorable(sha)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pending.put(sha.toLowerCase(), entry);
+            if (pending.size() >= FLUSH_THRESHOLD) {
+                flushPending();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the pending records as a new segment.
+     */
+    public void flush() throws IOException {
+        lock.writeLock().lock();
+        try {
+            flushPending();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    /**
+     * Segments on disk, newest first.
+     */
+    // Visible for testing
+    int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * First eight bytes of the SHA-256 of {@code message}: enough to tell two
+     * messages apart without storing them.
+     */
+    public static long messageHash(String message) {
+        if (message == null) {
+            return 0;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(message.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Segments
+    // -------------------------------------------------------------------------
+
+    private void flushPending() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        ByteBuffer records = ByteBuffer.allocate(pending.size() * RECORD_SIZE);
+        pending.forEach((sha, entry) -> writeRecord(records, HexFormat.of().parseHex(sha), entry));
+        segments.addFirst(writeSegment(records.flip(), pending.size()));
+        logger.debug("Wrote {} commit records to {}", pending.size(), directory);
+        pending.clear();
+        if (segments.size() > MAX_SEGMENTS) {
+            compact();
+        }
+    }
+
+    /**
+     * Merges every segment into one, keeping one record per SHA.
+     */
+    private void compact() throws IOException {
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+        long total = 0;
+        for (Segment segment : segments) {
+            if (segment.count > 0) {
+                cursors.add(new Cursor(segment));
+            }
+            total += segment.count;
+        }
+        ByteBuffer records = ByteBuffer.allocate(Math.toIntExact(total * RECORD_SIZE));
+        byte[] last = null;
+        int count = 0;
+        while (!cursors.isEmpty()) {
+            Cursor cursor = cursors.poll();
+            byte[] sha = cursor.sha();
+            if (last == null || !Arrays.equals(sha, last)) {
+                writeRecord(records, sha, cursor.segment.entryAt(cursor.index));
+                last = sha;
+                count++;
+            }
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        List<Segment> merged = new ArrayList<>(segments);
+        segments.clear();
+        segments.add(writeSegment(records.flip(), count));
+        // The mappings stay valid until collected; only the names go
+        for (Segment segment : merged) {
+            Files.deleteIfExists(segment.path);
+        }
+        logger.info("Compacted {} commit store segments into one of {} records", merged.size(), count);
+    }
+
+    private Segment writeSegment(ByteBuffer records, int count) throws IOException {
+        Path file = directory.resolve("segment-%010d.dpc".formatted(nextGeneration++));
+        Path temp = Files.createTempFile(directory, "segment-", ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putLong(MAGIC).putLong(count).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        return Segment.map(file);
+    }
+
+    private static void writeRecord(ByteBuffer records, byte[] sha, Entry entry) {
+        records.put(sha)
+                .putInt(entry.additions())
+                .putInt(entry.deletions())
+                .putInt(entry.changedFiles())
+                .putLong(entry.authorId())
+                .putLong(entry.messageHash());
+    }
+
+    /**
+     * One mapped segment file.
+     */
+    private record Segment(Path path, MappedByteBuffer buffer, int count) {
+
+        static Segment map(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < HEADER_SIZE || (size - HEADER_SIZE) % RECORD_SIZE != 0) {
+                    throw new IOException("Not a commit store segment: " + path);
+                }
+                // The mapping outlives the channel
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                long count = buffer.getLong(8);
+                if (buffer.getLong(0) != MAGIC || count != (size - HEADER_SIZE) / RECORD_SIZE) {
+                    throw new IOException("Not a commit store segment: " + path);
+                }
+                return new Segment(path, buffer, (int) count);
+            }
+        }
+
+        Entry find(byte[] sha) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compareSha(mid, sha);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return entryAt(mid);
+                }
+            }
+            return null;
+        }
+
+        int compareSha(int index, byte[] sha) {
+            int offset = HEADER_SIZE + index * RECORD_SIZE;
+            for (int i = 0; i < SHA_SIZE; i++) {
+                int cmp = Byte.compareUnsigned(buffer.get(offset + i), sha[i]);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return 0;
+        }
+
+        byte[] shaAt(int index) {
+            byte[] sha = new byte[SHA_SIZE];
+            buffer.get(HEADER_SIZE + index * RECORD_SIZE, sha);
+            return sha;
+        }
+
+        Entry entryAt(int index) {
+            int offset = HEADER_SIZE + index * RECORD_SIZE;
+            return new Entry(buffer.getInt(offset + ADDITIONS_OFFSET),
+                    buffer.getInt(offset + DELETIONS_OFFSET),
+                    buffer.getInt(offset + CHANGED_FILES_OFFSET),
+                    buffer.getLong(offset + AUTHOR_ID_OFFSET),
+                    buffer.getLong(offset + MESSAGE_HASH_OFFSET));
+        }
+    }
+
+    /**
+     * Position in a segment during a merge, ordered by the SHA it points at.
+     */
+    private static final class Cursor implements Comparable<Cursor> {
+
+        final Segment segment;
+        int index;
+        private byte[] sha;
+
+        Cursor(Segment segment) {
+            this.segment = segment;
+            this.sha = segment.shaAt(0);
+        }
+
+        byte[] sha() {
+            return sha;
+        }
+
+        boolean advance() {
+            if (++index >= segment.count) {
+                return false;
+            }
+            sha = segment.shaAt(index);
+            return true;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return Arrays.compareUnsigned(sha, other.sha);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    /**
+     * A stored commit: its line stats, the number of files it changed, its author's
+     * GitHub user id (0 if unknown) and the {@linkplain #messageHash hash} of its
+     * message.
+     */
+    public record Entry(int additions, int deletions, int changedFiles, long authorId, long messageHash) {}
+}
@@ -0,0 +1,193 @@
+package com.devpulse.extractor.client;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Disk-backed cache of GitHub response validators (ETag / Last-Modified) and bodies,
+ * keyed by request URL. Lets {@link GitHubApiClient} send conditional requests and
+ * serve the cached body when GitHub answers 304 Not Modified, which does not count
+ * against the rate limit.
+ *
+ * <p>Each entry is stored as one JSON file named after the SHA-256 of its URL and
+ * read from disk only when its URL is first requested. The most recently used
+ * {@value #DEFAULT_MAX_MEMORY_ENTRIES} entries are also kept in memory. Files not
+ * written or read for {@value #DEFAULT_MAX_AGE_DAYS} days are deleted when the cache
+ * is opened: URLs carrying a watermark (e.g. {@code since=}) change every run, so
+ * their entries would otherwise pile up forever. Write failures are logged and
+ * otherwise ignored — a missing entry only costs a full request.</p>
+ *
+ * <p>Thread-safe.</p>
+ */
+public class ConditionalRequestCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConditionalRequestCache.class);
+
+    static final int DEFAULT_MAX_MEMORY_ENTRIES = 1024;
+    static final int DEFAULT_MAX_AGE_DAYS = 30;
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Least recently used first; guarded by {@link #lock}. */
+    private final LinkedHashMap<String, Entry> entries;
+
+    public ConditionalRequestCache(Path directory) throws IOException {
+        this(directory, DEFAULT_MAX_MEMORY_ENTRIES, Duration.ofDays(DEFAULT_MAX_AGE_DAYS));
+    }
+
+    // Visible for testing
+    ConditionalRequestCache(Path directory, int maxMemoryEntries, Duration maxAge) throws IOException {
+        this.directory = directory;
+        this.objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxMemoryEntries;
+            }
+        };
+        Files.createDirectories(directory);
+        int pruned = prune(Instant.now().minus(maxAge));
+        logger.info("Conditional request cache at {} ({} stale entries pruned)",
+                directory.toAbsolutePath(), pruned);
+    }
+
+    /**
+     * Returns the cached entry for {@code url}, or {@code null} if none is stored.
+     */
+    public Entry get(String url) {
+        Entry cached = remembered(url);
+        if (cached != null) {
+            return cached;
+        }
+
+        Path file = fileFor(url);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            Entry entry = objectMapper.readValue(file.toFile(), Entry.class);
+            if (!url.equals(entry.url())) {
+                return null;
+            }
+            // A used entry is not stale, even if GitHub keeps answering 304 and it is never rewritten
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            remember(entry);
+            return entry;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable cache entry {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores {@code entry}, replacing any previous entry for the same URL.
+     */
+    public void put(Entry entry) {
+        remember(entry);
+
+        Path file = fileFor(entry.url());
+        try {
+            Path temp = Files.createTempFile(directory, "entry", ".tmp");
+            objectMapper.writeValue(temp.toFile(), entry);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to persist cache entry for {}: {}", entry.url(), e.getMessage());
+        }
+    }
+
+    // Visible for testing
+    int memoryEntries() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry remembered(String url) {
+        lock.lock();
+        try {
+            return entries.get(url);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remember(Entry entry) {
+        lock.lock();
+        try {
+            entries.put(entry.url(), entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes entry files, and temporary files left behind by an interrupted write,
+     * last written or read before {@code cutoff}.
+     *
+     * @return the number of files deleted
+     */
+    private int prune(Instant cutoff) throws IOException {
+        int pruned = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.{json,tmp}")) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)
+                            && Files.deleteIfExists(file)) {
+                        pruned++;
+                    }
+                } catch (IOException e) {
+                    logger.warn("Failed to prune cache entry {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        return pruned;
+    }
+
+    private Path fileFor(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(url.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A cached response: its validators, body, and the next-page URL from its Link header.
+     */
+    public record Entry(
+            @JsonProperty("url") String url,
+            @JsonProperty("etag") String etag,
+            @JsonProperty("last_modified") String lastModified,
+            @JsonProperty("body") String body,
+            @JsonProperty("next_url") String nextUrl
+    ) {}
+}
@@ -0,0 +1,84 @@
+package com.devpulse.extractor.client;
+
+import okhttp3.HttpUrl;
+
+import java.util.List;
+
+/**
+ * GitHub endpoint families used to scope per-endpoint client settings.
+ * A request URL is classified by its path, ignoring any base-path prefix
+ * (e.g. {@code /api/v3} on GitHub Enterprise).
+ */
+public enum Endpoint {
+
+    REPOSITORIES("repositories"),
+    COMMITS("commits"),
+    PULL_REQUESTS("pull_requests"),
+    REVIEWS("reviews"),
+    LANGUAGES("languages"),
+    STATS("stats"),
+    OTHER("other");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Configuration key for this family, e.g. {@code pull_requests}.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Returns the family with the given configuration key.
+     *
+     * @throws IllegalArgumentException if no family has that key
+     */
+    public static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + key);
+    }
+
+    /**
+     * Classifies a request URL into its endpoint family.
+     */
+    public static Endpoint of(String url) {
+        HttpUrl httpUrl = HttpUrl.parse(url);
+        return httpUrl != null ? of(httpUrl) : OTHER;
+    }
+
+    static Endpoint of(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        int size = segments.size();
+
+        if (size >= 2 && segments.get(size - 2).equals("user") && segments.get(size - 1).equals("repos")) {
+            return REPOSITORIES;
+        }
+        if (size >= 2 && segments.get(size - 2).equals("installation")
+                && segments.get(size - 1).equals("repositories")) {
+            return REPOSITORIES;
+        }
+
+        int repos = segments.indexOf("repos");
+        if (repos < 0 || size < repos + 4) {
+            return OTHER;
+        }
+        // /repos/{owner}/{repo}/{resource}[/...]
+        String resource = segments.get(repos + 3);
+        return switch (resource) {
+            case "commits" -> COMMITS;
+            case "languages" -> LANGUAGES;
+            case "stats" -> STATS;
+            case "pulls" -> size >= repos + 6 && segments.get(repos + 5).equals("reviews")
+                    ? REVIEWS : PULL_REQUESTS;
+            default -> OTHER;
+        };
+    }
+}
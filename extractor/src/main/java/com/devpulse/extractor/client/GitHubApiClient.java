@@ -1,25 +1,58 @@
 package com.devpulse.extractor.client;
 
+import com.devpulse.extractor.client.AdaptiveConcurrencyLimiter.Outcome;
 import com.devpulse.extractor.model.*;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
+import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.time.Duration;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,39 +60,179 @@ import java.util.regex.Pattern;
  * GitHub REST API client with pagination, rate-limit handling,
  * exponential backoff retry, and conditional request support.
  *
- * <p>Thread-safe: the underlying {@link OkHttpClient} and {@link ObjectMapper}
- * are both thread-safe, and this class holds no mutable per-request state.</p>
+ * <p>When a {@link ConditionalRequestCache} is configured, every GET is sent with the
+ * cached ETag (or Last-Modified) and a 304 is answered from the cache.</p>
+ *
+ * <p>Response bodies are decoded from the byte stream with Jackson's streaming parser.
+ * Commit and pull request pages use {@link ProjectedDecoders}, which keep only the
+ * fields the loader writes.</p>
+ *
+ * <p>Thread-safe. The {@link OkHttpClient}, {@link ObjectMapper}, {@link ConditionalRequestCache}
+ * and {@link CommitStore} are thread-safe. All other mutable state is shared by every request:
+ * the per-endpoint {@link CircuitBreaker}s and page semaphores, the {@link SingleFlight} that
+ * coalesces identical page fetches, and the daemon pool that fetches pages ahead. Each of
+ * these synchronizes itself. A page walk's cursor is confined to the thread iterating it.
+ * The copies scoped to one installation or credential share everything except the response
+ * cache and the page flights.</p>
  */
 public class GitHubApiClient {
 
     private static final Logger logger = LoggerFactory.getLogger(GitHubApiClient.class);
 
-    private static final String BASE_URL = "https://api.github.com";
-    private static final int RATE_LIMIT_THRESHOLD = 100;
-    private static final long INITIAL_BACKOFF_MS = 1_000;
-    private static final long MAX_BACKOFF_MS = 60_000;
-    private static final int MAX_RETRIES = 7; // 1s, 2s, 4s, 8s, 16s, 32s, 60s
+    static final String DEFAULT_BASE_URL = "https://api.github.com";
+    static final long INITIAL_BACKOFF_MS = 1_000;
+    static final long MAX_BACKOFF_MS = 60_000;
+    static final int MAX_RETRIES = 7; // decorrelated jitter from 1s, capped at 60s
+    /** Minimum wait after a secondary rate limit without {@code Retry-After}. */
+    static final long SECONDARY_RATE_LIMIT_WAIT_MS = 60_000;
+    private static final long SECONDARY_RATE_LIMIT_PEEK_BYTES = 1_024;
     private static final int PER_PAGE = 100;
+    private static final int HEDGING_MAX_IN_FLIGHT = 64;
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
 
     static final Pattern LINK_NEXT_PATTERN =
             Pattern.compile("<([^>]+)>;\\s*rel=\"next\"");
+    static final Pattern LINK_LAST_PATTERN =
+            Pattern.compile("<([^>]+)>;\\s*rel=\"last\"");
 
     private final OkHttpClient httpClient;
     private final ObjectMapper objectMapper;
-    private final String token;
+    private final TokenPool tokenPool;
+    private final AdaptiveConcurrencyLimiter concurrency;
+    private final RequestPacer pacer;
+    private final HedgingPolicy hedging;
+    private final OkHttpClient hedgingHttpClient;
+    private final Map<Endpoint, CircuitBreaker> circuitBreakers;
+    private final RetryBudget retryBudget;
     private final String username;
+    private final String baseUrl;
+    private final ConditionalRequestCache responseCache;
+    private final CommitStore commitStore;
+    private final Map<Endpoint, Semaphore> pageConcurrency;
+    private final Map<Endpoint, Integer> pageLimits;
+    private final boolean prefetchPages;
+    private final ExecutorService pageExecutor;
+    private final SingleFlight<FlightKey, DecodedPage<?>> pageFlights;
+    private final PageDecoder<Map<String, Long>> languagesDecoder;
 
     public GitHubApiClient(String token, String username) {
         this(token, username, defaultHttpClient());
     }
 
     public GitHubApiClient(String token, String username, OkHttpClient httpClient) {
-        this.token = token;
-        this.username = username;
-        this.httpClient = httpClient;
+        this(token, username, httpClient, DEFAULT_BASE_URL);
+    }
+
+    // Visible for testing — allows pointing the client at a mock server
+    GitHubApiClient(String token, String username, OkHttpClient httpClient, String baseUrl) {
+        this(builder(token, username).httpClient(httpClient).baseUrl(baseUrl));
+    }
+
+    private GitHubApiClient(Builder builder) {
+        this.tokenPool = builder.tokenPool != null ? builder.tokenPool : TokenPool.of(builder.token);
+        this.concurrency = builder.concurrency;
+        this.pacer = builder.pacer;
+        this.username = builder.username;
+        this.httpClient = builder.httpClient != null ? builder.httpClient : defaultHttpClient();
+        this.hedging = builder.hedging;
+        this.hedgingHttpClient = hedging != null ? hedgingHttpClient(httpClient) : null;
+        this.circuitBreakers = builder.circuitBreakers ? circuitBreakers() : null;
+        this.retryBudget = builder.retryBudget;
+        this.baseUrl = builder.baseUrl;
+        this.responseCache = builder.responseCache;
+        this.commitStore = builder.commitStore;
+        this.pageConcurrency = new EnumMap<>(Endpoint.class);
+        builder.pageConcurrency.forEach((endpoint, limit) ->
+                pageConcurrency.put(endpoint, new Semaphore(limit)));
+        this.pageLimits = new EnumMap<>(builder.pageConcurrency);
+        this.prefetchPages = builder.prefetchPages;
+        this.pageExecutor = pageConcurrency.isEmpty() && !prefetchPages ? null
+                : Executors.newCachedThreadPool(Thread.ofPlatform().daemon().name("github-page-", 0).factory());
         this.objectMapper = new ObjectMapper()
                 .registerModule(new JavaTimeModule())
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.pageFlights = new SingleFlight<>();
+        this.languagesDecoder = PageDecoder.binding(objectMapper, new TypeReference<>() {});
+    }
+
+    /**
+     * Copy of {@code source} that sends with {@code tokenPool} and bypasses the
+     * response cache. Shares the HTTP client and page executor.
+     */
+    private GitHubApiClient(GitHubApiClient source, TokenPool tokenPool) {
+        this.tokenPool = tokenPool;
+        this.concurrency = source.concurrency;
+        this.pacer = source.pacer;
+        this.hedging = source.hedging;
+        this.hedgingHttpClient = source.hedgingHttpClient;
+        this.circuitBreakers = source.circuitBreakers;
+        this.retryBudget = source.retryBudget;
+        this.username = source.username;
+        this.httpClient = source.httpClient;
+        this.baseUrl = source.baseUrl;
+        this.responseCache = null;
+        this.commitStore = source.commitStore;
+        this.pageConcurrency = source.pageConcurrency;
+        this.pageLimits = source.pageLimits;
+        this.prefetchPages = source.prefetchPages;
+        this.pageExecutor = source.pageExecutor;
+        this.objectMapper = source.objectMapper;
+        // Responses depend on the credential, so scoped copies never share calls
+        this.pageFlights = new SingleFlight<>();
+        this.languagesDecoder = source.languagesDecoder;
+    }
+
+    OkHttpClient httpClient() {
+        return httpClient;
+    }
+
+    /**
+     * The tokens this client sends requests with, and their rate-limit budgets.
+     */
+    public TokenPool tokenPool() {
+        return tokenPool;
+    }
+
+    /**
+     * The limit on concurrent requests, or null if it is not adaptive.
+     */
+    AdaptiveConcurrencyLimiter concurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Paces {@code core} requests against the outstanding work, or null if requests
+     * are sent as fast as the budget allows.
+     */
+    public RequestPacer pacer() {
+        return pacer;
+    }
+
+    /**
+     * The breaker for {@code endpoint} requests, or null if circuit breaking is off.
+     */
+    CircuitBreaker circuitBreaker(Endpoint endpoint) {
+        return circuitBreakers != null ? circuitBreakers.get(endpoint) : null;
+    }
+
+    /**
+     * The retry budget shared by this client's requests, or null if retries are
+     * only bounded per request.
+     */
+    public RetryBudget retryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * The store {@link #getCommit} answers from before asking GitHub, or null if
+     * every commit is fetched.
+     */
+    public CommitStore commitStore() {
+        return commitStore;
+    }
+
+    public static Builder builder(String token, String username) {
+        return new Builder(token, username);
     }
 
     private static OkHttpClient defaultHttpClient() {
@@ -70,17 +243,53 @@ public class GitHubApiClient {
                 .build();
     }
 
+    /**
+     * Hedged GETs are sent with {@code enqueue}, whose default dispatcher allows only
+     * five calls per host; give them one sized for the client's callers instead.
+     */
+    private static OkHttpClient hedgingHttpClient(OkHttpClient httpClient) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(HEDGING_MAX_IN_FLIGHT);
+        dispatcher.setMaxRequestsPerHost(HEDGING_MAX_IN_FLIGHT);
+        return httpClient.newBuilder().dispatcher(dispatcher).build();
+    }
+
     // -------------------------------------------------------------------------
     // Public API endpoint methods
     // -------------------------------------------------------------------------
 
     /**
-     * Fetches all repositories for the authenticated user.
+     * Fetches all repositories for the authenticated user, or with GitHub App
+     * installations, every repository granted to each installation.
      * Endpoint: GET /user/repos?per_page=100&type=owner
+     * or GET /installation/repositories?per_page=100
      */
     public List<Repository> getRepositories() throws IOException, InterruptedException {
-        String url = BASE_URL + "/user/repos?per_page=" + PER_PAGE + "&type=owner";
-        return fetchAllPages(url, new TypeReference<>() {});
+        if (tokenPool.isInstallations()) {
+            List<Repository> repositories = new ArrayList<>();
+            for (TokenPool.Credential installation : tokenPool.credentials()) {
+                // The listing depends on which installation asks, so it is not cached
+                GitHubApiClient scoped = new GitHubApiClient(this, tokenPool.only(installation));
+                repositories.addAll(scoped.fetchAllPages(installationRepositoriesUrl(),
+                        scoped.installationRepositoriesDecoder()));
+            }
+            return repositories;
+        }
+        return fetchAllPages(repositoriesUrl(), new TypeReference<>() {});
+    }
+
+    /**
+     * {@code /installation/repositories} wraps each page as
+     * {@code {"total_count": n, "repositories": [...]}}.
+     */
+    private PageDecoder<List<Repository>> installationRepositoriesDecoder() {
+        return parser -> {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            JsonNode page = objectMapper.readTree(parser);
+            return objectMapper.convertValue(page.path("repositories"), new TypeReference<>() {});
+        };
     }
 
     /**
@@ -88,9 +297,70 @@ public class GitHubApiClient {
      * Endpoint: GET /repos/{owner}/{repo}/commits?per_page=100&author={username}
      */
     public List<Commit> getCommits(String repoFullName) throws IOException, InterruptedException {
-        String url = BASE_URL + "/repos/" + repoFullName + "/commits?per_page=" + PER_PAGE
-                + "&author=" + username;
-        return fetchAllPages(url, new TypeReference<>() {});
+        return getCommits(repoFullName, null, null);
+    }
+
+    /**
+     * Fetches commit history for a repository within an optional time window.
+     * The window is applied server-side, so only the pages covering the window
+     * are requested.
+     * Endpoint: GET /repos/{owner}/{repo}/commits?per_page=100&author={username}&since=...&until=...
+     *
+     * @param since if non-null, only commits after this timestamp are returned
+     * @param until if non-null, only commits before this timestamp are returned
+     */
+    public List<Commit> getCommits(String repoFullName, Instant since, Instant until)
+            throws IOException, InterruptedException {
+        return fetchAllPages(commitsUrl(repoFullName, since, until), ProjectedDecoders.COMMITS);
+    }
+
+    /**
+     * Streams commit history for a repository page by page, within an optional
+     * time window. Pages are fetched lazily as the returned iterable is consumed.
+     * Its iterators are {@link AutoCloseable}: a consumer that stops early should
+     * close them, cancelling pages prefetched or fanned out ahead.
+     *
+     * @see #getCommits(String, Instant, Instant)
+     */
+    public Iterable<List<Commit>> getCommitPages(String repoFullName, Instant since, Instant until) {
+        String url = commitsUrl(repoFullName, since, until);
+        return () -> new PageIterator<>(new PageCursor<>(url, ProjectedDecoders.COMMITS, item -> false,
+                prefetchPages, true));
+    }
+
+    /**
+     * Fetches one commit with its line stats and changed files (up to the first
+     * 300, which GitHub returns on the first page).
+     * Endpoint: GET /repos/{owner}/{repo}/commits/{sha}
+     *
+     * <p>The response cache is bypassed: a detail body carries every file's patch,
+     * so caching it would copy the diffs of the whole history to disk. Commit
+     * contents never change, so with a {@link CommitStore} a stored commit is
+     * instead answered without a request, whichever repository it was fetched
+     * through. Such a commit has its stats, unnamed changed files and the author's
+     * id only.</p>
+     */
+    public Commit getCommit(String repoFullName, String sha) throws IOException, InterruptedException {
+        CommitStore.Entry stored = commitStore != null ? commitStore.get(sha) : null;
+        if (stored != null) {
+            return storedCommit(sha, stored);
+        }
+        Commit commit = executeWithRetry(buildRequest(commitUrl(repoFullName, sha), null, null),
+                response -> decodeBody(response, ProjectedDecoders.COMMIT));
+        if (commitStore != null && commit != null && commit.stats() != null) {
+            commitStore.put(sha, new CommitStore.Entry(commit.stats().additions(), commit.stats().deletions(),
+                    commit.changedFiles() != null ? commit.changedFiles() : 0,
+                    commit.author() != null ? commit.author().id() : 0,
+                    CommitStore.messageHash(commit.commit() != null ? commit.commit().message() : null)));
+        }
+        return commit;
+    }
+
+    private static Commit storedCommit(String sha, CommitStore.Entry stored) {
+        return new Commit(sha, null,
+                stored.authorId() != 0 ? new Commit.GitHubUser(null, stored.authorId()) : null,
+                new Commit.CommitStats(stored.additions(), stored.deletions(), stored.additions() + stored.deletions()),
+                List.of(), stored.changedFiles());
     }
 
     /**
@@ -98,8 +368,26 @@ public class GitHubApiClient {
      * Endpoint: GET /repos/{owner}/{repo}/pulls?state=all&per_page=100
      */
     public List<PullRequest> getPullRequests(String repoFullName) throws IOException, InterruptedException {
-        String url = BASE_URL + "/repos/" + repoFullName + "/pulls?state=all&per_page=" + PER_PAGE;
-        return fetchAllPages(url, new TypeReference<>() {});
+        return fetchAllPages(pullRequestsUrl(repoFullName), ProjectedDecoders.PULL_REQUESTS);
+    }
+
+    /**
+     * Fetches pull requests updated after {@code updatedSince}, most recently updated first.
+     * The pulls endpoint has no {@code since} filter, so pagination stops at the first
+     * pull request that was last updated at or before the cutoff.
+     * Endpoint: GET /repos/{owner}/{repo}/pulls?state=all&sort=updated&direction=desc&per_page=100
+     *
+     * @param updatedSince if null, all pull requests are fetched
+     */
+    public List<PullRequest> getPullRequests(String repoFullName, Instant updatedSince)
+            throws IOException, InterruptedException {
+        if (updatedSince == null) {
+            return getPullRequests(repoFullName);
+        }
+        String url = baseUrl + "/repos/" + repoFullName
+                + "/pulls?state=all&sort=updated&direction=desc&per_page=" + PER_PAGE;
+        return fetchPagesUntil(url, ProjectedDecoders.PULL_REQUESTS,
+                pr -> isAtOrBefore(pr.updatedAt(), updatedSince));
     }
 
     /**
@@ -107,9 +395,7 @@ public class GitHubApiClient {
      * Endpoint: GET /repos/{owner}/{repo}/pulls/{number}/reviews?per_page=100
      */
     public List<Review> getReviews(String repoFullName, int prNumber) throws IOException, InterruptedException {
-        String url = BASE_URL + "/repos/" + repoFullName + "/pulls/" + prNumber
-                + "/reviews?per_page=" + PER_PAGE;
-        return fetchAllPages(url, new TypeReference<>() {});
+        return fetchAllPages(reviewsUrl(repoFullName, prNumber), new TypeReference<>() {});
     }
 
     /**
@@ -119,198 +405,1522 @@ public class GitHubApiClient {
      * This endpoint does not paginate — it returns a single JSON object.
      */
     public Language getLanguages(String repoFullName) throws IOException, InterruptedException {
-        String url = BASE_URL + "/repos/" + repoFullName + "/languages";
-        String json = executeWithRetry(buildRequest(url, null, null));
-        if (json == null) {
+        return toLanguage(repoFullName,
+                fetchDecodedPage(languagesUrl(repoFullName), languagesDecoder()).value());
+    }
+
+    PageDecoder<Map<String, Long>> languagesDecoder() {
+        return languagesDecoder;
+    }
+
+    static Language toLanguage(String repoFullName, Map<String, Long> languages) {
+        if (languages == null) {
             return new Language(repoFullName, Collections.emptyMap());
         }
-        Map<String, Long> languages = objectMapper.readValue(json, new TypeReference<>() {});
         return new Language(repoFullName, languages);
     }
 
-    // -------------------------------------------------------------------------
-    // Core HTTP execution with pagination, retries, and rate-limit handling
-    // -------------------------------------------------------------------------
+    /**
+     * Fetches each contributor's weekly additions, deletions and commits. GitHub
+     * computes repository statistics in the background: while it is still computing
+     * them it answers 202 Accepted, and this returns null; ask again a little later.
+     * A repository without commits has none.
+     * Endpoint: GET /repos/{owner}/{repo}/stats/contributors
+     */
+    public List<ContributorStats> getContributorStats(String repoFullName) throws IOException, InterruptedException {
+        PageDecoder<List<ContributorStats>> decoder = PageDecoder.binding(objectMapper, new TypeReference<>() {});
+        return fetchStats(statsUrl(repoFullName, "contributors"), decoder);
+    }
 
     /**
-     * Fetches all pages for a paginated endpoint and deserializes each page
-     * into a list of {@code T}, concatenating them.
+     * Fetches the lines added and deleted in each week of the repository's history.
+     * Returns null while GitHub is still computing them, like
+     * {@link #getContributorStats}.
+     * Endpoint: GET /repos/{owner}/{repo}/stats/code_frequency
      */
-    <T> List<T> fetchAllPages(String initialUrl, TypeReference<List<T>> typeRef)
-            throws IOException, InterruptedException {
-        List<T> allResults = new ArrayList<>();
-        String url = initialUrl;
+    public List<CodeFrequency> getCodeFrequency(String repoFullName) throws IOException, InterruptedException {
+        PageDecoder<long[][]> decoder = PageDecoder.binding(objectMapper, new TypeReference<>() {});
+        return fetchStats(statsUrl(repoFullName, "code_frequency"), parser -> {
+            long[][] weeks = decoder.decode(parser);
+            if (weeks == null) {
+                return null;
+            }
+            List<CodeFrequency> frequency = new ArrayList<>(weeks.length);
+            for (long[] week : weeks) {
+                frequency.add(new CodeFrequency(week[0], week[1], Math.abs(week[2])));
+            }
+            return frequency;
+        });
+    }
 
-        while (url != null) {
-            Request request = buildRequest(url, null, null);
-            PageResult result = executePageWithRetry(request);
+    /**
+     * Fetches the commits made in each hour of each day of the week over the
+     * repository's history. Returns null while GitHub is still computing them, like
+     * {@link #getContributorStats}.
+     * Endpoint: GET /repos/{owner}/{repo}/stats/punch_card
+     */
+    public List<PunchCardHour> getPunchCard(String repoFullName) throws IOException, InterruptedException {
+        PageDecoder<int[][]> decoder = PageDecoder.binding(objectMapper, new TypeReference<>() {});
+        return fetchStats(statsUrl(repoFullName, "punch_card"), parser -> {
+            int[][] cells = decoder.decode(parser);
+            if (cells == null) {
+                return null;
+            }
+            List<PunchCardHour> punchCard = new ArrayList<>(cells.length);
+            for (int[] cell : cells) {
+                punchCard.add(new PunchCardHour(cell[0], cell[1], cell[2]));
+            }
+            return punchCard;
+        });
+    }
 
-            if (result.body() != null) {
-                List<T> page = objectMapper.readValue(result.body(), typeRef);
-                allResults.addAll(page);
-                logger.debug("Fetched page with {} items from {}", page.size(), url);
+    /**
+     * Fetches a statistics endpoint: null on 202 (still computing), an empty list
+     * on 204 (no commits) or an empty body, otherwise the list {@code decoder}
+     * decodes. Statistics are cached by GitHub, not conditionally, so the response
+     * cache is bypassed.
+     */
+    private <T> List<T> fetchStats(String url, PageDecoder<List<T>> decoder)
+            throws IOException, InterruptedException {
+        return executeWithRetry(buildRequest(url, null, null), response -> switch (response.code()) {
+            case 202 -> null;
+            case 204 -> List.of();
+            default -> {
+                List<T> decoded = decodeBody(response, decoder);
+                yield decoded != null ? decoded : List.of();
             }
+        });
+    }
 
-            url = result.nextUrl();
+    /**
+     * Fetches the {@code core} budget summed over every token in the pool: the total
+     * limit and remaining requests, with the latest reset among them.
+     * Endpoint: GET /rate_limit (does not count against the budget)
+     */
+    public RateLimit getCoreRateLimit() throws IOException, InterruptedException {
+        int limit = 0;
+        int remaining = 0;
+        int used = 0;
+        long reset = 0;
+        for (TokenPool.Credential credential : tokenPool.credentials()) {
+            GitHubApiClient scoped = tokenPool.size() == 1 ? this
+                    : new GitHubApiClient(this, tokenPool.only(credential));
+            RateLimit core = scoped.executeWithRetry(scoped.buildRequest(baseUrl + "/rate_limit", null, null),
+                    response -> objectMapper.treeToValue(
+                            objectMapper.readTree(response.body().byteStream()).path("resources").path("core"),
+                            RateLimit.class));
+            limit += core.limit();
+            remaining += core.remaining();
+            used += core.used();
+            reset = Math.max(reset, core.reset());
         }
-
-        return allResults;
+        return new RateLimit(limit, remaining, used, reset);
     }
 
     /**
-     * Builds a GET request with authentication and optional conditional headers.
+     * Counts the commits {@link #getCommits(String, Instant, Instant)} would return
+     * after {@code since}, with one {@code per_page=1} request.
      */
-    Request buildRequest(String url, String etag, String ifModifiedSince) {
-        Request.Builder builder = new Request.Builder()
-                .url(url)
-                .header("Authorization", "Bearer " + token)
-                .header("Accept", "application/vnd.github+json")
-                .header("X-GitHub-Api-Version", "2022-11-28");
+    public long countCommits(String repoFullName, Instant since) throws IOException, InterruptedException {
+        return countItems(commitsUrl(repoFullName, since, null));
+    }
 
-        if (etag != null) {
-            builder.header("If-None-Match", etag);
-        }
-        if (ifModifiedSince != null) {
-            builder.header("If-Modified-Since", ifModifiedSince);
-        }
+    /**
+     * Lists the newest page of commits after {@code since}, with one request that
+     * bypasses the response cache.
+     */
+    public List<Commit> getNewestCommits(String repoFullName, Instant since) throws IOException, InterruptedException {
+        List<Commit> commits = executeWithRetry(buildRequest(commitsUrl(repoFullName, since, null), null, null),
+                response -> decodeBody(response, ProjectedDecoders.COMMITS));
+        return commits != null ? commits : List.of();
+    }
 
-        return builder.build();
+    /**
+     * Counts a repository's pull requests in every state, with one
+     * {@code per_page=1} request.
+     */
+    public long countPullRequests(String repoFullName) throws IOException, InterruptedException {
+        return countItems(pullRequestsUrl(repoFullName));
     }
 
     /**
-     * Executes a request with retry logic, returning only the response body string.
-     * Used for non-paginated endpoints.
+     * Estimates how many pull requests were updated after {@code updatedSince},
+     * without listing them. Probes the Nth most recently updated pull request for
+     * N = 1, 2, 4, ... until one is at or before the cutoff, so the estimate is at
+     * most twice the true count and costs about log2 of it in requests.
      */
-    String executeWithRetry(Request request) throws IOException, InterruptedException {
-        PageResult result = executePageWithRetry(request);
-        return result.body();
+    public long estimatePullRequestsUpdatedSince(String repoFullName, Instant updatedSince)
+            throws IOException, InterruptedException {
+        String url = baseUrl + "/repos/" + repoFullName + "/pulls?state=all&sort=updated&direction=desc&per_page=1";
+        ProbedItem newest = probeItem(url + "&page=1");
+        if (newest.item() == null || isAtOrBefore(newest.item().path("updated_at").textValue(), updatedSince)) {
+            return 0;
+        }
+        for (long n = 2; n <= newest.total(); n *= 2) {
+            JsonNode nth = probeItem(url + "&page=" + n).item();
+            if (nth == null || isAtOrBefore(nth.path("updated_at").textValue(), updatedSince)) {
+                return n - 1;
+            }
+        }
+        return newest.total();
     }
 
     /**
-     * Executes a request with exponential backoff retry on 429/503 responses
-     * and proactive rate-limit pausing.
+     * Counts the items of a list endpoint from a {@code per_page=1} request: the
+     * page number of its {@code rel="last"} link, or the items on the only page.
+     * Bypasses the response cache, whose 304s carry no Link header.
      */
-    PageResult executePageWithRetry(Request request) throws IOException, InterruptedException {
-        long backoffMs = INITIAL_BACKOFF_MS;
+    long countItems(String listUrl) throws IOException, InterruptedException {
+        return probeItem(singleItemUrl(listUrl)).total();
+    }
 
-        for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
-            try (Response response = httpClient.newCall(request).execute()) {
-                int statusCode = response.code();
-                logResponse(request.url().toString(), statusCode, response);
+    private ProbedItem probeItem(String url) throws IOException, InterruptedException {
+        return executeWithRetry(buildRequest(url, null, null), response -> {
+            JsonNode page = objectMapper.readTree(response.body().byteStream());
+            JsonNode item = page.isArray() && !page.isEmpty() ? page.get(0) : null;
+            String lastUrl = parseLastPageUrl(response.header("Link"));
+            HttpUrl last = lastUrl != null ? HttpUrl.parse(lastUrl) : null;
+            String lastPage = last != null ? last.queryParameter("page") : null;
+            return new ProbedItem(item, lastPage != null ? Long.parseLong(lastPage) : page.size());
+        });
+    }
 
-                // Handle rate limit and server errors with retry
-                if (statusCode == 429 || statusCode == 503) {
-                    if (attempt == MAX_RETRIES) {
-                        throw new IOException("Max retries exceeded for " + request.url()
-                                + " (last status: " + statusCode + ")");
-                    }
-                    long waitMs = getRetryWaitMs(response, backoffMs);
-                    logger.warn("Received {} from {}. Retrying in {}ms (attempt {}/{})",
-                            statusCode, request.url(), waitMs, attempt + 1, MAX_RETRIES);
-                    Thread.sleep(waitMs);
-                    backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
-                    continue;
-                }
+    static String singleItemUrl(String listUrl) {
+        return listUrl.replace("per_page=" + PER_PAGE, "per_page=1");
+    }
 
-                // Proactive rate limit pause
-                handleRateLimitPause(response);
+    /** The first item of a {@code per_page=1} page, and how many items the list has. */
+    private record ProbedItem(JsonNode item, long total) {}
 
-                // 304 Not Modified — no new data
-                if (statusCode == 304) {
-                    return new PageResult(null, null);
-                }
+    <T> PageDecoder<List<T>> bindingDecoder(TypeReference<List<T>> typeRef) {
+        return PageDecoder.binding(objectMapper, typeRef);
+    }
 
-                if (statusCode < 200 || statusCode >= 300) {
-                    throw new IOException("GitHub API error: " + statusCode + " for " + request.url());
-                }
+    String installationRepositoriesUrl() {
+        return baseUrl + "/installation/repositories?per_page=" + PER_PAGE;
+    }
 
-                ResponseBody body = response.body();
-                String bodyString = body != null ? body.string() : null;
-                String nextUrl = parseNextPageUrl(response.header("Link"));
+    String repositoriesUrl() {
+        return baseUrl + "/user/repos?per_page=" + PER_PAGE + "&type=owner";
+    }
 
-                return new PageResult(bodyString, nextUrl);
-            }
-        }
+    String commitUrl(String repoFullName, String sha) {
+        return baseUrl + "/repos/" + repoFullName + "/commits/" + sha;
+    }
 
-        throw new IOException("Exhausted retries for " + request.url());
+    String pullRequestsUrl(String repoFullName) {
+        return baseUrl + "/repos/" + repoFullName + "/pulls?state=all&per_page=" + PER_PAGE;
+    }
+
+    String reviewsUrl(String repoFullName, int prNumber) {
+        return baseUrl + "/repos/" + repoFullName + "/pulls/" + prNumber + "/reviews?per_page=" + PER_PAGE;
+    }
+
+    String languagesUrl(String repoFullName) {
+        return baseUrl + "/repos/" + repoFullName + "/languages";
+    }
+
+    String statsUrl(String repoFullName, String statistic) {
+        return baseUrl + "/repos/" + repoFullName + "/stats/" + statistic;
+    }
+
+    /**
+     * Builds the commits list URL, appending ISO-8601 {@code since}/{@code until}
+     * filters when present.
+     */
+    String commitsUrl(String repoFullName, Instant since, Instant until) {
+        StringBuilder url = new StringBuilder(baseUrl)
+                .append("/repos/").append(repoFullName)
+                .append("/commits?per_page=").append(PER_PAGE)
+                .append("&author=").append(username);
+        if (since != null) {
+            url.append("&since=").append(since);
+        }
+        if (until != null) {
+            url.append("&until=").append(until);
+        }
+        return url.toString();
     }
 
     // -------------------------------------------------------------------------
-    // Rate limit handling
+    // Core HTTP execution with pagination, retries, and rate-limit handling
     // -------------------------------------------------------------------------
 
     /**
-     * If remaining rate limit is below the threshold, sleep until the reset time.
+     * Fetches all pages for a paginated endpoint and deserializes each page
+     * into a list of {@code T}, concatenating them.
      */
-    void handleRateLimitPause(Response response) throws InterruptedException {
-        String remainingHeader = response.header("X-RateLimit-Remaining");
-        String resetHeader = response.header("X-RateLimit-Reset");
+    <T> List<T> fetchAllPages(String initialUrl, TypeReference<List<T>> typeRef)
+            throws IOException, InterruptedException {
+        return fetchPagesUntil(initialUrl, PageDecoder.binding(objectMapper, typeRef), item -> false);
+    }
 
-        if (remainingHeader == null || resetHeader == null) {
-            return;
+    /**
+     * Fetches all pages for a paginated endpoint using {@code decoder} for each page.
+     * With a page concurrency configured for the endpoint, the pages after the first
+     * are fanned out (see {@link PageCursor}).
+     */
+    <T> List<T> fetchAllPages(String initialUrl, PageDecoder<List<T>> decoder)
+            throws IOException, InterruptedException {
+        List<T> allResults = new ArrayList<>();
+        PageCursor<T> cursor = new PageCursor<>(initialUrl, decoder, item -> false, prefetchPages, true);
+        try {
+            List<T> page;
+            while ((page = cursor.nextPage()) != null) {
+                allResults.addAll(page);
+            }
+            return allResults;
+        } finally {
+            cursor.close();
         }
+    }
 
-        int remaining = Integer.parseInt(remainingHeader);
-        if (remaining < RATE_LIMIT_THRESHOLD) {
-            long resetEpoch = Long.parseLong(resetHeader);
-            long nowEpoch = Instant.now().getEpochSecond();
-            long sleepSeconds = Math.max(resetEpoch - nowEpoch + 1, 1);
+    /**
+     * Waits for a background fetch, rethrowing its failure with the original type.
+     */
+    private static <V> V await(Future<V> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof InterruptedException ie) {
+                throw ie;
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException(cause);
+        }
+    }
 
-            logger.warn("Rate limit low ({} remaining). Pausing for {}s until reset.",
-                    remaining, sleepSeconds);
-            Thread.sleep(Duration.ofSeconds(sleepSeconds).toMillis());
+    /**
+     * Expands a next/last Link pair into every page URL from next to last inclusive,
+     * using the last URL as the template. Returns an empty list when either link is
+     * missing or not page-numbered (e.g. cursor-based pagination).
+     */
+    static List<String> expandPageUrls(String nextUrl, String lastUrl) {
+        if (nextUrl == null || lastUrl == null) {
+            return List.of();
+        }
+        HttpUrl next = HttpUrl.parse(nextUrl);
+        HttpUrl last = HttpUrl.parse(lastUrl);
+        if (next == null || last == null) {
+            return List.of();
+        }
+        try {
+            int from = Integer.parseInt(String.valueOf(next.queryParameter("page")));
+            int to = Integer.parseInt(String.valueOf(last.queryParameter("page")));
+            List<String> urls = new ArrayList<>();
+            for (int page = from; page <= to; page++) {
+                urls.add(last.newBuilder().setQueryParameter("page", String.valueOf(page)).build().toString());
+            }
+            return urls;
+        } catch (NumberFormatException e) {
+            return List.of();
         }
     }
 
     /**
-     * Determines wait time for retries. Uses Retry-After header if present,
-     * otherwise falls back to exponential backoff.
+     * Fetches pages for a paginated endpoint until an item matches {@code isPastCutoff}.
+     * The matching item and everything after it are dropped and no further pages are
+     * requested, so the endpoint must be ordered such that once the cutoff is crossed
+     * it stays crossed (e.g. {@code sort=updated&direction=desc}).
      */
-    long getRetryWaitMs(Response response, long backoffMs) {
-        String retryAfter = response.header("Retry-After");
-        if (retryAfter != null) {
-            try {
-                return Long.parseLong(retryAfter) * 1_000;
-            } catch (NumberFormatException ignored) {
-                // fall through to backoff
+    <T> List<T> fetchPagesUntil(String initialUrl, PageDecoder<List<T>> decoder,
+                                Predicate<T> isPastCutoff)
+            throws IOException, InterruptedException {
+        List<T> allResults = new ArrayList<>();
+        PageCursor<T> cursor = new PageCursor<>(initialUrl, decoder, isPastCutoff, prefetchPages);
+        try {
+            List<T> page;
+            while ((page = cursor.nextPage()) != null) {
+                allResults.addAll(page);
             }
+            return allResults;
+        } finally {
+            cursor.close();
         }
-        return backoffMs;
     }
 
-    // -------------------------------------------------------------------------
-    // Pagination parsing
-    // -------------------------------------------------------------------------
+    /**
+     * Returns a lazy view of a paginated endpoint: each page is requested only when
+     * the iterator advances to it, so at most one page is held at a time. Request
+     * failures surface from {@code hasNext()} as {@link UncheckedIOException}. The
+     * iterator is {@link AutoCloseable}; closing it cancels requests made ahead.
+     */
+    <T> Iterable<List<T>> iteratePages(String initialUrl, TypeReference<List<T>> typeRef,
+                                       Predicate<T> isPastCutoff) {
+        return iteratePages(initialUrl, PageDecoder.binding(objectMapper, typeRef), isPastCutoff);
+    }
+
+    <T> Iterable<List<T>> iteratePages(String initialUrl, PageDecoder<List<T>> decoder,
+                                       Predicate<T> isPastCutoff) {
+        return () -> new PageIterator<>(new PageCursor<>(initialUrl, decoder, isPastCutoff, prefetchPages));
+    }
 
     /**
-     * Parses the "next" URL from the GitHub Link header.
+     * Returns true if the ISO-8601 {@code timestamp} is at or before {@code cutoff}.
+     * Missing or unparseable timestamps never count as past the cutoff.
+     */
+    static boolean isAtOrBefore(String timestamp, Instant cutoff) {
+        if (timestamp == null) {
+            return false;
+        }
+        try {
+            return !Instant.parse(timestamp).isAfter(cutoff);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Fetches and decodes a single page, sending the cached validator (if any) as a
+     * conditional request. On 304 the cached body is decoded instead.
      *
-     * <p>Example header:
-     * {@code <https://api.github.com/user/repos?page=2>; rel="next", <...>; rel="last"}
+     * <p>Without a cache the body is decoded straight from the response stream and
+     * never materialized as a string. With a cache, a response carrying a validator
+     * is read once into bytes so it can be stored, then decoded from those bytes.</p>
      *
-     * @return the next page URL, or {@code null} if there is no next page
+     * <p>Concurrent fetches of the same URL with the same validator and decoder share
+     * one request and one decoded page, so the page must be treated as read-only.</p>
      */
-    static String parseNextPageUrl(String linkHeader) {
-        if (linkHeader == null || linkHeader.isEmpty()) {
-            return null;
-        }
-        Matcher matcher = LINK_NEXT_PATTERN.matcher(linkHeader);
-        return matcher.find() ? matcher.group(1) : null;
+    <T> DecodedPage<T> fetchDecodedPage(String url, PageDecoder<T> decoder)
+            throws IOException, InterruptedException {
+        return fetchDecodedPage(url, decoder, null);
     }
 
-    // -------------------------------------------------------------------------
-    // Logging
-    // -------------------------------------------------------------------------
+    /**
+     * Like {@link #fetchDecodedPage(String, PageDecoder)}, but calls {@code onNextUrl}
+     * with the {@code rel="next"} link of a fresh response as soon as its headers
+     * are parsed and before its body is decoded.
+     */
+    <T> DecodedPage<T> fetchDecodedPage(String url, PageDecoder<T> decoder, Consumer<String> onNextUrl)
+            throws IOException, InterruptedException {
+        ConditionalRequestCache.Entry cached = cachedEntry(url);
+        String validator = cached == null ? null : cached.etag() != null ? cached.etag() : cached.lastModified();
+        AtomicBoolean led = new AtomicBoolean();
+        @SuppressWarnings("unchecked")
+        DecodedPage<T> page = (DecodedPage<T>) pageFlights.run(new FlightKey(url, validator, decoder), () -> {
+            led.set(true);
+            return executeWithRetry(buildConditionalRequest(url, cached),
+                    response -> decodeResponse(url, response, cached, decoder, onNextUrl));
+        });
+        if (!led.get()) {
+            logger.debug("Shared in-flight response for {}", url);
+            if (onNextUrl != null && page.nextUrl() != null && !page.notModified()) {
+                onNextUrl.accept(page.nextUrl());
+            }
+        }
+        return page;
+    }
 
-    private void logResponse(String url, int statusCode, Response response) {
-        String remaining = response.header("X-RateLimit-Remaining");
-        logger.info("GitHub API {} {} | rate-limit-remaining: {}",
-                statusCode, url, remaining != null ? remaining : "n/a");
+    /**
+     * Calls coalesced onto an identical request already in flight.
+     */
+    long coalescedRequestCount() {
+        return pageFlights.coalescedCount();
     }
 
-    // -------------------------------------------------------------------------
-    // Internal result holder
-    // -------------------------------------------------------------------------
+    /**
+     * Returns the cache entry for {@code url}, or {@code null} if there is none
+     * or no cache is configured.
+     */
+    ConditionalRequestCache.Entry cachedEntry(String url) {
+        return responseCache != null ? responseCache.get(url) : null;
+    }
 
-    record PageResult(String body, String nextUrl) {}
+    /**
+     * Builds a GET for {@code url}, conditional on {@code cached}'s validators if present.
+     */
+    Request buildConditionalRequest(String url, ConditionalRequestCache.Entry cached) {
+        return cached == null
+                ? buildRequest(url, null, null)
+                : buildRequest(url, cached.etag(), cached.etag() == null ? cached.lastModified() : null);
+    }
+
+    /**
+     * Decodes a 2xx or 304 response to a request built by
+     * {@link #buildConditionalRequest}, storing fresh validators in the cache.
+     */
+    <T> DecodedPage<T> decodeResponse(String url, Response response, ConditionalRequestCache.Entry cached,
+                                      PageDecoder<T> decoder, Consumer<String> onNextUrl) throws IOException {
+        if (response.code() == 304) {
+            if (cached == null) {
+                return DecodedPage.emptyNotModified();
+            }
+            logger.debug("Not modified, serving cached body for {}", url);
+            return decodeCached(cached, decoder);
+        }
+
+        String nextUrl = parseNextPageUrl(response.header("Link"));
+        String lastUrl = parseLastPageUrl(response.header("Link"));
+        if (onNextUrl != null && nextUrl != null) {
+            onNextUrl.accept(nextUrl);
+        }
+        ResponseBody body = response.body();
+        if (body == null) {
+            return new DecodedPage<>(null, nextUrl, lastUrl, false);
+        }
+
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+        if (responseCache != null && (etag != null || lastModified != null)) {
+            byte[] bytes = body.bytes();
+            responseCache.put(new ConditionalRequestCache.Entry(url, etag, lastModified,
+                    new String(bytes, StandardCharsets.UTF_8), nextUrl));
+            try (JsonParser parser = objectMapper.getFactory().createParser(bytes)) {
+                return new DecodedPage<>(decoder.decode(parser), nextUrl, lastUrl, false);
+            }
+        }
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body.byteStream())) {
+            return new DecodedPage<>(decoder.decode(parser), nextUrl, lastUrl, false);
+        }
+    }
+
+    /**
+     * Decodes a response body with {@code decoder}, bypassing the response cache.
+     * Returns null if the response has no body.
+     */
+    private <T> T decodeBody(Response response, PageDecoder<T> decoder) throws IOException {
+        ResponseBody body = response.body();
+        if (body == null) {
+            return null;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(body.byteStream())) {
+            return decoder.decode(parser);
+        }
+    }
+
+    /**
+     * Decodes the cached page for {@code url} without making a request,
+     * or returns {@code null} if it is not cached.
+     */
+    <T> DecodedPage<T> cachedPage(String url, PageDecoder<T> decoder) throws IOException {
+        ConditionalRequestCache.Entry cached = cachedEntry(url);
+        return cached != null ? decodeCached(cached, decoder) : null;
+    }
+
+    private <T> DecodedPage<T> decodeCached(ConditionalRequestCache.Entry cached, PageDecoder<T> decoder)
+            throws IOException {
+        if (cached.body() == null) {
+            return new DecodedPage<>(null, cached.nextUrl(), null, true);
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(cached.body())) {
+            return new DecodedPage<>(decoder.decode(parser), cached.nextUrl(), null, true);
+        }
+    }
+
+    /**
+     * Builds a GET request with optional conditional headers. The Authorization
+     * header is added when the request is sent, by {@link #authorize}.
+     */
+    Request buildRequest(String url, String etag, String ifModifiedSince) {
+        Request.Builder builder = new Request.Builder()
+                .url(url)
+                .header("Accept", "application/vnd.github+json")
+                .header("X-GitHub-Api-Version", "2022-11-28");
+
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        if (ifModifiedSince != null) {
+            builder.header("If-Modified-Since", ifModifiedSince);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Builds a POST of {@code jsonBody} to the GraphQL endpoint.
+     */
+    Request buildGraphQLRequest(String jsonBody) {
+        return new Request.Builder()
+                .url(graphQLUrl())
+                .header("Accept", "application/json")
+                .post(RequestBody.create(jsonBody, JSON))
+                .build();
+    }
+
+    /**
+     * Adds the Authorization header for {@code credential} to {@code request}.
+     */
+    static Request authorize(Request request, TokenPool.Credential credential) throws IOException {
+        return request.newBuilder()
+                .header("Authorization", "Bearer " + credential.token())
+                .build();
+    }
+
+    /**
+     * GraphQL endpoint for the configured REST base URL. GitHub Enterprise serves
+     * REST under {@code /api/v3} and GraphQL under {@code /api/graphql}.
+     */
+    String graphQLUrl() {
+        if (baseUrl.endsWith("/api/v3")) {
+            return baseUrl.substring(0, baseUrl.length() - "/v3".length()) + "/graphql";
+        }
+        return baseUrl + "/graphql";
+    }
+
+    /**
+     * Executes a request with retry logic, returning only the response body string.
+     * Used for non-paginated endpoints.
+     */
+    String executeWithRetry(Request request) throws IOException, InterruptedException {
+        PageResult result = executePageWithRetry(request);
+        return result.body();
+    }
+
+    /**
+     * Executes a request with retry logic, returning the body string, next-page URL
+     * and validators. A 304 yields {@link PageResult#NOT_MODIFIED}.
+     */
+    PageResult executePageWithRetry(Request request) throws IOException, InterruptedException {
+        return executeWithRetry(request, response -> {
+            if (response.code() == 304) {
+                return PageResult.NOT_MODIFIED;
+            }
+            ResponseBody body = response.body();
+            String bodyString = body != null ? body.string() : null;
+            String nextUrl = parseNextPageUrl(response.header("Link"));
+
+            return new PageResult(bodyString, nextUrl,
+                    response.header("ETag"), response.header("Last-Modified"), false);
+        });
+    }
+
+    /**
+     * Executes a request with exponential backoff retry on 429/503 responses and on
+     * 403s caused by a rate limit ({@link #isRateLimited}).
+     * Every attempt is sent with the token the {@link TokenPool} picks, after taking
+     * a permit from that token's {@link RateLimiter}; the response's rate-limit
+     * headers then resync it. With a {@link RequestPacer}, a {@code core} request
+     * first waits for its paced slot. With an {@link AdaptiveConcurrencyLimiter}, each
+     * attempt also holds one of its slots until the response is handled, and reports
+     * its latency and outcome to it. A 401 is retried with a refreshed or different
+     * token if one is usable.
+     * With circuit breakers, a request to an endpoint family whose breaker is open
+     * fails with {@link CircuitOpenException} instead of being sent, and each
+     * attempt reports whether GitHub failed it. With a {@link RetryBudget}, retries
+     * other than waits for an exhausted primary limit are drawn from the budget.
+     * Waits between retries use decorrelated jitter ({@link #nextBackoffMs}).
+     * {@code handler} is invoked with the open response for 2xx and 304 statuses;
+     * any other status throws.
+     */
+    <R> R executeWithRetry(Request request, ResponseHandler<R> handler)
+            throws IOException, InterruptedException {
+        String resource = RateLimiter.resourceFor(request.url());
+        String owner = TokenPool.ownerFor(request.url());
+        Endpoint endpoint = Endpoint.of(request.url());
+        CircuitBreaker breaker = circuitBreaker(endpoint);
+        long backoffMs = firstBackoffMs();
+        if (pacer != null && RateLimiter.CORE.equals(resource)) {
+            pacer.pace(tokenPool);
+        }
+        if (retryBudget != null) {
+            retryBudget.onRequest();
+        }
+
+        for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+            if (breaker != null && !breaker.tryAcquire()) {
+                throw new CircuitOpenException(endpoint, request.url().toString());
+            }
+            // Take the concurrency slot first: a rate-limit permit held while waiting
+            // for a slot counts as in flight and holds back every other caller
+            if (concurrency != null) {
+                try {
+                    concurrency.acquire();
+                } catch (InterruptedException e) {
+                    report(breaker, Health.IGNORED);
+                    throw e;
+                }
+            }
+            TokenPool.Credential credential;
+            try {
+                credential = tokenPool.acquire(resource, owner);
+            } catch (InterruptedException e) {
+                releaseConcurrency(Outcome.IGNORE, 0);
+                report(breaker, Health.IGNORED);
+                throw e;
+            }
+            long startNanos = System.nanoTime();
+            Sent sent;
+            try {
+                sent = send(request, credential, resource, owner);
+            } catch (IOException e) {
+                releaseConcurrency(Outcome.IGNORE, 0);
+                report(breaker, Health.FAILED);
+                throw e;
+            } catch (InterruptedException e) {
+                releaseConcurrency(Outcome.IGNORE, 0);
+                report(breaker, Health.IGNORED);
+                throw e;
+            }
+            credential = sent.credential();
+            long latencyMs = (System.nanoTime() - startNanos) / 1_000_000;
+            Outcome outcome = Outcome.IGNORE;
+            Health health = Health.IGNORED;
+            long waitMs;
+            try (Response response = sent.response()) {
+                int statusCode = response.code();
+                logResponse(request.url().toString(), statusCode, response);
+                tokenPool.onResponse(credential, resource, response);
+
+                if (statusCode == 401 && tokenPool.hasUsable(owner)) {
+                    logger.warn("Received 401 from {} with {}. Retrying.", request.url(), credential);
+                    continue;
+                }
+
+                // Handle rate limit and server errors with retry
+                if (statusCode == 429 || statusCode == 503 || isRateLimited(response)) {
+                    if (isSecondaryRateLimit(response)) {
+                        outcome = Outcome.OVERLOAD;
+                    }
+                    if (statusCode == 503) {
+                        health = Health.FAILED;
+                    }
+                    if (attempt == MAX_RETRIES) {
+                        throw new IOException("Max retries exceeded for " + request.url()
+                                + " (last status: " + statusCode + ")");
+                    }
+                    // The rate limiter already holds the next attempt until the reset
+                    if (retryBudget != null && !isPrimaryLimitExhausted(response) && !retryBudget.tryRetry()) {
+                        throw new IOException("Retry budget exhausted; not retrying " + request.url()
+                                + " (last status: " + statusCode + ")");
+                    }
+                    waitMs = getRetryWaitMs(response, backoffMs);
+                    logger.warn("Received {} from {}. Retrying in {}ms (attempt {}/{})",
+                            statusCode, request.url(), waitMs, attempt + 1, MAX_RETRIES);
+                } else {
+                    health = statusCode >= 500 ? Health.FAILED : Health.HEALTHY;
+                    // 304 Not Modified — no new data
+                    if (statusCode != 304 && (statusCode < 200 || statusCode >= 300)) {
+                        throw new GitHubApiException(statusCode, request.url().toString());
+                    }
+                    outcome = Outcome.SUCCESS;
+                    if (hedging != null) {
+                        hedging.record(Endpoint.of(request.url()), latencyMs);
+                    }
+                    return handler.handle(response);
+                }
+            } finally {
+                releaseConcurrency(outcome, latencyMs);
+                report(breaker, health);
+            }
+            // Sleep without holding a concurrency slot
+            Thread.sleep(waitMs);
+            backoffMs = nextBackoffMs(backoffMs);
+        }
+
+        throw new IOException("Exhausted retries for " + request.url());
+    }
+
+    /**
+     * Sends {@code request} with {@code credential}'s permit. With a
+     * {@link HedgingPolicy}, a GET still unanswered after its endpoint's hedge delay
+     * is sent again with a second permit if the hedging budget allows, and whichever
+     * response arrives first is returned. Permits of calls that fail or lose the race
+     * are returned here; the caller reports the returned response.
+     */
+    private Sent send(Request request, TokenPool.Credential credential, String resource, String owner)
+            throws IOException, InterruptedException {
+        long hedgeDelayMs = hedging != null && "GET".equals(request.method())
+                ? hedging.hedgeDelayMs(Endpoint.of(request.url())) : -1;
+        if (hedgeDelayMs < 0) {
+            try {
+                return new Sent(httpClient.newCall(authorize(request, credential)).execute(), credential);
+            } catch (IOException e) {
+                tokenPool.onFailure(credential, resource);
+                throw e;
+            }
+        }
+        HedgedCall hedged = new HedgedCall(request, resource);
+        hedged.start(credential);
+        return hedged.await(hedgeDelayMs, owner);
+    }
+
+    private void releaseConcurrency(Outcome outcome, long latencyMs) {
+        if (concurrency != null) {
+            concurrency.release(outcome, latencyMs);
+        }
+    }
+
+    /** What an attempt says about GitHub's health, for the endpoint's circuit breaker. */
+    private enum Health { HEALTHY, FAILED, IGNORED }
+
+    private static void report(CircuitBreaker breaker, Health health) {
+        if (breaker == null) {
+            return;
+        }
+        switch (health) {
+            case HEALTHY -> breaker.onSuccess();
+            case FAILED -> breaker.onFailure();
+            case IGNORED -> breaker.onIgnored();
+        }
+    }
+
+    private static Map<Endpoint, CircuitBreaker> circuitBreakers() {
+        Map<Endpoint, CircuitBreaker> breakers = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            breakers.put(endpoint, new CircuitBreaker(endpoint));
+        }
+        return breakers;
+    }
+
+    // -------------------------------------------------------------------------
+    // Rate limit handling
+    // -------------------------------------------------------------------------
+
+    /**
+     * The backoff after {@code previousMs}, using decorrelated jitter: a random wait
+     * between {@link #INITIAL_BACKOFF_MS} and three times the previous one, capped at
+     * {@link #MAX_BACKOFF_MS}. Requests that failed together then retry at different
+     * times instead of hitting GitHub again in lockstep.
+     */
+    static long nextBackoffMs(long previousMs) {
+        long upperMs = Math.max(previousMs * 3, INITIAL_BACKOFF_MS + 1);
+        return Math.min(MAX_BACKOFF_MS, ThreadLocalRandom.current().nextLong(INITIAL_BACKOFF_MS, upperMs));
+    }
+
+    /**
+     * The backoff before a request's first retry, drawn like every later one so
+     * that requests failing together do not all retry after exactly
+     * {@link #INITIAL_BACKOFF_MS}.
+     */
+    static long firstBackoffMs() {
+        return nextBackoffMs(INITIAL_BACKOFF_MS);
+    }
+
+    /**
+     * Determines wait time for retries. Uses Retry-After header if present.
+     * A 403 for an exhausted primary limit needs no extra wait, since the
+     * {@link RateLimiter} holds the next attempt until the reset; a secondary
+     * limit 403 waits at least a minute, as GitHub recommends. Everything else
+     * falls back to exponential backoff.
+     */
+    long getRetryWaitMs(Response response, long backoffMs) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Long.parseLong(retryAfter) * 1_000;
+            } catch (NumberFormatException ignored) {
+                // fall through to backoff
+            }
+        }
+        if (response.code() == 403) {
+            if (isPrimaryLimitExhausted(response)) {
+                return 0;
+            }
+            if (isSecondaryRateLimit(response)) {
+                return Math.max(backoffMs, SECONDARY_RATE_LIMIT_WAIT_MS);
+            }
+        }
+        return backoffMs;
+    }
+
+    /**
+     * Whether a 403 was caused by a rate limit rather than missing permissions:
+     * GitHub reports an exhausted primary limit and secondary (abuse) limits as 403s.
+     */
+    static boolean isRateLimited(Response response) {
+        return response.code() == 403 && (isPrimaryLimitExhausted(response) || isSecondaryRateLimit(response));
+    }
+
+    /**
+     * Whether GitHub asked for fewer concurrent requests: a 429, or a 403 that is not
+     * an exhausted primary limit and carries {@code Retry-After} or mentions the
+     * secondary rate limit in its body.
+     */
+    static boolean isSecondaryRateLimit(Response response) {
+        if (response.code() == 429) {
+            return true;
+        }
+        if (response.code() != 403 || isPrimaryLimitExhausted(response)) {
+            return false;
+        }
+        if (response.header("Retry-After") != null) {
+            return true;
+        }
+        try {
+            return response.peekBody(SECONDARY_RATE_LIMIT_PEEK_BYTES).string()
+                    .toLowerCase(Locale.ROOT).contains("secondary rate limit");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean isPrimaryLimitExhausted(Response response) {
+        return "0".equals(response.header("X-RateLimit-Remaining"));
+    }
+
+    // -------------------------------------------------------------------------
+    // Pagination parsing
+    // -------------------------------------------------------------------------
+
+    /**
+     * Parses the "next" URL from the GitHub Link header.
+     *
+     * <p>Example header:
+     * {@code <https://api.github.com/user/repos?page=2>; rel="next", <...>; rel="last"}
+     *
+     * @return the next page URL, or {@code null} if there is no next page
+     */
+    static String parseNextPageUrl(String linkHeader) {
+        if (linkHeader == null || linkHeader.isEmpty()) {
+            return null;
+        }
+        Matcher matcher = LINK_NEXT_PATTERN.matcher(linkHeader);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Parses the "last" URL from the GitHub Link header.
+     *
+     * @return the last page URL, or {@code null} if there is none
+     */
+    static String parseLastPageUrl(String linkHeader) {
+        if (linkHeader == null || linkHeader.isEmpty()) {
+            return null;
+        }
+        Matcher matcher = LINK_LAST_PATTERN.matcher(linkHeader);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    // -------------------------------------------------------------------------
+    // Logging
+    // -------------------------------------------------------------------------
+
+    private void logResponse(String url, int statusCode, Response response) {
+        String remaining = response.header("X-RateLimit-Remaining");
+        logger.info("GitHub API {} {} | rate-limit-remaining: {}",
+                statusCode, url, remaining != null ? remaining : "n/a");
+    }
+
+    // -------------------------------------------------------------------------
+    // Page cursor
+    // -------------------------------------------------------------------------
+
+    /**
+     * Walks a paginated endpoint one page at a time, following Link headers,
+     * replaying cached pages after a first-page 304, and stopping at the first
+     * item that matches the cutoff predicate. With {@code prefetch} it keeps one
+     * page request in flight ahead of the caller.
+     *
+     * <p>With {@code fanOut} and a page concurrency above one configured for the
+     * endpoint, a first response carrying a numbered {@code rel="last"} link has the
+     * remaining page URLs derived up front; up to that many of them are then kept in
+     * flight ahead of the caller and handed out in page order.</p>
+     */
+    private final class PageCursor<T> {
+
+        private final String initialUrl;
+        private final PageDecoder<List<T>> decoder;
+        private final Predicate<T> isPastCutoff;
+        private final boolean prefetch;
+        private final Semaphore fanOutPermits;
+        private final int fanOutWindow;
+        private String url;
+        private String lastUrl;
+        private boolean replayFromCache;
+        private String prefetchedUrl;
+        private Future<DecodedPage<List<T>>> prefetched;
+        private List<String> fanOutUrls;
+        private int fanOutSubmitted;
+        private final Deque<PermittedFetch<DecodedPage<List<T>>>> fanOut = new ArrayDeque<>();
+
+        PageCursor(String initialUrl, PageDecoder<List<T>> decoder, Predicate<T> isPastCutoff,
+                   boolean prefetch) {
+            this(initialUrl, decoder, isPastCutoff, prefetch, false);
+        }
+
+        PageCursor(String initialUrl, PageDecoder<List<T>> decoder, Predicate<T> isPastCutoff,
+                   boolean prefetch, boolean fanOut) {
+            this.initialUrl = initialUrl;
+            this.decoder = decoder;
+            this.isPastCutoff = isPastCutoff;
+            this.prefetch = prefetch;
+            Endpoint endpoint = Endpoint.of(initialUrl);
+            this.fanOutPermits = fanOut ? pageConcurrency.get(endpoint) : null;
+            this.fanOutWindow = fanOutPermits != null ? pageLimits.get(endpoint) : 0;
+            this.url = initialUrl;
+        }
+
+        /**
+         * Returns the next page's items, or {@code null} once the endpoint is exhausted
+         * or the cutoff has been reached. A returned page may be empty.
+         */
+        List<T> nextPage() throws IOException, InterruptedException {
+            if (url == null) {
+                return null;
+            }
+
+            DecodedPage<List<T>> result = null;
+            if (fanOutUrls != null) {
+                result = nextFannedOutPage();
+            } else {
+                if (replayFromCache) {
+                    result = cachedPage(url, decoder);
+                    replayFromCache = result != null;
+                }
+                if (result == null) {
+                    boolean firstPage = url.equals(initialUrl);
+                    // No prefetch of the second page when it may be about to be fanned out
+                    result = prefetch && !(firstPage && fanOutPermits != null)
+                            ? fetchWithPrefetch() : fetchDecodedPage(url, decoder);
+                    // An unchanged first page means the list is unchanged: serve the rest from cache
+                    replayFromCache = firstPage && result.notModified();
+                }
+            }
+
+            String currentUrl = url;
+            if (fanOutUrls != null) {
+                int consumed = fanOutSubmitted - fanOut.size();
+                url = consumed < fanOutUrls.size() ? fanOutUrls.get(consumed) : null;
+            } else {
+                url = result.nextUrl();
+                lastUrl = result.lastUrl();
+                if (fanOutPermits != null && currentUrl.equals(initialUrl) && !replayFromCache) {
+                    startFanOut();
+                }
+            }
+
+            List<T> page = result.value();
+            if (page == null) {
+                return List.of();
+            }
+
+            logger.debug("Fetched page with {} items from {}", page.size(), currentUrl);
+            for (int i = 0; i < page.size(); i++) {
+                if (isPastCutoff.test(page.get(i))) {
+                    logger.debug("Cutoff reached on {}; skipping remaining pages", currentUrl);
+                    url = null;
+                    cancelPrefetch();
+                    cancelFanOut();
+                    return page.subList(0, i);
+                }
+            }
+            return page;
+        }
+
+        /**
+         * Fetches the current page with at most one page of lookahead. A page that was
+         * prefetched is awaited and the following page is requested straight away;
+         * otherwise the current page is fetched here and the following page is
+         * requested as soon as its Link header is parsed, overlapping that request
+         * with decoding of the current body.
+         */
+        private DecodedPage<List<T>> fetchWithPrefetch() throws IOException, InterruptedException {
+            if (prefetched != null && url.equals(prefetchedUrl)) {
+                Future<DecodedPage<List<T>>> pending = prefetched;
+                prefetched = null;
+                DecodedPage<List<T>> result = await(pending);
+                if (!result.notModified() && result.nextUrl() != null) {
+                    startPrefetch(result.nextUrl());
+                }
+                return result;
+            }
+            cancelPrefetch();
+            return fetchDecodedPage(url, decoder, this::startPrefetch);
+        }
+
+        private void startPrefetch(String nextUrl) {
+            prefetchedUrl = nextUrl;
+            prefetched = pageExecutor.submit(() -> fetchDecodedPage(nextUrl, decoder));
+        }
+
+        private void cancelPrefetch() {
+            if (prefetched != null) {
+                prefetched.cancel(true);
+                prefetched = null;
+            }
+        }
+
+        private void startFanOut() throws InterruptedException {
+            List<String> remaining = expandPageUrls(url, lastUrl);
+            if (!remaining.isEmpty()) {
+                fanOutUrls = remaining;
+                fillFanOut();
+            }
+        }
+
+        /**
+         * Awaits the next fanned-out page in page order, keeping the window full before
+         * and after so the following pages are in flight while this one is consumed.
+         */
+        private DecodedPage<List<T>> nextFannedOutPage() throws IOException, InterruptedException {
+            try {
+                fillFanOut();
+                DecodedPage<List<T>> result = await(fanOut.remove().future());
+                fillFanOut();
+                return result;
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                url = null;
+                cancelFanOut();
+                throw e;
+            }
+        }
+
+        /**
+         * Submits page fetches until the window is full. Each holds one of the
+         * endpoint's permits, taken here so the executor never holds more page
+         * threads than permits; only an empty window waits for one.
+         */
+        private void fillFanOut() throws InterruptedException {
+            while (fanOut.size() < fanOutWindow && fanOutSubmitted < fanOutUrls.size()) {
+                if (fanOut.isEmpty()) {
+                    fanOutPermits.acquire();
+                } else if (!fanOutPermits.tryAcquire()) {
+                    return;
+                }
+                String pageUrl = fanOutUrls.get(fanOutSubmitted++);
+                fanOut.add(PermittedFetch.submit(pageExecutor, fanOutPermits,
+                        () -> fetchDecodedPage(pageUrl, decoder)));
+            }
+        }
+
+        private void cancelFanOut() {
+            while (!fanOut.isEmpty()) {
+                fanOut.remove().cancel();
+            }
+        }
+
+        /** Stops the walk, cancelling any page requests still in flight. */
+        void close() {
+            url = null;
+            cancelPrefetch();
+            cancelFanOut();
+        }
+    }
+
+    /**
+     * A background fetch holding one endpoint permit, which is returned exactly once:
+     * when the fetch finishes, or on {@link #cancel()} if it never ran.
+     */
+    private static final class PermittedFetch<V> {
+
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private Future<V> future;
+
+        private PermittedFetch(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        /** Submits {@code fetch}, which must be called with a permit already taken from {@code permits}. */
+        static <V> PermittedFetch<V> submit(ExecutorService executor, Semaphore permits, Callable<V> fetch) {
+            PermittedFetch<V> permitted = new PermittedFetch<>(permits);
+            try {
+                permitted.future = executor.submit(() -> {
+                    try {
+                        return fetch.call();
+                    } finally {
+                        permitted.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                permitted.release();
+                throw e;
+            }
+            return permitted;
+        }
+
+        Future<V> future() {
+            return future;
+        }
+
+        void cancel() {
+            future.cancel(true);
+            release();
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Adapts a {@link PageCursor} to {@link Iterator}, skipping empty pages.
+     * A consumer that stops before the end should {@link #close()} it, so page
+     * requests already in flight are cancelled.
+     */
+    private static final class PageIterator<T> implements Iterator<List<T>>, AutoCloseable {
+
+        private final PageCursor<T> cursor;
+        private List<T> buffered;
+        private boolean exhausted;
+
+        PageIterator(PageCursor<T> cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (buffered == null && !exhausted) {
+                List<T> page;
+                try {
+                    page = cursor.nextPage();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedIOException(new InterruptedIOException(
+                            "Interrupted while fetching page"));
+                }
+                if (page == null) {
+                    exhausted = true;
+                } else if (!page.isEmpty()) {
+                    buffered = page;
+                }
+            }
+            return buffered != null;
+        }
+
+        @Override
+        public List<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<T> page = buffered;
+            buffered = null;
+            return page;
+        }
+
+        @Override
+        public void close() {
+            buffered = null;
+            exhausted = true;
+            cursor.close();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Internal result holder
+    // -------------------------------------------------------------------------
+
+    /**
+     * A fetched page body with its next-page URL and validators.
+     * {@code notModified} is set for a 304 response.
+     */
+    record PageResult(String body, String nextUrl, String etag, String lastModified,
+                      boolean notModified) {
+
+        static final PageResult NOT_MODIFIED = new PageResult(null, null, null, null, true);
+    }
+
+    /**
+     * A decoded page. {@code value} is null when the response had no body, or for a
+     * 304 with nothing cached; {@code notModified} is set when it came from the cache.
+     * {@code lastUrl} is the {@code rel="last"} link of a fresh response, if any.
+     */
+    record DecodedPage<T>(T value, String nextUrl, String lastUrl, boolean notModified) {
+
+        static <T> DecodedPage<T> emptyNotModified() {
+            return new DecodedPage<>(null, null, null, true);
+        }
+    }
+
+    /**
+     * A response and the credential whose permit it was sent with.
+     */
+    private record Sent(Response response, TokenPool.Credential credential) {}
+
+    /**
+     * Copies of one GET racing for the first response. Each copy holds its own
+     * permit; a copy that fails returns it, and a copy that answers after the winner
+     * is closed once its rate-limit headers have been recorded. A hedged copy also
+     * holds its own concurrency slot until it is answered or fails.
+     */
+    private final class HedgedCall {
+
+        private final Request request;
+        private final String resource;
+        private final CompletableFuture<Answer> first = new CompletableFuture<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicReference<IOException> failure = new AtomicReference<>();
+        private final List<Call> calls = new CopyOnWriteArrayList<>();
+
+        HedgedCall(Request request, String resource) {
+            this.request = request;
+            this.resource = resource;
+        }
+
+        void start(TokenPool.Credential credential) throws IOException {
+            running.incrementAndGet();
+            enqueue(credential, false);
+        }
+
+        /**
+         * Sends one copy, already counted in {@code running}.
+         *
+         * @param holdsSlot whether the copy took a concurrency slot of its own
+         */
+        private void enqueue(TokenPool.Credential credential, boolean holdsSlot) throws IOException {
+            Call call;
+            try {
+                call = hedgingHttpClient.newCall(authorize(request, credential));
+            } catch (IOException e) {
+                tokenPool.onFailure(credential, resource);
+                if (holdsSlot) {
+                    releaseConcurrency(Outcome.IGNORE, 0);
+                }
+                fail(e);
+                throw e;
+            }
+            calls.add(call);
+            call.enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    tokenPool.onFailure(credential, resource);
+                    if (holdsSlot) {
+                        releaseConcurrency(Outcome.IGNORE, 0);
+                    }
+                    fail(e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    if (holdsSlot) {
+                        releaseConcurrency(Outcome.IGNORE, 0);
+                    }
+                    running.decrementAndGet();
+                    if (!first.complete(new Answer(call, new Sent(response, credential)))) {
+                        try (response) {
+                            tokenPool.onResponse(credential, resource, response);
+                        }
+                    }
+                }
+            });
+        }
+
+        /** Ends a copy that got no response; the last copy to end fails the call. */
+        private void fail(IOException e) {
+            failure.compareAndSet(null, e);
+            abandon();
+        }
+
+        private void abandon() {
+            IOException e = failure.get();
+            if (running.decrementAndGet() == 0 && e != null) {
+                first.completeExceptionally(e);
+            }
+        }
+
+        Sent await(long hedgeDelayMs, String owner) throws IOException, InterruptedException {
+            Answer answer;
+            try {
+                try {
+                    first.get(hedgeDelayMs, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    hedge(hedgeDelayMs, owner);
+                } catch (ExecutionException e) {
+                    // Rethrown by await below
+                }
+                answer = GitHubApiClient.await(first);
+            } catch (InterruptedException e) {
+                calls.forEach(Call::cancel);
+                throw e;
+            }
+            for (Call call : calls) {
+                if (call != answer.call()) {
+                    call.cancel();
+                }
+            }
+            return answer.sent();
+        }
+
+        private void hedge(long hedgeDelayMs, String owner) {
+            // Counted before checking, so an original failing meanwhile leaves the call to the hedge
+            running.incrementAndGet();
+            if (first.isDone()) {
+                abandon();
+                return;
+            }
+            // Never wait for a slot or a permit: by then the original is as likely to answer
+            if (concurrency != null && !concurrency.tryAcquire()) {
+                abandon();
+                return;
+            }
+            TokenPool.Credential credential = hedging.tryHedge()
+                    ? tokenPool.tryAcquire(resource, owner).credential() : null;
+            if (credential == null) {
+                releaseConcurrency(Outcome.IGNORE, 0);
+                abandon();
+                return;
+            }
+            logger.debug("No response from {} after {}ms. Sending a hedged copy.", request.url(), hedgeDelayMs);
+            try {
+                enqueue(credential, concurrency != null);
+            } catch (IOException e) {
+                logger.debug("Could not send hedged copy of {}", request.url(), e);
+            }
+        }
+    }
+
+    private record Answer(Call call, Sent sent) {}
+
+    /**
+     * Identifies a page fetch that concurrent callers can share: same URL, same
+     * cached validator sent with it, and same decoding.
+     */
+    private record FlightKey(String url, String validator, PageDecoder<?> decoder) {}
+
+    /**
+     * Consumes an open response whose status has already been accepted.
+     */
+    @FunctionalInterface
+    interface ResponseHandler<R> {
+        R handle(Response response) throws IOException;
+    }
+
+    // -------------------------------------------------------------------------
+    // Builder
+    // -------------------------------------------------------------------------
+
+    /**
+     * Builder for clients that need more than a token and username,
+     * such as a custom HTTP client or a persistent response cache.
+     */
+    public static final class Builder {
+
+        private final String token;
+        private final String username;
+        private OkHttpClient httpClient;
+        private String baseUrl = DEFAULT_BASE_URL;
+        private ConditionalRequestCache responseCache;
+        private CommitStore commitStore;
+        private final Map<Endpoint, Integer> pageConcurrency = new EnumMap<>(Endpoint.class);
+        private boolean prefetchPages;
+        private TokenPool tokenPool;
+        private AdaptiveConcurrencyLimiter concurrency;
+        private RequestPacer pacer;
+        private HedgingPolicy hedging;
+        private boolean circuitBreakers;
+        private RetryBudget retryBudget;
+
+        private Builder(String token, String username) {
+            this.token = token;
+            this.username = username;
+        }
+
+        public Builder httpClient(OkHttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        /**
+         * Enables conditional requests backed by {@code responseCache}.
+         */
+        public Builder responseCache(ConditionalRequestCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Answers {@link GitHubApiClient#getCommit} from {@code commitStore} where it
+         * can, and stores every commit fetched.
+         */
+        public Builder commitStore(CommitStore commitStore) {
+            this.commitStore = commitStore;
+            return this;
+        }
+
+        /**
+         * Fetches the pages of {@code endpoint} lists concurrently, with at most
+         * {@code concurrency} page requests in flight for that endpoint. A value of
+         * one keeps strictly sequential pagination.
+         */
+        public Builder pageConcurrency(Endpoint endpoint, int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Page concurrency must be at least 1: " + concurrency);
+            }
+            if (concurrency == 1) {
+                pageConcurrency.remove(endpoint);
+            } else {
+                pageConcurrency.put(endpoint, concurrency);
+            }
+            return this;
+        }
+
+        /**
+         * Requests page N+1 on a background thread as soon as page N's Link header is
+         * parsed, so network latency overlaps with decoding and downstream processing.
+         * At most one page is fetched ahead.
+         */
+        public Builder prefetchPages(boolean prefetchPages) {
+            this.prefetchPages = prefetchPages;
+            return this;
+        }
+
+        /**
+         * Sends requests with the tokens in {@code tokenPool} instead of the single
+         * token passed to {@link GitHubApiClient#builder}. Sharing one pool between
+         * clients keeps their combined requests within the same budgets.
+         */
+        public Builder tokenPool(TokenPool tokenPool) {
+            this.tokenPool = tokenPool;
+            return this;
+        }
+
+        /**
+         * Limits the requests in flight with {@code concurrency}, which grows while
+         * GitHub answers quickly and backs off on secondary rate limits. Sharing one
+         * limiter between clients bounds their combined concurrency.
+         */
+        public Builder adaptiveConcurrency(AdaptiveConcurrencyLimiter concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Spreads {@code core} requests evenly until the rate-limit reset whenever
+         * the work announced to {@code pacer} exceeds the remaining budget.
+         */
+        public Builder pacer(RequestPacer pacer) {
+            this.pacer = pacer;
+            return this;
+        }
+
+        /**
+         * Sends a second copy of a GET that has not been answered by its endpoint's
+         * observed p95 latency, within {@code hedging}'s budget, and uses whichever
+         * copy answers first.
+         */
+        public Builder hedging(HedgingPolicy hedging) {
+            this.hedging = hedging;
+            return this;
+        }
+
+        /**
+         * Keeps a {@link CircuitBreaker} per endpoint family, so requests to a family
+         * GitHub keeps failing fail fast instead of each exhausting its retries.
+         */
+        public Builder circuitBreakers(boolean circuitBreakers) {
+            this.circuitBreakers = circuitBreakers;
+            return this;
+        }
+
+        /**
+         * Draws retries from {@code retryBudget}, which bounds them to a share of all
+         * requests sent. Sharing one budget between clients bounds their combined
+         * retries.
+         */
+        public Builder retryBudget(RetryBudget retryBudget) {
+            this.retryBudget = retryBudget;
+            return this;
+        }
+
+        public GitHubApiClient build() {
+            return new GitHubApiClient(this);
+        }
+    }
 }
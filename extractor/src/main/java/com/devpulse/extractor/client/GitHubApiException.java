@@ -0,0 +1,23 @@
+package com.devpulse.extractor.client;
+
+import java.io.IOException;
+
+/**
+ * Thrown when GitHub answers with a status the client does not retry or accept.
+ * Carries the status code so callers can react to specific failures.
+ */
+public class GitHubApiException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public GitHubApiException(int statusCode, String url) {
+        super("GitHub API error: " + statusCode + " for " + url);
+        this.statusCode = statusCode;
+    }
+
+    public int statusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,277 @@
+package com.devpulse.extractor.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Authenticates as a GitHub App and mints installation access tokens.
+ *
+ * <p>Each exchange is authorized with a short-lived RS256 JWT signed by the App's
+ * private key. Installation tokens last one hour; they are cached per installation
+ * and replaced once less than {@link #REFRESH_MARGIN_MS} of their lifetime is left,
+ * so a request never goes out with a token about to expire.</p>
+ *
+ * <p>Thread-safe: concurrent callers needing a fresh token for the same
+ * installation wait for a single exchange.</p>
+ */
+public class GitHubAppAuth {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubAppAuth.class);
+
+    static final long REFRESH_MARGIN_MS = 5 * 60_000;
+    /** A token rejected this soon after it was minted is not worth minting again. */
+    private static final long MIN_TOKEN_AGE_FOR_RETRY_MS = 60_000;
+    private static final long JWT_BACKDATE_SECONDS = 60;
+    private static final long JWT_LIFETIME_SECONDS = 9 * 60;
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private final String appId;
+    private final PrivateKey privateKey;
+    private final OkHttpClient httpClient;
+    private final String baseUrl;
+    private final LongSupplier clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, InstallationToken> tokens = new ConcurrentHashMap<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public GitHubAppAuth(String appId, PrivateKey privateKey) {
+        this(appId, privateKey, new OkHttpClient.Builder()
+                .connectTimeout(30, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .build(), GitHubApiClient.DEFAULT_BASE_URL, System::currentTimeMillis);
+    }
+
+    // Visible for testing — allows pointing at a stand-in token endpoint
+    GitHubAppAuth(String appId, PrivateKey privateKey, OkHttpClient httpClient, String baseUrl,
+                  LongSupplier clock) {
+        this.appId = appId;
+        this.privateKey = privateKey;
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.clock = clock;
+    }
+
+    // -------------------------------------------------------------------------
+    // Installation tokens
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns a cached token for {@code installationId}, minting a new one if none is
+     * cached or the cached one expires within {@link #REFRESH_MARGIN_MS}.
+     */
+    public String installationToken(long installationId) throws IOException {
+        InstallationToken cached = tokens.get(installationId);
+        if (isFresh(cached)) {
+            return cached.token();
+        }
+        refreshLock.lock();
+        try {
+            cached = tokens.get(installationId);
+            if (isFresh(cached)) {
+                return cached.token();
+            }
+            InstallationToken minted = mint(installationId);
+            tokens.put(installationId, minted);
+            return minted.token();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the cached token for {@code installationId} after GitHub rejected it.
+     *
+     * @return true if minting another token may help, false if the rejected token
+     *         was only just minted (the installation is likely suspended or removed)
+     */
+    public boolean invalidate(long installationId) {
+        InstallationToken removed = tokens.remove(installationId);
+        // Already dropped by a concurrent rejection: the next call mints a new one
+        return removed == null || clock.getAsLong() - removed.mintedAtMs() >= MIN_TOKEN_AGE_FOR_RETRY_MS;
+    }
+
+    /**
+     * Login of the user or organization {@code installationId} is installed on.
+     * Endpoint: GET /app/installations/{installation_id}
+     */
+    public String installationAccount(long installationId) throws IOException {
+        Request request = appRequest("/app/installations/" + installationId).get().build();
+        return call(request).path("account").path("login").textValue();
+    }
+
+    private boolean isFresh(InstallationToken token) {
+        return token != null && token.expiresAtMs() - clock.getAsLong() > REFRESH_MARGIN_MS;
+    }
+
+    /**
+     * Endpoint: POST /app/installations/{installation_id}/access_tokens
+     */
+    private InstallationToken mint(long installationId) throws IOException {
+        Request request = appRequest("/app/installations/" + installationId + "/access_tokens")
+                .post(RequestBody.create("", JSON))
+                .build();
+        JsonNode body = call(request);
+        String token = body.path("token").textValue();
+        if (token == null) {
+            throw new IOException("No token in access_tokens response for installation " + installationId);
+        }
+        long now = clock.getAsLong();
+        long expiresAtMs;
+        try {
+            expiresAtMs = Instant.parse(body.path("expires_at").asText()).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // Documented lifetime is one hour
+            expiresAtMs = now + 3_600_000;
+        }
+        logger.info("Minted installation token for installation {} (expires {})",
+                installationId, Instant.ofEpochMilli(expiresAtMs));
+        return new InstallationToken(token, now, expiresAtMs);
+    }
+
+    private Request.Builder appRequest(String path) {
+        return new Request.Builder()
+                .url(baseUrl + path)
+                .header("Authorization", "Bearer " + jwt())
+                .header("Accept", "application/vnd.github+json")
+                .header("X-GitHub-Api-Version", "2022-11-28");
+    }
+
+    private JsonNode call(Request request) throws IOException {
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new GitHubApiException(response.code(), request.url().toString());
+            }
+            ResponseBody body = response.body();
+            if (body == null) {
+                throw new IOException("Empty response from " + request.url());
+            }
+            return objectMapper.readTree(body.byteStream());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // App JWT
+    // -------------------------------------------------------------------------
+
+    /**
+     * Signs an App JWT. {@code iat} is backdated a minute to allow for clock drift,
+     * and the lifetime stays under GitHub's ten-minute maximum.
+     */
+    String jwt() {
+        long nowSeconds = clock.getAsLong() / 1000;
+        String header = base64Url("{\"alg\":\"RS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = base64Url(objectMapper.createObjectNode()
+                .put("iat", nowSeconds - JWT_BACKDATE_SECONDS)
+                .put("exp", nowSeconds + JWT_LIFETIME_SECONDS)
+                .put("iss", appId)
+                .toString().getBytes(StandardCharsets.UTF_8));
+        String signingInput = header + "." + payload;
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(privateKey);
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + base64Url(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign GitHub App JWT", e);
+        }
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private key loading
+    // -------------------------------------------------------------------------
+
+    /**
+     * Reads an RSA private key from a PEM file.
+     *
+     * @see #parsePrivateKey(String)
+     */
+    public static PrivateKey readPrivateKey(Path path) throws IOException {
+        return parsePrivateKey(Files.readString(path));
+    }
+
+    /**
+     * Parses a PEM-encoded RSA private key. GitHub issues App keys in PKCS#1
+     * ({@code BEGIN RSA PRIVATE KEY}), which the JDK cannot read directly, so those
+     * are wrapped into PKCS#8 first. PKCS#8 keys ({@code BEGIN PRIVATE KEY}) are
+     * read as-is.
+     */
+    static PrivateKey parsePrivateKey(String pem) throws IOException {
+        boolean pkcs1 = pem.contains("BEGIN RSA PRIVATE KEY");
+        String base64 = pem.replaceAll("-----(BEGIN|END)[^-]*-----", "").replaceAll("\\s", "");
+        try {
+            byte[] der = Base64.getDecoder().decode(base64);
+            return KeyFactory.getInstance("RSA")
+                    .generatePrivate(new PKCS8EncodedKeySpec(pkcs1 ? pkcs1ToPkcs8(der) : der));
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            throw new IOException("Invalid GitHub App private key", e);
+        }
+    }
+
+    /**
+     * Wraps a PKCS#1 RSAPrivateKey in a PKCS#8 PrivateKeyInfo:
+     * {@code SEQUENCE { INTEGER 0, SEQUENCE { rsaEncryption OID, NULL }, OCTET STRING { key } }}.
+     */
+    static byte[] pkcs1ToPkcs8(byte[] pkcs1) {
+        byte[] version = {0x02, 0x01, 0x00};
+        byte[] rsaEncryption = {0x30, 0x0d, 0x06, 0x09, 0x2a, (byte) 0x86, 0x48, (byte) 0x86,
+                (byte) 0xf7, 0x0d, 0x01, 0x01, 0x01, 0x05, 0x00};
+        ByteArrayOutputStream info = new ByteArrayOutputStream();
+        info.writeBytes(version);
+        info.writeBytes(rsaEncryption);
+        info.writeBytes(der(0x04, pkcs1));
+        return der(0x30, info.toByteArray());
+    }
+
+    private static byte[] der(int tag, byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(tag);
+        int length = content.length;
+        if (length < 0x80) {
+            out.write(length);
+        } else {
+            int lengthBytes = (Integer.SIZE - Integer.numberOfLeadingZeros(length) + 7) / 8;
+            out.write(0x80 | lengthBytes);
+            for (int i = lengthBytes - 1; i >= 0; i--) {
+                out.write(length >>> (8 * i));
+            }
+        }
+        out.writeBytes(content);
+        return out.toByteArray();
+    }
+
+    /**
+     * A minted installation token and its lifetime.
+     */
+    record InstallationToken(String token, long mintedAtMs, long expiresAtMs) {}
+}
@@ -0,0 +1,408 @@
+package com.devpulse.extractor.client;
+
+import com.devpulse.extractor.model.Language;
+import com.devpulse.extractor.model.PullRequest;
+import com.devpulse.extractor.model.Review;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GitHub GraphQL API client that fetches pull requests together with their reviews
+ * in one paginated connection query, replacing one REST reviews call per pull request.
+ *
+ * <p>Requests go through {@link GitHubApiClient}'s retry loop and its shared
+ * {@link RateLimiter}, which budgets GraphQL points separately from REST calls.
+ * Every query also asks for {@code rateLimit} so query cost can be logged.
+ * If GitHub rejects a query for exceeding node or resource limits (or times out
+ * with a 502/504), the page size is halved and the same page is retried.</p>
+ *
+ * <p>Pull requests with more reviews than fit in the nested connection have their
+ * reviews fetched through the REST endpoint instead.</p>
+ *
+ * <p>Languages are fetched for many repositories per query by aliasing one
+ * {@code repository} field per repository. Repository metadata still comes from the
+ * REST listing, so the aliased fields select only the name and languages.</p>
+ */
+public class GitHubGraphQLClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubGraphQLClient.class);
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int REVIEWS_PAGE_SIZE = 50;
+    static final int REPOSITORY_BATCH_SIZE = 50;
+    private static final int LANGUAGES_PAGE_SIZE = 100;
+
+    private static final Set<String> LIMIT_ERROR_TYPES =
+            Set.of("MAX_NODE_LIMIT_EXCEEDED", "RESOURCE_LIMITS_EXCEEDED");
+
+    static final String PULL_REQUESTS_QUERY = """
+            query($owner: String!, $name: String!, $first: Int!, $after: String, $reviewsFirst: Int!) {
+              rateLimit { cost remaining resetAt }
+              repository(owner: $owner, name: $name) {
+                pullRequests(first: $first, after: $after, orderBy: {field: UPDATED_AT, direction: DESC}) {
+                  pageInfo { hasNextPage endCursor }
+                  nodes {
+                    number title state createdAt updatedAt mergedAt
+                    mergeCommit { oid }
+                    author { login ...on User { databaseId } ...on Bot { databaseId } }
+                    reviews(first: $reviewsFirst) {
+                      pageInfo { hasNextPage }
+                      nodes {
+                        databaseId state submittedAt body
+                        author { login ...on User { databaseId } ...on Bot { databaseId } }
+                      }
+                    }
+                  }
+                }
+              }
+            }""";
+
+    static final String LANGUAGE_FIELDS = """
+            fragment LanguageFields on Repository {
+              nameWithOwner
+              languages(first: %d, orderBy: {field: SIZE, direction: DESC}) {
+                totalCount
+                edges { size node { name } }
+              }
+            }""".formatted(LANGUAGES_PAGE_SIZE);
+
+    private final GitHubApiClient restClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int initialPageSize;
+    private final int repositoryBatchSize;
+    private volatile RateLimit rateLimit;
+
+    public GitHubGraphQLClient(GitHubApiClient restClient) {
+        this(restClient, DEFAULT_PAGE_SIZE, REPOSITORY_BATCH_SIZE);
+    }
+
+    // Visible for testing
+    GitHubGraphQLClient(GitHubApiClient restClient, int initialPageSize, int repositoryBatchSize) {
+        this.restClient = restClient;
+        this.initialPageSize = initialPageSize;
+        this.repositoryBatchSize = repositoryBatchSize;
+    }
+
+    /**
+     * Fetches pull requests with their reviews, most recently updated first.
+     * Pagination stops at the first pull request last updated at or before
+     * {@code updatedSince}.
+     *
+     * <p>Pull request state is mapped to the REST values ({@code MERGED} and
+     * {@code CLOSED} become {@code closed}). {@code mergeCommitSha} is only set for
+     * merged pull requests, whereas REST also reports test merge commits.</p>
+     *
+     * @param updatedSince if null, all pull requests are fetched
+     */
+    public List<PullRequestWithReviews> getPullRequestsWithReviews(String repoFullName, Instant updatedSince)
+            throws IOException, InterruptedException {
+        String[] ownerAndName = repoFullName.split("/", 2);
+        if (ownerAndName.length != 2) {
+            throw new IllegalArgumentException("Expected owner/name but got " + repoFullName);
+        }
+
+        List<PullRequestWithReviews> results = new ArrayList<>();
+        int pageSize = initialPageSize;
+        String cursor = null;
+
+        while (true) {
+            JsonNode connection;
+            try {
+                connection = queryPullRequests(ownerAndName[0], ownerAndName[1], pageSize, cursor);
+            } catch (QueryLimitException e) {
+                if (pageSize == 1) {
+                    throw new IOException("GraphQL query for " + repoFullName
+                            + " exceeds limits even with a single pull request per page", e);
+                }
+                pageSize = Math.max(1, pageSize / 2);
+                logger.warn("GraphQL limits hit for {} ({}). Retrying with {} pull requests per page",
+                        repoFullName, e.getMessage(), pageSize);
+                continue;
+            }
+
+            for (JsonNode node : connection.path("nodes")) {
+                PullRequest pr = toPullRequest(node);
+                if (updatedSince != null && GitHubApiClient.isAtOrBefore(pr.updatedAt(), updatedSince)) {
+                    logger.debug("Watermark reached for {} at PR #{}", repoFullName, pr.number());
+                    return results;
+                }
+                results.add(new PullRequestWithReviews(pr, reviewsOf(repoFullName, pr, node.path("reviews"))));
+            }
+
+            JsonNode pageInfo = connection.path("pageInfo");
+            if (!pageInfo.path("hasNextPage").asBoolean(false)) {
+                return results;
+            }
+            cursor = pageInfo.path("endCursor").asText();
+        }
+    }
+
+    /**
+     * Fetches language byte counts for {@code repoFullNames}, up to
+     * {@value #REPOSITORY_BATCH_SIZE} repositories per request. Repositories that
+     * cannot be resolved are logged and left out of the result.
+     *
+     * <p>Repositories with more than {@value #LANGUAGES_PAGE_SIZE} languages have their
+     * languages fetched through the REST endpoint instead.</p>
+     *
+     * @return one entry per resolved repository, in input order
+     */
+    public List<Language> getLanguages(List<String> repoFullNames) throws IOException, InterruptedException {
+        List<Language> results = new ArrayList<>(repoFullNames.size());
+        int batchSize = repositoryBatchSize;
+        int from = 0;
+
+        while (from < repoFullNames.size()) {
+            List<String> batch = repoFullNames.subList(from, Math.min(from + batchSize, repoFullNames.size()));
+            JsonNode data;
+            try {
+                data = queryRepositories(batch);
+            } catch (QueryLimitException e) {
+                if (batchSize == 1) {
+                    throw new IOException("GraphQL query for " + batch.get(0)
+                            + " exceeds limits even as a single repository", e);
+                }
+                batchSize = Math.max(1, batchSize / 2);
+                logger.warn("GraphQL limits hit for repository batch ({}). Retrying with {} per batch",
+                        e.getMessage(), batchSize);
+                continue;
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                JsonNode node = data.path("r" + i);
+                if (!node.isObject()) {
+                    logger.warn("Repository {} not resolved via GraphQL; skipping", batch.get(i));
+                    continue;
+                }
+                results.add(languagesOf(text(node, "nameWithOwner"), node.path("languages")));
+            }
+            from += batch.size();
+        }
+        return results;
+    }
+
+    /**
+     * The rate limit reported by the most recent query, or null before the first one.
+     */
+    public RateLimit rateLimit() {
+        return rateLimit;
+    }
+
+    // -------------------------------------------------------------------------
+    // Query execution
+    // -------------------------------------------------------------------------
+
+    private JsonNode queryPullRequests(String owner, String name, int first, String after)
+            throws IOException, InterruptedException {
+        ObjectNode variables = objectMapper.createObjectNode()
+                .put("owner", owner)
+                .put("name", name)
+                .put("first", first)
+                .put("after", after)
+                .put("reviewsFirst", REVIEWS_PAGE_SIZE);
+        JsonNode data = execute(PULL_REQUESTS_QUERY, variables, false);
+
+        JsonNode repository = data.path("repository");
+        if (repository.isMissingNode() || repository.isNull()) {
+            throw new IOException("Repository " + owner + "/" + name + " not found via GraphQL");
+        }
+        return repository.path("pullRequests");
+    }
+
+    /**
+     * Queries one aliased {@code repository} field per name: {@code r0}, {@code r1}, ...
+     */
+    private JsonNode queryRepositories(List<String> repoFullNames) throws IOException, InterruptedException {
+        StringBuilder declarations = new StringBuilder();
+        StringBuilder fields = new StringBuilder();
+        ObjectNode variables = objectMapper.createObjectNode();
+
+        for (int i = 0; i < repoFullNames.size(); i++) {
+            String[] ownerAndName = repoFullNames.get(i).split("/", 2);
+            if (ownerAndName.length != 2) {
+                throw new IllegalArgumentException("Expected owner/name but got " + repoFullNames.get(i));
+            }
+            declarations.append(i == 0 ? "" : ", ")
+                    .append("$o").append(i).append(": String!, $n").append(i).append(": String!");
+            fields.append("  r").append(i).append(": repository(owner: $o").append(i)
+                    .append(", name: $n").append(i).append(") { ...LanguageFields }\n");
+            variables.put("o" + i, ownerAndName[0]).put("n" + i, ownerAndName[1]);
+        }
+
+        String query = "query(" + declarations + ") {\n"
+                + "  rateLimit { cost remaining resetAt }\n"
+                + fields
+                + "}\n"
+                + LANGUAGE_FIELDS;
+        return execute(query, variables, true);
+    }
+
+    /**
+     * Posts {@code query} with {@code variables} and returns its {@code data} object,
+     * recording the reported rate limit.
+     *
+     * @param allowPartial if true, errors alongside a non-null {@code data} object are
+     *                     logged rather than thrown (e.g. one unresolvable alias in a batch)
+     * @throws QueryLimitException if GitHub rejected the query as too large or too slow
+     */
+    private JsonNode execute(String query, ObjectNode variables, boolean allowPartial)
+            throws IOException, InterruptedException {
+        ObjectNode payload = objectMapper.createObjectNode().put("query", query);
+        payload.set("variables", variables);
+        String requestBody = objectMapper.writeValueAsString(payload);
+
+        JsonNode response;
+        try {
+            response = restClient.executeWithRetry(restClient.buildGraphQLRequest(requestBody), r -> {
+                ResponseBody body = r.body();
+                return body != null ? objectMapper.readTree(body.byteStream()) : null;
+            });
+        } catch (GitHubApiException e) {
+            if (e.statusCode() == 502 || e.statusCode() == 504) {
+                throw new QueryLimitException("HTTP " + e.statusCode());
+            }
+            throw e;
+        }
+        if (response == null) {
+            throw new IOException("Empty GraphQL response");
+        }
+
+        JsonNode errors = response.path("errors");
+        if (errors.isArray() && !errors.isEmpty()) {
+            for (JsonNode error : errors) {
+                if (LIMIT_ERROR_TYPES.contains(error.path("type").asText())) {
+                    throw new QueryLimitException(error.path("type").asText());
+                }
+            }
+            if (!allowPartial || !response.path("data").isObject()) {
+                throw new IOException("GraphQL error: " + errors.get(0).path("message").asText());
+            }
+            errors.forEach(error -> logger.warn("GraphQL error at {}: {}",
+                    error.path("path"), error.path("message").asText()));
+        }
+
+        JsonNode data = response.path("data");
+        recordRateLimit(data.path("rateLimit"));
+        return data;
+    }
+
+    private void recordRateLimit(JsonNode node) {
+        if (node.isMissingNode() || node.isNull()) {
+            return;
+        }
+        Instant resetAt = null;
+        try {
+            resetAt = Instant.parse(node.path("resetAt").asText());
+        } catch (DateTimeParseException e) {
+            logger.debug("Unparseable GraphQL rateLimit.resetAt: {}", node.path("resetAt").asText());
+        }
+        rateLimit = new RateLimit(node.path("cost").asInt(), node.path("remaining").asInt(), resetAt);
+        logger.debug("GraphQL rate limit: cost={}, remaining={}", rateLimit.cost(), rateLimit.remaining());
+    }
+
+    // -------------------------------------------------------------------------
+    // Mapping to REST records
+    // -------------------------------------------------------------------------
+
+    private List<Review> reviewsOf(String repoFullName, PullRequest pr, JsonNode reviewConnection)
+            throws IOException, InterruptedException {
+        if (reviewConnection.path("pageInfo").path("hasNextPage").asBoolean(false)) {
+            logger.debug("PR #{} in {} has more than {} reviews; fetching them via REST",
+                    pr.number(), repoFullName, REVIEWS_PAGE_SIZE);
+            return restClient.getReviews(repoFullName, pr.number());
+        }
+        List<Review> reviews = new ArrayList<>();
+        for (JsonNode node : reviewConnection.path("nodes")) {
+            reviews.add(toReview(node));
+        }
+        return reviews;
+    }
+
+    static PullRequest toPullRequest(JsonNode node) {
+        JsonNode author = node.path("author");
+        PullRequest.User user = author.isObject()
+                ? new PullRequest.User(text(author, "login"), author.path("databaseId").asLong())
+                : null;
+        String state = "OPEN".equals(text(node, "state")) ? "open" : "closed";
+        return new PullRequest(
+                node.path("number").asInt(),
+                text(node, "title"),
+                state,
+                text(node, "createdAt"),
+                text(node, "updatedAt"),
+                text(node, "mergedAt"),
+                text(node.path("mergeCommit"), "oid"),
+                user);
+    }
+
+    private Language languagesOf(String repoFullName, JsonNode languageConnection)
+            throws IOException, InterruptedException {
+        if (languageConnection.path("totalCount").asInt() > LANGUAGES_PAGE_SIZE) {
+            logger.debug("{} has more than {} languages; fetching them via REST",
+                    repoFullName, LANGUAGES_PAGE_SIZE);
+            return restClient.getLanguages(repoFullName);
+        }
+        Map<String, Long> languages = new LinkedHashMap<>();
+        for (JsonNode edge : languageConnection.path("edges")) {
+            languages.put(edge.path("node").path("name").asText(), edge.path("size").asLong());
+        }
+        return new Language(repoFullName, languages);
+    }
+
+    static Review toReview(JsonNode node) {
+        JsonNode author = node.path("author");
+        Review.User user = author.isObject()
+                ? new Review.User(text(author, "login"), author.path("databaseId").asLong())
+                : null;
+        return new Review(
+                node.path("databaseId").asLong(),
+                text(node, "state"),
+                text(node, "submittedAt"),
+                text(node, "body"),
+                user);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.path(field);
+        return value.isValueNode() && !value.isNull() ? value.asText() : null;
+    }
+
+    // -------------------------------------------------------------------------
+    // Result types
+    // -------------------------------------------------------------------------
+
+    /**
+     * A pull request and all of its reviews.
+     */
+    public record PullRequestWithReviews(PullRequest pullRequest, List<Review> reviews) {}
+
+    /**
+     * GraphQL rate limit state as reported by the {@code rateLimit} field.
+     */
+    public record RateLimit(int cost, int remaining, Instant resetAt) {}
+
+    /**
+     * GitHub rejected a query for its size; a smaller page may succeed.
+     */
+    static final class QueryLimitException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        QueryLimitException(String reason) {
+            super(reason);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.devpulse.extractor.client;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decides when a GET that has not been answered yet gets a second copy (a hedge),
+ * and how many hedges the rate limit can afford.
+ *
+ * <p>Each {@link Endpoint} family keeps its own latency window. Once a family has
+ * {@value #MIN_SAMPLES} samples, a request still unanswered after the window's p95
+ * is hedged, so about one request in twenty is a candidate. Hedges draw from a
+ * budget that earns {@link #DEFAULT_BUDGET_RATIO} of a hedge per request sent and
+ * holds at most {@value #MAX_BURST}, so hedges stay a small share of the rate limit
+ * even when GitHub is slow across the board.</p>
+ *
+ * <p>Thread-safe.</p>
+ */
+public class HedgingPolicy {
+
+    static final double DEFAULT_BUDGET_RATIO = 0.05;
+    static final int MIN_SAMPLES = 20;
+    static final int WINDOW_SIZE = 100;
+    static final double MAX_BURST = 10;
+    /** Hedging sooner than this would mostly duplicate requests that were about to finish. */
+    static final long MIN_DELAY_MS = 50;
+
+    private final double budgetRatio;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Endpoint, LatencyTracker> latencies = new EnumMap<>(Endpoint.class);
+
+    private double budget;
+    private long hedges;
+
+    public HedgingPolicy() {
+        this(DEFAULT_BUDGET_RATIO);
+    }
+
+    /**
+     * @param budgetRatio hedges allowed per request sent, e.g. 0.05 for at most 5%
+     */
+    public HedgingPolicy(double budgetRatio) {
+        if (budgetRatio <= 0 || budgetRatio > 1) {
+            throw new IllegalArgumentException("Hedge budget ratio must be in (0, 1]: " + budgetRatio);
+        }
+        this.budgetRatio = budgetRatio;
+    }
+
+    /**
+     * How long to wait for a response from {@code endpoint} before hedging, or -1 if
+     * too few latencies have been seen to tell an outlier.
+     */
+    long hedgeDelayMs(Endpoint endpoint) {
+        lock.lock();
+        try {
+            LatencyTracker window = latencies.get(endpoint);
+            if (window == null || window.count() < MIN_SAMPLES) {
+                return -1;
+            }
+            return Math.max(window.percentile(95), MIN_DELAY_MS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the time to response headers of a request to {@code endpoint}, and
+     * earns the budget its share of a hedge.
+     */
+    void record(Endpoint endpoint, long latencyMs) {
+        lock.lock();
+        try {
+            latencies.computeIfAbsent(endpoint, e -> new LatencyTracker(WINDOW_SIZE)).record(latencyMs);
+            budget = Math.min(budget + budgetRatio, MAX_BURST);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Spends one hedge from the budget if it has one.
+     */
+    boolean tryHedge() {
+        lock.lock();
+        try {
+            if (budget < 1) {
+                return false;
+            }
+            budget--;
+            hedges++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hedges sent so far.
+     */
+    public long hedgeCount() {
+        lock.lock();
+        try {
+            return hedges;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.devpulse.extractor.client;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of the most recent request latencies with percentile lookup.
+ *
+ * <p>Not thread-safe; its owners guard it with their locks.</p>
+ */
+class LatencyTracker {
+
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    LatencyTracker(int windowSize) {
+        this.samples = new long[windowSize];
+    }
+
+    void record(long latencyMs) {
+        samples[next] = latencyMs;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * The {@code percentile} (0-100) of the window, or 0 if it is empty.
+     */
+    long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+
+    void clear() {
+        next = 0;
+        count = 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.devpulse.extractor.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Decodes one response body from a streaming {@link JsonParser} positioned before
+ * the first token. Implementations return {@code null} for an empty body.
+ */
+@FunctionalInterface
+interface PageDecoder<T> {
+
+    T decode(JsonParser parser) throws IOException;
+
+    /**
+     * Full data-binding decoder for {@code typeRef}, reading straight from the parser.
+     */
+    static <T> PageDecoder<T> binding(ObjectMapper objectMapper, TypeReference<T> typeRef) {
+        return parser -> parser.nextToken() == null ? null : objectMapper.readValue(parser, typeRef);
+    }
+}
@@ -0,0 +1,251 @@
+package com.devpulse.extractor.client;
+
+import com.devpulse.extractor.model.Commit;
+import com.devpulse.extractor.model.PullRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming decoders that read only the fields {@code BigQueryLoader} uses and
+ * skip everything else token by token. GitHub commit and pull request payloads
+ * embed large objects (repo/head/base, parents, files, verification, ...) that
+ * would otherwise be tokenized into strings and bound into nested records.
+ */
+final class ProjectedDecoders {
+
+    private ProjectedDecoders() {}
+
+    static final PageDecoder<List<Commit>> COMMITS = parser -> readArray(parser, ProjectedDecoders::readCommit);
+
+    static final PageDecoder<List<PullRequest>> PULL_REQUESTS =
+            parser -> readArray(parser, ProjectedDecoders::readPullRequest);
+
+    /** Decodes a single commit object, e.g. from the commit detail endpoint. */
+    static final PageDecoder<Commit> COMMIT = parser -> {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        return readCommit(parser);
+    };
+
+    @FunctionalInterface
+    private interface ObjectReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    private static <T> List<T> readArray(JsonParser parser, ObjectReader<T> reader) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new IOException("Expected JSON array but found " + token);
+        }
+        return readElements(parser, reader);
+    }
+
+    /** Reads the objects of the array whose start the parser is on. */
+    private static <T> List<T> readElements(JsonParser parser, ObjectReader<T> reader) throws IOException {
+        JsonToken token;
+        List<T> items = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                items.add(reader.read(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return items;
+    }
+
+    // -------------------------------------------------------------------------
+    // Commit
+    // -------------------------------------------------------------------------
+
+    private static Commit readCommit(JsonParser parser) throws IOException {
+        String sha = null;
+        Commit.CommitDetail detail = null;
+        Commit.GitHubUser author = null;
+        Commit.CommitStats stats = null;
+        List<Commit.CommitFile> files = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "sha" -> sha = text(parser, value);
+                case "commit" -> detail = value == JsonToken.START_OBJECT ? readCommitDetail(parser) : skip(parser);
+                case "author" -> author = value == JsonToken.START_OBJECT ? readCommitUser(parser) : skip(parser);
+                case "stats" -> stats = value == JsonToken.START_OBJECT ? readCommitStats(parser) : skip(parser);
+                case "files" -> files = value == JsonToken.START_ARRAY
+                        ? readElements(parser, ProjectedDecoders::readCommitFile) : skip(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Commit(sha, detail, author, stats, files);
+    }
+
+    private static Commit.CommitDetail readCommitDetail(JsonParser parser) throws IOException {
+        String message = null;
+        Commit.CommitAuthor author = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "message" -> message = text(parser, value);
+                case "author" -> author = value == JsonToken.START_OBJECT ? readCommitAuthor(parser) : skip(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Commit.CommitDetail(message, author);
+    }
+
+    private static Commit.CommitAuthor readCommitAuthor(JsonParser parser) throws IOException {
+        String name = null;
+        String email = null;
+        String date = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "name" -> name = text(parser, value);
+                case "email" -> email = text(parser, value);
+                case "date" -> date = text(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Commit.CommitAuthor(name, email, date);
+    }
+
+    private static Commit.GitHubUser readCommitUser(JsonParser parser) throws IOException {
+        String login = null;
+        long id = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "login" -> login = text(parser, value);
+                case "id" -> id = number(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Commit.GitHubUser(login, id);
+    }
+
+    private static Commit.CommitStats readCommitStats(JsonParser parser) throws IOException {
+        int additions = 0;
+        int deletions = 0;
+        int total = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "additions" -> additions = (int) number(parser, value);
+                case "deletions" -> deletions = (int) number(parser, value);
+                case "total" -> total = (int) number(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Commit.CommitStats(additions, deletions, total);
+    }
+
+    private static Commit.CommitFile readCommitFile(JsonParser parser) throws IOException {
+        String filename = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (field.equals("filename")) {
+                filename = text(parser, value);
+            } else {
+                // Skips each file's patch, which can be large
+                parser.skipChildren();
+            }
+        }
+        return new Commit.CommitFile(filename);
+    }
+
+    // -------------------------------------------------------------------------
+    // Pull request
+    // -------------------------------------------------------------------------
+
+    private static PullRequest readPullRequest(JsonParser parser) throws IOException {
+        int number = 0;
+        String title = null;
+        String state = null;
+        String createdAt = null;
+        String updatedAt = null;
+        String mergedAt = null;
+        String mergeCommitSha = null;
+        PullRequest.User user = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "number" -> number = (int) number(parser, value);
+                case "title" -> title = text(parser, value);
+                case "state" -> state = text(parser, value);
+                case "created_at" -> createdAt = text(parser, value);
+                case "updated_at" -> updatedAt = text(parser, value);
+                case "merged_at" -> mergedAt = text(parser, value);
+                case "merge_commit_sha" -> mergeCommitSha = text(parser, value);
+                case "user" -> user = value == JsonToken.START_OBJECT ? readPullRequestUser(parser) : skip(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new PullRequest(number, title, state, createdAt, updatedAt, mergedAt, mergeCommitSha, user);
+    }
+
+    private static PullRequest.User readPullRequestUser(JsonParser parser) throws IOException {
+        String login = null;
+        long id = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "login" -> login = text(parser, value);
+                case "id" -> id = number(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new PullRequest.User(login, id);
+    }
+
+    // -------------------------------------------------------------------------
+    // Scalar helpers
+    // -------------------------------------------------------------------------
+
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static long number(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        parser.skipChildren();
+        return 0;
+    }
+
+    private static <T> T skip(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return null;
+    }
+}
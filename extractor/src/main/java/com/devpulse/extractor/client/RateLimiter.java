@@ -0,0 +1,357 @@
+package com.devpulse.extractor.client;
+
+import okhttp3.HttpUrl;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side view of the GitHub rate limits, shared by every request a client sends.
+ *
+ * <p>GitHub budgets each resource separately ({@code core}, {@code search},
+ * {@code graphql}, ...), so there is one bucket per resource. A caller
+ * {@linkplain #tryAcquire(String) takes} a permit before sending and reports the
+ * response with {@link #onResponse(String, Response)}, which resyncs the bucket from
+ * the {@code X-RateLimit-*} headers. Requests granted but not yet answered are
+ * subtracted from what GitHub reports, so concurrent callers cannot overshoot the
+ * budget between syncs. When only the reserve is left, callers wait until
+ * {@code X-RateLimit-Reset} and the bucket refills to its limit.</p>
+ *
+ * <p>Until a bucket has seen its first response, it admits one request at a time.
+ * If that response has no rate-limit headers (e.g. GitHub Enterprise with rate
+ * limiting disabled), the bucket stops limiting until headers appear.</p>
+ *
+ * <p>With a {@link SharedRateLimitFile}, every process on the host that sends with
+ * the same budget draws from the same count: each sync is published to the file, and
+ * while the file holds a current window, permits are taken from it instead of from
+ * the local bucket.</p>
+ *
+ * <p>Thread-safe. The limiter never blocks: {@link TokenPool#acquire} waits across
+ * all of its credentials' limiters.</p>
+ */
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    static final String CORE = "core";
+    static final String SEARCH = "search";
+    static final String CODE_SEARCH = "code_search";
+    static final String GRAPHQL = "graphql";
+
+    static final int DEFAULT_RESERVE = 100;
+    private static final long PROBE_WAIT_MS = 100;
+
+    private final int reserve;
+    private final LongSupplier clock;
+    private final SharedRateLimitFile sharedFile;
+    private final String budgetKey;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter() {
+        this(DEFAULT_RESERVE, System::currentTimeMillis);
+    }
+
+    /**
+     * Limiter whose budgets are shared through {@code sharedFile} with other processes
+     * sending with the same credential.
+     *
+     * @param budgetKey identifies the credential's budget, e.g. the token itself
+     *                  (only a hash of it is stored)
+     */
+    public RateLimiter(SharedRateLimitFile sharedFile, String budgetKey) {
+        this(DEFAULT_RESERVE, System::currentTimeMillis, sharedFile, budgetKey);
+    }
+
+    // Visible for testing
+    RateLimiter(int reserve, LongSupplier clock) {
+        this(reserve, clock, null, null);
+    }
+
+    // Visible for testing
+    RateLimiter(int reserve, LongSupplier clock, SharedRateLimitFile sharedFile, String budgetKey) {
+        this.reserve = reserve;
+        this.clock = clock;
+        this.sharedFile = sharedFile;
+        this.budgetKey = budgetKey;
+    }
+
+    /**
+     * Resource that GitHub charges a request to {@code url} against.
+     */
+    static String resourceFor(HttpUrl url) {
+        String path = url.encodedPath();
+        if (path.endsWith("/graphql")) {
+            return GRAPHQL;
+        }
+        if (path.contains("/search/code")) {
+            return CODE_SEARCH;
+        }
+        if (path.contains("/search/")) {
+            return SEARCH;
+        }
+        return CORE;
+    }
+
+    /**
+     * Takes a permit for {@code resource} if one is available.
+     *
+     * @return 0 if the permit was granted, otherwise how many milliseconds to wait
+     *         before trying again
+     */
+    public long tryAcquire(String resource) {
+        Bucket bucket = bucket(resource);
+        bucket.lock.lock();
+        try {
+            return bucket.tryAcquire();
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the permit acquired for {@code resource} and resyncs from the response's
+     * rate-limit headers. The headers may name a different resource than the one
+     * acquired; that bucket is the one synced.
+     */
+    public void onResponse(String resource, Response response) {
+        release(resource);
+
+        String remaining = response.header("X-RateLimit-Remaining");
+        String reset = response.header("X-RateLimit-Reset");
+        if (remaining == null || reset == null) {
+            markUnlimited(resource);
+            return;
+        }
+        String reported = response.header("X-RateLimit-Resource");
+        String limit = response.header("X-RateLimit-Limit");
+        try {
+            sync(reported != null ? reported : resource,
+                    limit != null ? Integer.parseInt(limit) : -1,
+                    Integer.parseInt(remaining),
+                    Long.parseLong(reset) * 1_000);
+        } catch (NumberFormatException e) {
+            logger.debug("Ignoring malformed rate-limit headers for {}", resource);
+        }
+    }
+
+    /**
+     * Returns the permit acquired for {@code resource} when the request got no response.
+     */
+    public void onFailure(String resource) {
+        release(resource);
+    }
+
+    /**
+     * Requests {@code resource} still has before it pauses, or -1 if not yet synced.
+     */
+    public int available(String resource) {
+        Bucket bucket = bucket(resource);
+        bucket.lock.lock();
+        try {
+            return bucket.synced ? Math.max(bucket.remaining - bucket.reserve(), 0) : -1;
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    /**
+     * When the current window for {@code resource} resets, or -1 if it is not synced
+     * or not limited.
+     */
+    public long resetAtMs(String resource) {
+        Bucket bucket = bucket(resource);
+        bucket.lock.lock();
+        try {
+            return bucket.synced && bucket.limit > 0 ? bucket.resetAtMs : -1;
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    /**
+     * Requests a full window for {@code resource} allows before the reserve, or -1
+     * if the limit is not known.
+     */
+    public int windowBudget(String resource) {
+        Bucket bucket = bucket(resource);
+        bucket.lock.lock();
+        try {
+            return bucket.limit > 0 ? bucket.limit - bucket.reserve() : -1;
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    // Visible for testing
+    void sync(String resource, int limit, int remaining, long resetAtMs) {
+        Bucket bucket = bucket(resource);
+        bucket.lock.lock();
+        try {
+            if (bucket.synced && !bucket.awaitingResync && resetAtMs <= clock.getAsLong()) {
+                // Answer from a window that has already closed
+                return;
+            }
+            // Our own in-flight requests have not been counted by GitHub yet
+            int adjusted = remaining - bucket.inFlight;
+            if (!bucket.synced || bucket.awaitingResync || resetAtMs > bucket.resetAtMs) {
+                bucket.remaining = adjusted;
+                bucket.resetAtMs = resetAtMs;
+                bucket.awaitingResync = false;
+            } else if (resetAtMs == bucket.resetAtMs) {
+                bucket.remaining = Math.min(bucket.remaining, adjusted);
+            }
+            if (limit > 0) {
+                bucket.limit = limit;
+            }
+            if (bucket.shared != null) {
+                bucket.shared.publish(limit, adjusted, resetAtMs);
+            }
+            bucket.synced = true;
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    private void markUnlimited(String resource) {
+        Bucket bucket = bucket(resource);
+        bucket.lock.lock();
+        try {
+            if (!bucket.synced) {
+                bucket.synced = true;
+                bucket.awaitingResync = true;
+                bucket.limit = -1;
+                bucket.remaining = Integer.MAX_VALUE;
+                bucket.resetAtMs = Long.MAX_VALUE;
+            }
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    private void release(String resource) {
+        Bucket bucket = bucket(resource);
+        bucket.lock.lock();
+        try {
+            bucket.inFlight = Math.max(bucket.inFlight - 1, 0);
+            bucket.probing = false;
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    private Bucket bucket(String resource) {
+        return buckets.computeIfAbsent(resource, Bucket::new);
+    }
+
+    /**
+     * Budget for one resource. All fields are guarded by {@code lock}.
+     */
+    private final class Bucket {
+
+        final String resource;
+        final SharedRateLimitFile.Slot shared;
+        final ReentrantLock lock = new ReentrantLock();
+
+        boolean synced;
+        boolean probing;
+        boolean awaitingResync; // next sync starts a new window whatever its reset time
+        int limit = -1;
+        int remaining;
+        long resetAtMs;
+        long warnedResetAtMs;
+        int inFlight;
+
+        Bucket(String resource) {
+            this.resource = resource;
+            this.shared = sharedFile != null ? sharedFile.slot(budgetKey, resource) : null;
+        }
+
+        /**
+         * Search allows only 30 requests a minute, so the reserve scales down with
+         * small limits.
+         */
+        int reserve() {
+            return limit > 0 ? Math.min(reserve, limit / 10) : reserve;
+        }
+
+        long tryAcquire() {
+            long now = clock.getAsLong();
+            if (shared != null) {
+                long waitMs = tryAcquireShared(now);
+                if (waitMs >= 0) {
+                    return waitMs;
+                }
+            }
+            if (synced && !awaitingResync && now >= resetAtMs && limit > 0) {
+                logger.info("Rate limit window for {} has reset; refilling to {}", resource, limit);
+                remaining = limit - inFlight;
+                awaitingResync = true;
+            }
+            if (synced && now >= resetAtMs && limit <= 0) {
+                // No limit header to refill from: probe again
+                synced = false;
+            }
+            if (!synced) {
+                if (probing) {
+                    return PROBE_WAIT_MS;
+                }
+                probing = true;
+                inFlight++;
+                return 0;
+            }
+            if (remaining > reserve()) {
+                remaining--;
+                inFlight++;
+                return 0;
+            }
+            return waitForReset(now);
+        }
+
+        /**
+         * Takes a permit from the shared window, adopting it as this bucket's view.
+         *
+         * @return as {@link #tryAcquire()}, or -1 if the file holds no current window
+         */
+        private long tryAcquireShared(long now) {
+            while (true) {
+                SharedRateLimitFile.Window window = shared.current(now);
+                if (window == null) {
+                    return -1;
+                }
+                synced = true;
+                awaitingResync = false;
+                resetAtMs = window.resetAtMs();
+                if (window.limit() > 0) {
+                    limit = window.limit();
+                }
+                int left = shared.tryTake(window.resetAtMs(), reserve());
+                if (left >= 0) {
+                    remaining = left;
+                    inFlight++;
+                    return 0;
+                }
+                SharedRateLimitFile.Window latest = shared.current(now);
+                if (latest != null && latest.resetAtMs() == window.resetAtMs()) {
+                    remaining = latest.remaining();
+                    return waitForReset(now);
+                }
+                // Another process started a new window in between
+            }
+        }
+
+        private long waitForReset(long now) {
+            long waitMs = Math.max(resetAtMs - now + 1_000, PROBE_WAIT_MS);
+            if (warnedResetAtMs != resetAtMs) {
+                warnedResetAtMs = resetAtMs;
+                logger.warn("Rate limit low for {} ({} remaining). Waiting {}s for reset.",
+                        resource, remaining, waitMs / 1000);
+            }
+            return waitMs;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.devpulse.extractor.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Spreads the remaining {@code core} budget evenly until the rate-limit reset when a
+ * run has more outstanding work than budget.
+ *
+ * <p>Without pacing, such a run spends its whole budget at full speed and then
+ * stalls until {@code X-RateLimit-Reset}, up to an hour. The total time is the same
+ * either way, since the budget bounds throughput, but a paced run keeps making
+ * progress and loads data steadily. Callers {@linkplain #expect(long) announce}
+ * the requests they expect to send as work is discovered; each paced request
+ * counts one of them off. While the outstanding requests fit in the budget, nothing
+ * is delayed.</p>
+ *
+ * <p>Only {@code core} requests are paced. GraphQL is budgeted in points per query,
+ * which do not map to a request count.</p>
+ *
+ * <p>Thread-safe.</p>
+ */
+public class RequestPacer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestPacer.class);
+
+    /** GitHub's primary rate-limit window. */
+    static final long WINDOW_MS = 3_600_000;
+
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long outstanding;
+    private long nextSlotMs;
+    private boolean pacing;
+    private int lastAvailable = -1;
+    private long lastResetAtMs;
+    private int lastWindowBudget = -1;
+
+    public RequestPacer() {
+        this(System::currentTimeMillis);
+    }
+
+    // Visible for testing
+    RequestPacer(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Adds {@code requests} to the outstanding work, e.g. one per pull request
+     * once they are listed and their reviews remain to be fetched.
+     */
+    public void expect(long requests) {
+        lock.lock();
+        try {
+            outstanding += requests;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Requests expected but not yet sent.
+     */
+    public long outstanding() {
+        lock.lock();
+        try {
+            return outstanding;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the paced slot of the next {@code core} request sent through
+     * {@code tokenPool}.
+     */
+    void pace(TokenPool tokenPool) throws InterruptedException {
+        long delayMs = reserve(tokenPool);
+        if (delayMs > 0) {
+            Thread.sleep(delayMs);
+        }
+    }
+
+    /**
+     * Reserves the next paced slot against {@code tokenPool}'s budget.
+     *
+     * @return how long to wait before sending
+     */
+    long reserve(TokenPool tokenPool) {
+        return reserve(tokenPool.available(RateLimiter.CORE), tokenPool.resetAtMs(RateLimiter.CORE),
+                tokenPool.windowBudget(RateLimiter.CORE));
+    }
+
+    // Visible for testing
+    long reserve(int available, long resetAtMs, int windowBudget) {
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            outstanding = Math.max(outstanding - 1, 0);
+            lastAvailable = available;
+            lastResetAtMs = resetAtMs;
+            lastWindowBudget = windowBudget;
+
+            // Unknown budget, or at the reserve where the rate limiter waits anyway
+            if (available <= 0 || resetAtMs <= now || outstanding < available) {
+                if (pacing) {
+                    pacing = false;
+                    logger.info("Outstanding requests fit in the rate-limit budget; pacing off");
+                }
+                nextSlotMs = now;
+                return 0;
+            }
+            long intervalMs = (resetAtMs - now) / available;
+            if (!pacing) {
+                pacing = true;
+                nextSlotMs = now;
+                logger.info("{} requests outstanding for {} left in the rate-limit window; "
+                        + "pacing one every {}ms. Projected finish: {}",
+                        outstanding, available, intervalMs, projectedFinish(now));
+            }
+            long slotMs = Math.max(nextSlotMs, now);
+            nextSlotMs = slotMs + intervalMs;
+            return slotMs - now;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * When the outstanding requests can be sent without exceeding the rate limit,
+     * judged from the budget seen by the last paced request. That is now if they fit
+     * in the current window, and otherwise after enough full windows to cover the
+     * rest.
+     *
+     * @return the projected finish, or null if no budget has been seen yet
+     */
+    public Instant projectedFinish() {
+        lock.lock();
+        try {
+            return projectedFinish(clock.getAsLong());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Instant projectedFinish(long now) {
+        if (outstanding == 0) {
+            return Instant.ofEpochMilli(now);
+        }
+        if (lastAvailable < 0 || lastWindowBudget <= 0) {
+            return null;
+        }
+        if (outstanding <= lastAvailable) {
+            return Instant.ofEpochMilli(now);
+        }
+        double windows = (double) (outstanding - lastAvailable) / lastWindowBudget;
+        return Instant.ofEpochMilli(Math.max(lastResetAtMs, now) + (long) (windows * WINDOW_MS));
+    }
+}
@@ -0,0 +1,104 @@
+package com.devpulse.extractor.client;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps retries at a share of all requests sent, across every endpoint and thread.
+ *
+ * <p>Each request sent deposits {@link #DEFAULT_RATIO} of a retry, and each retry
+ * withdraws one. The budget starts with {@value #DEFAULT_MIN_RETRIES} retries, so a
+ * short run can still ride out a few failures, while a run in which GitHub fails
+ * most requests stops multiplying its load by {@link GitHubApiClient#MAX_RETRIES}
+ * and fails instead.</p>
+ *
+ * <p>Thread-safe.</p>
+ */
+public class RetryBudget {
+
+    static final double DEFAULT_RATIO = 0.1;
+    static final int DEFAULT_MIN_RETRIES = 20;
+    /** Upper bound on banked retries, so a long healthy run cannot fund a retry storm. */
+    static final int MAX_BALANCE = 100;
+    /** Balances are kept in thousandths of a retry, so earned fractions add up exactly. */
+    private static final long UNIT = 1_000;
+
+    private final long earnedPerRequest;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long balance;
+    private long retries;
+    private long denied;
+
+    public RetryBudget() {
+        this(DEFAULT_RATIO, DEFAULT_MIN_RETRIES);
+    }
+
+    /**
+     * @param ratio      retries earned per request sent, e.g. 0.1 for at most 10%
+     * @param minRetries retries available before any request has been sent
+     */
+    public RetryBudget(double ratio, int minRetries) {
+        if (ratio <= 0 || ratio > 1) {
+            throw new IllegalArgumentException("Retry budget ratio must be in (0, 1]: " + ratio);
+        }
+        if (minRetries < 0) {
+            throw new IllegalArgumentException("Minimum retries must not be negative: " + minRetries);
+        }
+        this.earnedPerRequest = Math.max(Math.round(ratio * UNIT), 1);
+        this.balance = minRetries * UNIT;
+    }
+
+    /**
+     * Earns the budget its share of a retry for a request sent.
+     */
+    void onRequest() {
+        lock.lock();
+        try {
+            balance = Math.min(balance + earnedPerRequest, Math.max(MAX_BALANCE * UNIT, balance));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Spends one retry from the budget if it has one.
+     */
+    boolean tryRetry() {
+        lock.lock();
+        try {
+            if (balance < UNIT) {
+                denied++;
+                return false;
+            }
+            balance -= UNIT;
+            retries++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retries spent so far.
+     */
+    public long retryCount() {
+        lock.lock();
+        try {
+            return retries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retries refused because the budget was empty.
+     */
+    public long deniedCount() {
+        lock.lock();
+        try {
+            return denied;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
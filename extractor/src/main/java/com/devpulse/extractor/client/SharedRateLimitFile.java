@@ -0,0 +1,215 @@
+package com.devpulse.extractor.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Rate-limit budgets shared by every extractor process on a host through a
+ * memory-mapped file.
+ *
+ * <p>Each slot holds the remaining requests and reset time of one budget: a token
+ * (or App installation) and a resource. Both values are packed into one 64-bit word
+ * and only changed with compare-and-set, so processes never need a lock or a
+ * coordinating service. A process publishes what GitHub reported in each response,
+ * and takes one request from the slot before sending. Within a window the count
+ * only goes down, so the lowest value any process has seen wins.</p>
+ *
+ * <p>Slots are keyed by a SHA-256 hash of the budget key; tokens are never written
+ * to the file. A window that has passed its reset time is ignored, and the next
+ * response starts a new one.</p>
+ *
+ * <p>File layout (native byte order): a {@value #HEADER_SIZE}-byte header holding
+ * {@link #MAGIC} and the slot count, then {@value #SLOT_COUNT} slots of
+ * {@value #SLOT_SIZE} bytes: {@code key}, {@code resetEpochSeconds << 32 | remaining},
+ * {@code limit}, and a reserved word.</p>
+ */
+public final class SharedRateLimitFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedRateLimitFile.class);
+
+    static final long MAGIC = 0x4450_5241_5445_3031L; // "DPRATE01"
+    static final int HEADER_SIZE = 64;
+    static final int SLOT_SIZE = 32;
+    static final int SLOT_COUNT = 256;
+    private static final long FILE_SIZE = HEADER_SIZE + (long) SLOT_COUNT * SLOT_SIZE;
+
+    private static final int KEY_OFFSET = 0;
+    private static final int STATE_OFFSET = 8;
+    private static final int LIMIT_OFFSET = 16;
+
+    private static final VarHandle LONG =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+
+    private SharedRateLimitFile(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps {@code path}, creating it if no process has yet.
+     *
+     * @throws IOException if the file exists but is not a rate-limit state file
+     */
+    public static SharedRateLimitFile open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        // The mapping outlives the channel
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Never grow someone else's file into a state file
+            long size = channel.size();
+            if (size != 0 && size != FILE_SIZE) {
+                throw new IOException("Not a rate-limit state file: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+        }
+        long magic = (long) LONG.compareAndExchange(buffer, 0, 0L, MAGIC);
+        if (magic != 0 && magic != MAGIC) {
+            throw new IOException("Not a rate-limit state file: " + path);
+        }
+        LONG.setVolatile(buffer, 8, (long) SLOT_COUNT);
+        logger.info("Sharing GitHub rate-limit budgets through {}", path);
+        return new SharedRateLimitFile(path, buffer);
+    }
+
+    /**
+     * The slot for {@code resource} of the budget identified by {@code budgetKey},
+     * claiming a free one if this budget has none yet.
+     *
+     * @return the slot, or null if every slot belongs to another budget
+     */
+    Slot slot(String budgetKey, String resource) {
+        long key = hash(budgetKey + "\n" + resource);
+        int start = (int) Long.remainderUnsigned(key, SLOT_COUNT);
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            int offset = HEADER_SIZE + ((start + i) % SLOT_COUNT) * SLOT_SIZE;
+            long owner = (long) LONG.getVolatile(buffer, offset + KEY_OFFSET);
+            if (owner == 0) {
+                owner = (long) LONG.compareAndExchange(buffer, offset + KEY_OFFSET, 0L, key);
+                if (owner == 0) {
+                    return new Slot(offset);
+                }
+            }
+            if (owner == key) {
+                return new Slot(offset);
+            }
+        }
+        logger.warn("No free slot in {} for {}; its budget is tracked by this process only", path, resource);
+        return null;
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            long key = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                key = (key << 8) | (digest[i] & 0xff);
+            }
+            // Zero marks a free slot
+            return key != 0 ? key : 1;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static long pack(long resetEpochSeconds, int remaining) {
+        return resetEpochSeconds << 32 | (Math.max(remaining, 0) & 0xffff_ffffL);
+    }
+
+    private static long resetEpochSeconds(long state) {
+        return state >>> 32;
+    }
+
+    private static int remaining(long state) {
+        return (int) state;
+    }
+
+    /**
+     * One rate-limit window as recorded in a slot.
+     */
+    record Window(int limit, int remaining, long resetAtMs) {}
+
+    /**
+     * One budget's slot. All reads and writes go straight to the mapped file.
+     */
+    final class Slot {
+
+        private final int offset;
+
+        private Slot(int offset) {
+            this.offset = offset;
+        }
+
+        /**
+         * The window recorded for this budget, or null if there is none or it has
+         * reset by {@code nowMs}.
+         */
+        Window current(long nowMs) {
+            long state = (long) LONG.getVolatile(buffer, offset + STATE_OFFSET);
+            long resetAtMs = resetEpochSeconds(state) * 1_000;
+            if (state == 0 || resetAtMs <= nowMs) {
+                return null;
+            }
+            int limit = (int) (long) LONG.getVolatile(buffer, offset + LIMIT_OFFSET);
+            return new Window(limit, remaining(state), resetAtMs);
+        }
+
+        /**
+         * Takes one request from the window that resets at {@code resetAtMs}, if more
+         * than {@code reserve} are left in it.
+         *
+         * @return the requests left after the take, or -1 if only the reserve is left
+         *         or another window has been recorded since
+         */
+        int tryTake(long resetAtMs, int reserve) {
+            long resetEpochSeconds = resetAtMs / 1_000;
+            while (true) {
+                long state = (long) LONG.getVolatile(buffer, offset + STATE_OFFSET);
+                int remaining = remaining(state);
+                if (resetEpochSeconds(state) != resetEpochSeconds || remaining <= reserve) {
+                    return -1;
+                }
+                if (LONG.compareAndSet(buffer, offset + STATE_OFFSET, state, pack(resetEpochSeconds, remaining - 1))) {
+                    return remaining - 1;
+                }
+            }
+        }
+
+        /**
+         * Records what GitHub reported. A later window replaces the recorded one; for
+         * the same window, the lower count is kept.
+         */
+        void publish(int limit, int remaining, long resetAtMs) {
+            long resetEpochSeconds = resetAtMs / 1_000;
+            long next = pack(resetEpochSeconds, remaining);
+            if (limit > 0) {
+                LONG.setVolatile(buffer, offset + LIMIT_OFFSET, (long) limit);
+            }
+            while (true) {
+                long state = (long) LONG.getVolatile(buffer, offset + STATE_OFFSET);
+                boolean newer = state == 0 || resetEpochSeconds > resetEpochSeconds(state);
+                boolean lower = resetEpochSeconds == resetEpochSeconds(state) && Math.max(remaining, 0) < remaining(state);
+                if (!newer && !lower) {
+                    return;
+                }
+                if (LONG.compareAndSet(buffer, offset + STATE_OFFSET, state, next)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.devpulse.extractor.client;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces concurrent calls with the same key into one: the first caller runs the
+ * call, and callers arriving while it is in flight wait for and share its result or
+ * failure. Nothing is remembered once the call completes, so a later caller runs
+ * it again.
+ *
+ * <p>Thread-safe. Callers must treat a shared result as read-only.</p>
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Runs {@code call} for {@code key}, or joins the call already in flight for it.
+     */
+    V run(K key, Call<V> call) throws IOException, InterruptedException {
+        while (true) {
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            CompletableFuture<V> leader = inFlight.putIfAbsent(key, mine);
+            if (leader == null) {
+                return lead(key, mine, call);
+            }
+            coalesced.incrementAndGet();
+            try {
+                return leader.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof InterruptedException) {
+                    // The leader was cancelled, not the call: try again ourselves
+                    continue;
+                }
+                if (cause instanceof IOException io) {
+                    throw io;
+                }
+                if (cause instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> mine, Call<V> call) throws IOException, InterruptedException {
+        try {
+            V value = call.call();
+            mine.complete(value);
+            return value;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Calls that joined another caller's call instead of running their own.
+     */
+    long coalescedCount() {
+        return coalesced.get();
+    }
+
+    @FunctionalInterface
+    interface Call<V> {
+        V call() throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,375 @@
+package com.devpulse.extractor.client;
+
+import okhttp3.HttpUrl;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Pool of GitHub credentials whose rate-limit budgets are combined for one run:
+ * personal access tokens, or GitHub App installations.
+ *
+ * <p>Each credential has its own {@link RateLimiter}, synced from the headers of the
+ * responses to requests sent with it. A request is routed to the credential with the
+ * most remaining budget for its resource; credentials that have not been used yet are
+ * tried first so their budgets become known. Installation credentials only see their
+ * own account's repositories, so {@code /repos/{owner}/...} requests go to an
+ * installation on {@code owner} when there is one.</p>
+ *
+ * <p>A credential that GitHub rejects with 401 is refreshed if it can mint a new token,
+ * otherwise parked for one rate-limit window. Exhausted credentials are skipped until
+ * their reset time. When none can be used, callers wait for the earliest one, or until
+ * a response or failure returns a permit.</p>
+ *
+ * <p>Given a {@link SharedRateLimitFile}, each credential's budget is shared with the
+ * other processes on the host using the same token or installation.</p>
+ *
+ * <p>Thread-safe. Waiting uses a {@link ReentrantLock}, so virtual threads unmount
+ * while parked.</p>
+ */
+public class TokenPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenPool.class);
+
+    /** How long a rejected token is left out before it is tried again. */
+    static final long REVOKED_PARK_MS = 3_600_000;
+
+    private final List<Credential> credentials;
+    private final boolean installations;
+    private final LongSupplier clock;
+    // Shared with the pools from only(), which hand out the same credentials
+    private final ReentrantLock lock;
+    private final Condition released;
+
+    public TokenPool(List<String> tokens) {
+        this(tokens, System::currentTimeMillis);
+    }
+
+    /**
+     * Pool of {@code tokens} whose budgets are shared through {@code sharedFile},
+     * or tracked by this process only if it is null.
+     */
+    public TokenPool(List<String> tokens, SharedRateLimitFile sharedFile) {
+        this(staticCredentials(tokens, System::currentTimeMillis, sharedFile), false, System::currentTimeMillis);
+    }
+
+    // Visible for testing
+    TokenPool(List<String> tokens, LongSupplier clock) {
+        this(staticCredentials(tokens, clock, null), false, clock);
+    }
+
+    private TokenPool(List<Credential> credentials, boolean installations, LongSupplier clock) {
+        this(credentials, installations, clock, new ReentrantLock());
+    }
+
+    private TokenPool(List<Credential> credentials, boolean installations, LongSupplier clock,
+                      ReentrantLock lock) {
+        if (credentials.isEmpty()) {
+            throw new IllegalArgumentException("At least one token is required");
+        }
+        this.credentials = List.copyOf(credentials);
+        this.installations = installations;
+        this.clock = clock;
+        this.lock = lock;
+        this.released = lock.newCondition();
+    }
+
+    public static TokenPool of(String token) {
+        return new TokenPool(List.of(token));
+    }
+
+    /**
+     * Pool of installation tokens minted by {@code app}, one credential per
+     * installation. Looks up each installation's account so requests can be
+     * routed to the installation that can see the repository.
+     */
+    public static TokenPool forInstallations(GitHubAppAuth app, List<Long> installationIds) throws IOException {
+        return forInstallations(app, installationIds, null);
+    }
+
+    /**
+     * Installation pool whose budgets are shared through {@code sharedFile}, keyed by
+     * installation since the tokens themselves rotate.
+     *
+     * @see #forInstallations(GitHubAppAuth, List)
+     */
+    public static TokenPool forInstallations(GitHubAppAuth app, List<Long> installationIds,
+                                             SharedRateLimitFile sharedFile) throws IOException {
+        List<Credential> list = new ArrayList<>();
+        for (long installationId : installationIds) {
+            String account = app.installationAccount(installationId);
+            logger.info("GitHub App installation {} is on {}", installationId, account);
+            list.add(new Credential("installation " + installationId, account, new TokenProvider() {
+                @Override
+                public String token() throws IOException {
+                    return app.installationToken(installationId);
+                }
+
+                @Override
+                public boolean invalidate() {
+                    return app.invalidate(installationId);
+                }
+            }, new RateLimiter(RateLimiter.DEFAULT_RESERVE, System::currentTimeMillis,
+                    sharedFile, "installation:" + installationId)));
+        }
+        return new TokenPool(list, true, System::currentTimeMillis);
+    }
+
+    private static List<Credential> staticCredentials(List<String> tokens, LongSupplier clock,
+                                                      SharedRateLimitFile sharedFile) {
+        List<Credential> list = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            list.add(new Credential("token #" + (i + 1), null, () -> token,
+                    new RateLimiter(RateLimiter.DEFAULT_RESERVE, clock, sharedFile, token)));
+        }
+        return list;
+    }
+
+    public int size() {
+        return credentials.size();
+    }
+
+    /**
+     * Whether the credentials are App installations, each limited to the
+     * repositories it was granted.
+     */
+    public boolean isInstallations() {
+        return installations;
+    }
+
+    List<Credential> credentials() {
+        return credentials;
+    }
+
+    /**
+     * A pool that always sends with {@code credential}, sharing its budget with this pool.
+     */
+    TokenPool only(Credential credential) {
+        return new TokenPool(List.of(credential), installations, clock, lock);
+    }
+
+    /**
+     * Repository owner a request to {@code url} is about, or null for requests
+     * that are not scoped to a repository.
+     */
+    static String ownerFor(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        int repos = segments.indexOf("repos");
+        return repos >= 0 && repos + 2 < segments.size() ? segments.get(repos + 1) : null;
+    }
+
+    /**
+     * Blocks until some credential may send a request against {@code resource}, and
+     * returns it with a permit taken from its limiter.
+     *
+     * @param owner repository owner of the request, or null
+     */
+    public Credential acquire(String resource, String owner) throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                Acquisition acquisition = tryAcquire(resource, owner);
+                if (acquisition.credential() != null) {
+                    return acquisition.credential();
+                }
+                released.await(acquisition.waitMs(), TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a permit from the usable credential with the most remaining budget.
+     *
+     * @param owner repository owner of the request, or null
+     * @return the credential, or a null credential and how long to wait before
+     *         trying again
+     */
+    Acquisition tryAcquire(String resource, String owner) {
+        long now = clock.getAsLong();
+        long waitMs = Long.MAX_VALUE;
+        for (Credential credential : candidates(resource, owner)) {
+            long parkedMs = credential.parkedUntilMs - now;
+            if (parkedMs > 0) {
+                waitMs = Math.min(waitMs, parkedMs);
+                continue;
+            }
+            long permitWaitMs = credential.limiter.tryAcquire(resource);
+            if (permitWaitMs == 0) {
+                return new Acquisition(credential, 0);
+            }
+            waitMs = Math.min(waitMs, permitWaitMs);
+        }
+        return new Acquisition(null, waitMs);
+    }
+
+    /**
+     * Returns the permit taken for {@code credential} and records the response's
+     * rate-limit headers against it. A 401 refreshes or parks the credential.
+     */
+    public void onResponse(Credential credential, String resource, Response response) {
+        credential.limiter.onResponse(resource, response);
+        signalReleased();
+        if (response.code() != 401) {
+            return;
+        }
+        if (credential.provider.invalidate()) {
+            logger.warn("GitHub rejected {} (401). Minting a new token.", credential);
+            return;
+        }
+        credential.parkedUntilMs = clock.getAsLong() + REVOKED_PARK_MS;
+        logger.warn("GitHub rejected {} (401). Parking it for {} minutes ({} of {} credentials usable).",
+                credential, REVOKED_PARK_MS / 60_000, usableCount(), credentials.size());
+    }
+
+    /**
+     * Returns the permit taken for {@code credential} when the request got no response.
+     */
+    public void onFailure(Credential credential, String resource) {
+        credential.limiter.onFailure(resource);
+        signalReleased();
+    }
+
+    /**
+     * Wakes the callers blocked in {@link #acquire}: the permit returned, or the budget
+     * just synced, may let one of them through.
+     */
+    private void signalReleased() {
+        lock.lock();
+        try {
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether a request rejected with 401 can be retried: some credential that may
+     * serve {@code owner}, possibly the refreshed one that was rejected, is not parked.
+     */
+    boolean hasUsable(String owner) {
+        long now = clock.getAsLong();
+        return scope(owner).stream().anyMatch(c -> c.parkedUntilMs <= now);
+    }
+
+    /**
+     * Requests left across all credentials for {@code resource} before they pause,
+     * not counting credentials that have not been synced yet.
+     */
+    public int available(String resource) {
+        return credentials.stream()
+                .mapToInt(c -> Math.max(c.limiter.available(resource), 0))
+                .sum();
+    }
+
+    /**
+     * The latest reset among the credentials' current windows for {@code resource},
+     * or -1 if none is known.
+     */
+    public long resetAtMs(String resource) {
+        return credentials.stream()
+                .mapToLong(c -> c.limiter.resetAtMs(resource))
+                .max()
+                .orElse(-1);
+    }
+
+    /**
+     * Requests a full window for {@code resource} allows across all credentials,
+     * or -1 if no credential's limit is known.
+     */
+    public int windowBudget(String resource) {
+        int sum = credentials.stream()
+                .mapToInt(c -> Math.max(c.limiter.windowBudget(resource), 0))
+                .sum();
+        return sum > 0 ? sum : -1;
+    }
+
+    private List<Credential> scope(String owner) {
+        List<Credential> scoped = owner == null ? List.of() : credentials.stream()
+                .filter(c -> owner.equalsIgnoreCase(c.account))
+                .toList();
+        return scoped.isEmpty() ? credentials : scoped;
+    }
+
+    private List<Credential> candidates(String resource, String owner) {
+        // Unsynced credentials report -1; try them first so their budget becomes known
+        return scope(owner).stream()
+                .sorted(Comparator.comparingInt((Credential c) -> {
+                    int available = c.limiter.available(resource);
+                    return available < 0 ? Integer.MAX_VALUE : available;
+                }).reversed())
+                .toList();
+    }
+
+    private long usableCount() {
+        long now = clock.getAsLong();
+        return credentials.stream().filter(c -> c.parkedUntilMs <= now).count();
+    }
+
+    /**
+     * Result of {@link #tryAcquire(String, String)}.
+     */
+    record Acquisition(Credential credential, long waitMs) {}
+
+    /**
+     * Supplies the token a credential currently sends.
+     */
+    @FunctionalInterface
+    interface TokenProvider {
+
+        String token() throws IOException;
+
+        /**
+         * Drops a token GitHub rejected.
+         *
+         * @return true if {@link #token()} will return a different token
+         */
+        default boolean invalidate() {
+            return false;
+        }
+    }
+
+    /**
+     * One token source and its rate-limit budget. {@link #toString()} never reveals
+     * the token.
+     */
+    public static final class Credential {
+
+        private final String label;
+        private final String account;
+        private final TokenProvider provider;
+        private final RateLimiter limiter;
+        private volatile long parkedUntilMs;
+
+        private Credential(String label, String account, TokenProvider provider, RateLimiter limiter) {
+            this.label = label;
+            this.account = account;
+            this.provider = provider;
+            this.limiter = limiter;
+        }
+
+        String token() throws IOException {
+            return provider.token();
+        }
+
+        RateLimiter limiter() {
+            return limiter;
+        }
+
+        @Override
+        public String toString() {
+            return account != null ? label + " (" + account + ")" : label;
+        }
+    }
+}
@@ -4,29 +4,87 @@ import io.github.cdimascio.dotenv.Dotenv;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Configuration management class that reads environment variables
  * and .env file settings using dotenv-java. Validates required
  * variables on startup.
  */
-public class AppConfig {
+public final class AppConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(AppConfig.class);
 
+    static final int DEFAULT_MAX_CONCURRENT_REPOS = 8;
+    static final int DEFAULT_MAX_CONCURRENT_REVIEW_REQUESTS = 32;
+
     private final String githubToken;
+    private final List<String> githubTokens;
+    private final String githubAppId;
+    private final String githubAppPrivateKeyPath;
+    private final List<Long> githubAppInstallationIds;
     private final String gcpProjectId;
     private final String githubUsername;
     private final String googleApplicationCredentials;
+    private final String githubCacheDir;
+    private final String githubCommitStoreDir;
+    private final Map<String, Integer> githubPageConcurrency;
+    private final boolean githubPrefetchPages;
+    private final boolean githubGraphQL;
+    private final int githubMaxConcurrency;
+    private final String githubRateLimitFile;
+    private final boolean githubPacing;
+    private final boolean githubHedging;
+    private final boolean githubCircuitBreakers;
+    private final boolean extractionVirtualThreads;
+    private final int extractionMaxConcurrentRepos;
+    private final int extractionMaxConcurrentReviewRequests;
+    private final boolean extractionPlanBudget;
+    private final int extractionCommitStatsConcurrency;
+    private final boolean extractionStats;
+    private final boolean extractionPunchCard;
 
     public AppConfig() {
         Dotenv dotenv = Dotenv.configure()
                 .ignoreIfMissing()
                 .load();
 
-        this.githubToken = resolve(dotenv, "GITHUB_TOKEN");
+        this.githubTokens = parseTokens(resolveOptional(dotenv, "GITHUB_TOKENS"), resolve(dotenv, "GITHUB_TOKEN"));
+        this.githubToken = githubTokens.isEmpty() ? "" : githubTokens.get(0);
+        this.githubAppId = resolveOptional(dotenv, "GITHUB_APP_ID");
+        this.githubAppPrivateKeyPath = resolveOptional(dotenv, "GITHUB_APP_PRIVATE_KEY_PATH");
+        this.githubAppInstallationIds = parseInstallationIds(resolveOptional(dotenv, "GITHUB_APP_INSTALLATION_IDS"));
         this.gcpProjectId = resolve(dotenv, "GCP_PROJECT_ID");
         this.githubUsername = resolve(dotenv, "GITHUB_USERNAME");
         this.googleApplicationCredentials = resolveOptional(dotenv, "GOOGLE_APPLICATION_CREDENTIALS");
+        this.githubCacheDir = resolveOptional(dotenv, "GITHUB_CACHE_DIR");
+        this.githubCommitStoreDir = resolveOptional(dotenv, "GITHUB_COMMIT_STORE_DIR");
+        this.githubPageConcurrency = parseConcurrency(resolveOptional(dotenv, "GITHUB_PAGE_CONCURRENCY"));
+        this.githubPrefetchPages = Boolean.parseBoolean(resolveOptional(dotenv, "GITHUB_PREFETCH_PAGES"));
+        this.githubGraphQL = Boolean.parseBoolean(resolveOptional(dotenv, "GITHUB_GRAPHQL"));
+        this.githubMaxConcurrency = parsePositiveInt("GITHUB_MAX_CONCURRENCY",
+                resolveOptional(dotenv, "GITHUB_MAX_CONCURRENCY"), 0);
+        this.githubRateLimitFile = resolveOptional(dotenv, "GITHUB_RATE_LIMIT_FILE");
+        this.githubPacing = Boolean.parseBoolean(resolveOptional(dotenv, "GITHUB_PACING"));
+        this.githubHedging = Boolean.parseBoolean(resolveOptional(dotenv, "GITHUB_HEDGING"));
+        this.githubCircuitBreakers = Boolean.parseBoolean(resolveOptional(dotenv, "GITHUB_CIRCUIT_BREAKERS"));
+        this.extractionVirtualThreads = Boolean.parseBoolean(
+                resolveOptional(dotenv, "EXTRACTION_VIRTUAL_THREADS"));
+        this.extractionMaxConcurrentRepos = parsePositiveInt("EXTRACTION_MAX_CONCURRENT_REPOS",
+                resolveOptional(dotenv, "EXTRACTION_MAX_CONCURRENT_REPOS"), DEFAULT_MAX_CONCURRENT_REPOS);
+        this.extractionMaxConcurrentReviewRequests = parsePositiveInt("EXTRACTION_MAX_CONCURRENT_REVIEW_REQUESTS",
+                resolveOptional(dotenv, "EXTRACTION_MAX_CONCURRENT_REVIEW_REQUESTS"),
+                DEFAULT_MAX_CONCURRENT_REVIEW_REQUESTS);
+        this.extractionPlanBudget = Boolean.parseBoolean(resolveOptional(dotenv, "EXTRACTION_PLAN_BUDGET"));
+        this.extractionCommitStatsConcurrency = parsePositiveInt("EXTRACTION_COMMIT_STATS_CONCURRENCY",
+                resolveOptional(dotenv, "EXTRACTION_COMMIT_STATS_CONCURRENCY"), 0);
+        this.extractionStats = Boolean.parseBoolean(resolveOptional(dotenv, "EXTRACTION_STATS"));
+        this.extractionPunchCard = Boolean.parseBoolean(resolveOptional(dotenv, "EXTRACTION_PUNCH_CARD"));
 
         validate();
 
@@ -38,16 +96,42 @@ public class AppConfig {
      */
     public AppConfig(String githubToken, String gcpProjectId, String githubUsername) {
         this.githubToken = githubToken;
+        this.githubTokens = parseTokens(null, githubToken);
+        this.githubAppId = null;
+        this.githubAppPrivateKeyPath = null;
+        this.githubAppInstallationIds = List.of();
         this.gcpProjectId = gcpProjectId;
         this.githubUsername = githubUsername;
         this.googleApplicationCredentials = null;
+        this.githubCacheDir = null;
+        this.githubCommitStoreDir = null;
+        this.githubPageConcurrency = Map.of();
+        this.githubPrefetchPages = false;
+        this.githubGraphQL = false;
+        this.githubMaxConcurrency = 0;
+        this.githubRateLimitFile = null;
+        this.githubPacing = false;
+        this.githubHedging = false;
+        this.githubCircuitBreakers = false;
+        this.extractionVirtualThreads = false;
+        this.extractionMaxConcurrentRepos = DEFAULT_MAX_CONCURRENT_REPOS;
+        this.extractionMaxConcurrentReviewRequests = DEFAULT_MAX_CONCURRENT_REVIEW_REQUESTS;
+        this.extractionPlanBudget = false;
+        this.extractionCommitStatsConcurrency = 0;
+        this.extractionStats = false;
+        this.extractionPunchCard = false;
 
         validate();
     }
 
     private void validate() {
         StringBuilder missing = new StringBuilder();
-        if (isBlank(githubToken)) missing.append("GITHUB_TOKEN ");
+        if (isGithubApp()) {
+            if (isBlank(githubAppPrivateKeyPath)) missing.append("GITHUB_APP_PRIVATE_KEY_PATH ");
+            if (githubAppInstallationIds.isEmpty()) missing.append("GITHUB_APP_INSTALLATION_IDS ");
+        } else if (isBlank(githubToken)) {
+            missing.append("GITHUB_TOKEN (or GITHUB_TOKENS) ");
+        }
         if (isBlank(gcpProjectId)) missing.append("GCP_PROJECT_ID ");
         if (isBlank(githubUsername)) missing.append("GITHUB_USERNAME ");
 
@@ -74,6 +158,84 @@ public class AppConfig {
         return dotenv.get(key);
     }
 
+    /**
+     * Parses {@code endpoint:limit} pairs, e.g. {@code commits:8,pull_requests:4}.
+     */
+    static Map<String, Integer> parseConcurrency(String value) {
+        if (isBlank(value)) {
+            return Map.of();
+        }
+        Map<String, Integer> limits = new LinkedHashMap<>();
+        for (String pair : value.split(",")) {
+            String[] parts = pair.trim().split(":");
+            try {
+                if (parts.length != 2 || Integer.parseInt(parts[1].trim()) < 1) {
+                    throw new NumberFormatException();
+                }
+                limits.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException(
+                        "Invalid GITHUB_PAGE_CONCURRENCY entry (expected endpoint:limit): " + pair);
+            }
+        }
+        return Collections.unmodifiableMap(limits);
+    }
+
+    /**
+     * Combines the comma-separated {@code GITHUB_TOKENS} pool with {@code GITHUB_TOKEN},
+     * dropping blanks and duplicates. {@code GITHUB_TOKEN} is used first.
+     */
+    static List<String> parseTokens(String tokens, String token) {
+        Set<String> result = new LinkedHashSet<>();
+        if (!isBlank(token)) {
+            result.add(token.trim());
+        }
+        if (!isBlank(tokens)) {
+            for (String value : tokens.split(",")) {
+                if (!value.isBlank()) {
+                    result.add(value.trim());
+                }
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Parses a comma-separated list of GitHub App installation IDs.
+     */
+    static List<Long> parseInstallationIds(String value) {
+        if (isBlank(value)) {
+            return List.of();
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String id : value.split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            try {
+                ids.add(Long.parseLong(id.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Invalid GITHUB_APP_INSTALLATION_IDS entry: " + id);
+            }
+        }
+        return List.copyOf(ids);
+    }
+
+    static int parsePositiveInt(String key, String value, int defaultValue) {
+        if (isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed >= 1) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new IllegalStateException("Invalid " + key + " (expected a positive integer): " + value);
+    }
+
     private static boolean isBlank(String value) {
         return value == null || value.isBlank();
     }
@@ -82,6 +244,40 @@ public class AppConfig {
         return githubToken;
     }
 
+    /**
+     * All configured GitHub tokens, starting with {@link #getGithubToken()}.
+     * Requests are spread across them by remaining rate-limit budget.
+     */
+    public List<String> getGithubTokens() {
+        return githubTokens;
+    }
+
+    /**
+     * Whether requests authenticate as GitHub App installations rather than with
+     * personal access tokens.
+     */
+    public boolean isGithubApp() {
+        return !isBlank(githubAppId);
+    }
+
+    public String getGithubAppId() {
+        return githubAppId;
+    }
+
+    /**
+     * PEM file holding the GitHub App's private key (PKCS#1 as downloaded, or PKCS#8).
+     */
+    public String getGithubAppPrivateKeyPath() {
+        return githubAppPrivateKeyPath;
+    }
+
+    /**
+     * Installations whose tokens are pooled for the run, one per user or organization.
+     */
+    public List<Long> getGithubAppInstallationIds() {
+        return githubAppInstallationIds;
+    }
+
     public String getGcpProjectId() {
         return gcpProjectId;
     }
@@ -93,4 +289,136 @@ public class AppConfig {
     public String getGoogleApplicationCredentials() {
         return googleApplicationCredentials;
     }
+
+    /**
+     * Directory for the persistent GitHub conditional request cache,
+     * or null if conditional requests are disabled.
+     */
+    public String getGithubCacheDir() {
+        return githubCacheDir;
+    }
+
+    /**
+     * Directory of the store of commit details keyed by SHA, or null if every
+     * commit's details are fetched from GitHub.
+     */
+    public String getGithubCommitStoreDir() {
+        return githubCommitStoreDir;
+    }
+
+    /**
+     * Per-endpoint page fan-out limits keyed by endpoint name (e.g. {@code commits}).
+     * Empty when pages are fetched sequentially.
+     */
+    public Map<String, Integer> getGithubPageConcurrency() {
+        return githubPageConcurrency;
+    }
+
+    /**
+     * Whether paginated GitHub reads fetch the next page while the current one is processed.
+     */
+    public boolean isGithubPrefetchPages() {
+        return githubPrefetchPages;
+    }
+
+    /**
+     * Whether pull requests with their reviews, and repository languages in batches,
+     * are extracted through the GraphQL API.
+     */
+    public boolean isGithubGraphQL() {
+        return githubGraphQL;
+    }
+
+    /**
+     * Upper bound for the adaptive limit on GitHub requests in flight, or 0 if
+     * requests are not limited adaptively.
+     */
+    public int getGithubMaxConcurrency() {
+        return githubMaxConcurrency;
+    }
+
+    /**
+     * File through which extractor processes on this host share rate-limit budgets,
+     * or null if each process tracks its own.
+     */
+    public String getGithubRateLimitFile() {
+        return githubRateLimitFile;
+    }
+
+    /**
+     * Whether requests are spread evenly until the rate-limit reset when the run has
+     * more work than budget, instead of stalling once the budget is spent.
+     */
+    public boolean isGithubPacing() {
+        return githubPacing;
+    }
+
+    /**
+     * Whether a GET still unanswered at its endpoint's p95 latency is sent again,
+     * within a small share of the rate limit.
+     */
+    public boolean isGithubHedging() {
+        return githubHedging;
+    }
+
+    /**
+     * Whether each endpoint family gets a circuit breaker and retries are drawn
+     * from a budget shared by all requests.
+     */
+    public boolean isGithubCircuitBreakers() {
+        return githubCircuitBreakers;
+    }
+
+    /**
+     * Whether repositories and per-PR review fetches run on virtual threads.
+     */
+    public boolean isExtractionVirtualThreads() {
+        return extractionVirtualThreads;
+    }
+
+    /**
+     * Maximum repositories extracted at once in virtual-thread mode.
+     */
+    public int getExtractionMaxConcurrentRepos() {
+        return extractionMaxConcurrentRepos;
+    }
+
+    /**
+     * Maximum review fetches in flight across all repositories in virtual-thread mode.
+     */
+    public int getExtractionMaxConcurrentReviewRequests() {
+        return extractionMaxConcurrentReviewRequests;
+    }
+
+    /**
+     * Whether each run is planned against the remaining rate-limit budget, deferring
+     * the repositories that do not fit to the next run.
+     */
+    public boolean isExtractionPlanBudget() {
+        return extractionPlanBudget;
+    }
+
+    /**
+     * Commit detail fetches in flight at once when commits are enriched with their
+     * stats, or 0 if commits are loaded without stats.
+     */
+    public int getExtractionCommitStatsConcurrency() {
+        return extractionCommitStatsConcurrency;
+    }
+
+    /**
+     * Whether weekly contributor and code frequency statistics are loaded from
+     * GitHub's precomputed {@code /stats} endpoints.
+     */
+    public boolean isExtractionStats() {
+        return extractionStats;
+    }
+
+    /**
+     * Whether each repository's commit punch card (commits per day of week and hour)
+     * is loaded daily from GitHub's {@code /stats/punch_card} endpoint.
+     */
+    public boolean isExtractionPunchCard() {
+        return extractionPunchCard;
+    }
 }
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.*;
 
 /**
@@ -88,6 +89,12 @@ public class BigQueryLoader {
                 BigQuerySchemas.rawRepositoriesDefinition());
         createTableIfNotExists(RAW_DATASET, BigQuerySchemas.TABLE_RAW_LANGUAGES,
                 BigQuerySchemas.rawLanguagesDefinition());
+        createTableIfNotExists(RAW_DATASET, BigQuerySchemas.TABLE_RAW_CONTRIBUTOR_STATS,
+                BigQuerySchemas.rawContributorStatsDefinition());
+        createTableIfNotExists(RAW_DATASET, BigQuerySchemas.TABLE_RAW_CODE_FREQUENCY,
+                BigQuerySchemas.rawCodeFrequencyDefinition());
+        createTableIfNotExists(RAW_DATASET, BigQuerySchemas.TABLE_RAW_PUNCH_CARD,
+                BigQuerySchemas.rawPunchCardDefinition());
         createTableIfNotExists(RAW_DATASET, BigQuerySchemas.TABLE_EXTRACTION_METADATA,
                 BigQuerySchemas.extractionMetadataDefinition());
     }
@@ -161,7 +168,8 @@ public class BigQueryLoader {
     // =========================================================================
 
     /**
-     * Loads commit data into raw_commits table.
+     * Loads commit data into raw_commits table. Line and file counts are only
+     * known for commits fetched from the detail endpoint.
      */
     public InsertResult loadCommits(String repoFullName, List<Commit> commits) {
         List<Map<String, Object>> rows = new ArrayList<>();
@@ -180,7 +188,9 @@ public class BigQueryLoader {
             if (commit.stats() != null) {
                 row.put("additions", commit.stats().additions());
                 row.put("deletions", commit.stats().deletions());
-                row.put("changed_files", commit.stats().total());
+            }
+            if (commit.changedFiles() != null) {
+                row.put("changed_files", commit.changedFiles());
             }
             rows.add(row);
         }
@@ -268,6 +278,69 @@ public class BigQueryLoader {
         return insertRows(RAW_DATASET, BigQuerySchemas.TABLE_RAW_LANGUAGES, rows);
     }
 
+    /**
+     * Loads contributor statistics into raw_contributor_stats table, one row per
+     * contributor and week. Weeks without commits are skipped, so each load is read
+     * as a whole: a week missing from the latest load had no commits.
+     */
+    public InsertResult loadContributorStats(String repoFullName, List<ContributorStats> contributors) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (ContributorStats contributor : contributors) {
+            if (contributor.weeks() == null) continue;
+            for (ContributorStats.Week week : contributor.weeks()) {
+                if (week.commits() == 0) continue;
+                Map<String, Object> row = new HashMap<>();
+                row.put("repo_full_name", repoFullName);
+                row.put("author_login", contributor.author() != null ? contributor.author().login() : null);
+                row.put("author_id", contributor.author() != null ? contributor.author().id() : null);
+                row.put("week_start", Instant.ofEpochSecond(week.weekStart()).toString());
+                row.put("additions", week.additions());
+                row.put("deletions", week.deletions());
+                row.put("commits", week.commits());
+                rows.add(row);
+            }
+        }
+        return insertRows(RAW_DATASET, BigQuerySchemas.TABLE_RAW_CONTRIBUTOR_STATS, rows);
+    }
+
+    /**
+     * Loads weekly code frequency into raw_code_frequency table. Weeks without
+     * changes are skipped, so each load is read as a whole: a week missing from the
+     * latest load had no changes.
+     */
+    public InsertResult loadCodeFrequency(String repoFullName, List<CodeFrequency> weeks) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (CodeFrequency week : weeks) {
+            if (week.additions() == 0 && week.deletions() == 0) continue;
+            Map<String, Object> row = new HashMap<>();
+            row.put("repo_full_name", repoFullName);
+            row.put("week_start", Instant.ofEpochSecond(week.weekStart()).toString());
+            row.put("additions", week.additions());
+            row.put("deletions", week.deletions());
+            rows.add(row);
+        }
+        return insertRows(RAW_DATASET, BigQuerySchemas.TABLE_RAW_CODE_FREQUENCY, rows);
+    }
+
+    /**
+     * Loads a repository's punch card into raw_punch_card table as the snapshot for
+     * {@code extractionDate}: all 168 day and hour cells, including empty ones, so
+     * each snapshot is complete on its own.
+     */
+    public InsertResult loadPunchCard(String repoFullName, LocalDate extractionDate, List<PunchCardHour> punchCard) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (PunchCardHour cell : punchCard) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("repo_full_name", repoFullName);
+            row.put("extraction_date", extractionDate.toString());
+            row.put("day_of_week", cell.dayOfWeek());
+            row.put("hour_of_day", cell.hourOfDay());
+            row.put("commits", cell.commits());
+            rows.add(row);
+        }
+        return insertRows(RAW_DATASET, BigQuerySchemas.TABLE_RAW_PUNCH_CARD, rows);
+    }
+
     // =========================================================================
     // Extraction metadata (incremental extraction support)
     // =========================================================================
@@ -309,6 +382,111 @@ public class BigQueryLoader {
         return null;
     }
 
+    /**
+     * Gets the per-repository extraction timestamps of an entity type: those of
+     * repositories left behind its last extraction timestamp. Returns an empty map
+     * if there are none or they cannot be read.
+     *
+     * @param entityType the entity type (e.g., "commits", "pull_requests")
+     * @return the timestamps keyed by repository full name
+     */
+    public Map<String, Instant> getRepositoryExtractionTimestamps(String entityType) {
+        String query = String.format(
+                "SELECT entity_type, last_extracted_at FROM `%s.%s.%s` WHERE STARTS_WITH(entity_type, @prefix)",
+                projectId, RAW_DATASET, BigQuerySchemas.TABLE_EXTRACTION_METADATA);
+
+        QueryJobConfiguration queryConfig = QueryJobConfiguration.newBuilder(query)
+                .addNamedParameter("prefix", QueryParameterValue.string(repositoryEntityPrefix(entityType)))
+                .setUseLegacySql(false)
+                .build();
+
+        Map<String, Instant> timestamps = new HashMap<>();
+        try {
+            TableResult result = bigQuery.query(queryConfig);
+            for (FieldValueList row : result.iterateAll()) {
+                if (!row.get("last_extracted_at").isNull()) {
+                    long micros = row.get("last_extracted_at").getTimestampValue();
+                    String repoFullName = row.get("entity_type").getStringValue()
+                            .substring(repositoryEntityPrefix(entityType).length());
+                    timestamps.put(repoFullName, Instant.ofEpochSecond(
+                            micros / 1_000_000,
+                            (micros % 1_000_000) * 1_000));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while querying repository extraction metadata for: {}", entityType, e);
+        } catch (BigQueryException e) {
+            logger.error("Failed to query repository extraction metadata for: {}", entityType, e);
+        }
+        return timestamps;
+    }
+
+    /**
+     * Records the repositories left behind an entity type's extraction timestamp with
+     * their own timestamps, and removes those of repositories that have caught up.
+     * Stored in the metadata table under {@code <entityType>:<repo full name>}.
+     *
+     * @param entityType the entity type (e.g., "commits", "pull_requests")
+     * @param behind     timestamps to upsert, keyed by repository full name
+     * @param caughtUp   repositories whose timestamps to remove
+     */
+    public void updateRepositoryExtractionTimestamps(String entityType, Map<String, Instant> behind,
+                                                     Set<String> caughtUp) {
+        String table = String.format("`%s.%s.%s`",
+                projectId, RAW_DATASET, BigQuerySchemas.TABLE_EXTRACTION_METADATA);
+        try {
+            if (!caughtUp.isEmpty()) {
+                String[] keys = caughtUp.stream()
+                        .map(repo -> repositoryEntityPrefix(entityType) + repo)
+                        .toArray(String[]::new);
+                bigQuery.query(QueryJobConfiguration.newBuilder(
+                                "DELETE FROM " + table + " WHERE entity_type IN UNNEST(@keys)")
+                        .addNamedParameter("keys", QueryParameterValue.array(keys, String.class))
+                        .setUseLegacySql(false)
+                        .build());
+            }
+            if (!behind.isEmpty()) {
+                List<Map.Entry<String, Instant>> entries = new ArrayList<>(behind.entrySet());
+                String[] keys = new String[entries.size()];
+                Long[] micros = new Long[entries.size()];
+                for (int i = 0; i < entries.size(); i++) {
+                    Instant timestamp = entries.get(i).getValue();
+                    keys[i] = repositoryEntityPrefix(entityType) + entries.get(i).getKey();
+                    micros[i] = timestamp.getEpochSecond() * 1_000_000 + timestamp.getNano() / 1_000;
+                }
+                bigQuery.query(QueryJobConfiguration.newBuilder(
+                                "MERGE " + table + " T "
+                                        + "USING (SELECT key AS entity_type, "
+                                        + "TIMESTAMP_MICROS(@micros[OFFSET(i)]) AS last_extracted_at, "
+                                        + "CURRENT_TIMESTAMP() AS updated_at "
+                                        + "FROM UNNEST(@keys) AS key WITH OFFSET i) S "
+                                        + "ON T.entity_type = S.entity_type "
+                                        + "WHEN MATCHED THEN UPDATE SET "
+                                        + "last_extracted_at = S.last_extracted_at, updated_at = S.updated_at "
+                                        + "WHEN NOT MATCHED THEN INSERT (entity_type, last_extracted_at, updated_at) "
+                                        + "VALUES (S.entity_type, S.last_extracted_at, S.updated_at)")
+                        .addNamedParameter("keys", QueryParameterValue.array(keys, String.class))
+                        .addNamedParameter("micros", QueryParameterValue.array(micros, Long.class))
+                        .setUseLegacySql(false)
+                        .build());
+            }
+            logger.info("Updated repository extraction metadata for {}: {} behind, {} caught up",
+                    entityType, behind.size(), caughtUp.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while updating repository extraction metadata for: {}", entityType, e);
+            throw new BigQueryException(0, "Interrupted while updating repository extraction metadata", e);
+        } catch (BigQueryException e) {
+            logger.error("Failed to update repository extraction metadata for: {}", entityType, e);
+            throw e;
+        }
+    }
+
+    private static String repositoryEntityPrefix(String entityType) {
+        return entityType + ":";
+    }
+
     /**
      * Updates (or inserts) the last successful extraction timestamp for a given
      * entity type using a MERGE statement for upsert semantics.
@@ -27,6 +27,9 @@ public final class BigQuerySchemas {
     public static final String TABLE_RAW_REVIEWS = "raw_reviews";
     public static final String TABLE_RAW_REPOSITORIES = "raw_repositories";
     public static final String TABLE_RAW_LANGUAGES = "raw_languages";
+    public static final String TABLE_RAW_CONTRIBUTOR_STATS = "raw_contributor_stats";
+    public static final String TABLE_RAW_CODE_FREQUENCY = "raw_code_frequency";
+    public static final String TABLE_RAW_PUNCH_CARD = "raw_punch_card";
     public static final String TABLE_EXTRACTION_METADATA = "_extraction_metadata";
 
     // =========================================================================
@@ -110,6 +113,44 @@ public final class BigQuerySchemas {
         );
     }
 
+    public static Schema rawContributorStatsSchema() {
+        return Schema.of(
+                Field.of("repo_full_name", StandardSQLTypeName.STRING),
+                Field.of("author_login", StandardSQLTypeName.STRING),
+                Field.of("author_id", StandardSQLTypeName.INT64),
+                Field.of("week_start", StandardSQLTypeName.TIMESTAMP),
+                Field.of("additions", StandardSQLTypeName.INT64),
+                Field.of("deletions", StandardSQLTypeName.INT64),
+                Field.of("commits", StandardSQLTypeName.INT64),
+                Field.newBuilder("ingestion_timestamp", StandardSQLTypeName.TIMESTAMP)
+                        .setMode(Field.Mode.REQUIRED).build()
+        );
+    }
+
+    public static Schema rawCodeFrequencySchema() {
+        return Schema.of(
+                Field.of("repo_full_name", StandardSQLTypeName.STRING),
+                Field.of("week_start", StandardSQLTypeName.TIMESTAMP),
+                Field.of("additions", StandardSQLTypeName.INT64),
+                Field.of("deletions", StandardSQLTypeName.INT64),
+                Field.newBuilder("ingestion_timestamp", StandardSQLTypeName.TIMESTAMP)
+                        .setMode(Field.Mode.REQUIRED).build()
+        );
+    }
+
+    public static Schema rawPunchCardSchema() {
+        return Schema.of(
+                Field.of("repo_full_name", StandardSQLTypeName.STRING),
+                Field.newBuilder("extraction_date", StandardSQLTypeName.DATE)
+                        .setMode(Field.Mode.REQUIRED).build(),
+                Field.of("day_of_week", StandardSQLTypeName.INT64),
+                Field.of("hour_of_day", StandardSQLTypeName.INT64),
+                Field.of("commits", StandardSQLTypeName.INT64),
+                Field.newBuilder("ingestion_timestamp", StandardSQLTypeName.TIMESTAMP)
+                        .setMode(Field.Mode.REQUIRED).build()
+        );
+    }
+
     public static Schema extractionMetadataSchema() {
         return Schema.of(
                 Field.newBuilder("entity_type", StandardSQLTypeName.STRING)
@@ -144,6 +185,18 @@ public final class BigQuerySchemas {
         return buildPartitionedTable(rawLanguagesSchema(), List.of("repo_full_name"));
     }
 
+    public static TableDefinition rawContributorStatsDefinition() {
+        return buildPartitionedTable(rawContributorStatsSchema(), List.of("repo_full_name", "author_login"));
+    }
+
+    public static TableDefinition rawCodeFrequencyDefinition() {
+        return buildPartitionedTable(rawCodeFrequencySchema(), List.of("repo_full_name"));
+    }
+
+    public static TableDefinition rawPunchCardDefinition() {
+        return buildPartitionedTable(rawPunchCardSchema(), List.of("repo_full_name", "extraction_date"));
+    }
+
     public static TableDefinition extractionMetadataDefinition() {
         return StandardTableDefinition.newBuilder()
                 .setSchema(extractionMetadataSchema())
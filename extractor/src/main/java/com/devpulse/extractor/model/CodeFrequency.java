@@ -0,0 +1,15 @@
+package com.devpulse.extractor.model;
+
+/**
+ * Data transfer object representing a repository's lines added and deleted in one week.
+ * Maps from: /repos/{owner}/{repo}/stats/code_frequency
+ *
+ * The GitHub API returns each week as a {@code [week, additions, deletions]} array,
+ * with deletions as a negative number; they are kept here as a positive count, as in
+ * commit stats. Week starts are Unix timestamps (seconds).
+ */
+public record CodeFrequency(
+        long weekStart,
+        long additions,
+        long deletions
+) {}
@@ -1,20 +1,51 @@
 package com.devpulse.extractor.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.List;
+
 /**
  * Data transfer object representing a GitHub commit.
  * Maps from the nested GitHub API response: /repos/{owner}/{repo}/commits
+ * and /repos/{owner}/{repo}/commits/{sha}. Only the detail endpoint returns
+ * {@code stats} and {@code files}; both are null for list items.
+ *
+ * <p>{@code changedFiles} is the number of changed files, or null if unknown. It is
+ * not part of the API response: it defaults to the size of {@code files}, and is set
+ * by the local commit store, whose commits have no file names and an empty {@code files}.</p>
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record Commit(
         @JsonProperty("sha") String sha,
         @JsonProperty("commit") CommitDetail commit,
         @JsonProperty("author") GitHubUser author,
-        @JsonProperty("stats") CommitStats stats
+        @JsonProperty("stats") CommitStats stats,
+        @JsonProperty("files") List<CommitFile> files,
+        @JsonIgnore Integer changedFiles
 ) {
 
+    public Commit {
+        if (changedFiles == null && files != null) {
+            changedFiles = files.size();
+        }
+    }
+
+    /**
+     * A commit whose changed-file count is the size of {@code files}.
+     */
+    public Commit(String sha, CommitDetail commit, GitHubUser author, CommitStats stats, List<CommitFile> files) {
+        this(sha, commit, author, stats, files, null);
+    }
+
+    /**
+     * A commit as listed, without the detail endpoint's changed files.
+     */
+    public Commit(String sha, CommitDetail commit, GitHubUser author, CommitStats stats) {
+        this(sha, commit, author, stats, null);
+    }
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     public record CommitDetail(
             @JsonProperty("message") String message,
@@ -35,6 +66,11 @@ public record Commit(
             @JsonProperty("total") int total
     ) {}
 
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record CommitFile(
+            @JsonProperty("filename") String filename
+    ) {}
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     public record GitHubUser(
             @JsonProperty("login") String login,
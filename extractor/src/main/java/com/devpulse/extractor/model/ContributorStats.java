@@ -0,0 +1,35 @@
+package com.devpulse.extractor.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Data transfer object representing one contributor's weekly activity in a repository.
+ * Maps from: /repos/{owner}/{repo}/stats/contributors
+ *
+ * GitHub lists every week since the repository's first commit, including weeks
+ * without activity. Week starts are Unix timestamps (seconds) of Sundays.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ContributorStats(
+        @JsonProperty("author") Contributor author,
+        @JsonProperty("total") int total,
+        @JsonProperty("weeks") List<Week> weeks
+) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Contributor(
+            @JsonProperty("login") String login,
+            @JsonProperty("id") long id
+    ) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Week(
+            @JsonProperty("w") long weekStart,
+            @JsonProperty("a") int additions,
+            @JsonProperty("d") int deletions,
+            @JsonProperty("c") int commits
+    ) {}
+}
@@ -0,0 +1,15 @@
+package com.devpulse.extractor.model;
+
+/**
+ * Data transfer object representing one cell of a repository's commit punch card:
+ * the commits made in one hour of one day of the week, over the repository's history.
+ * Maps from: /repos/{owner}/{repo}/stats/punch_card
+ *
+ * The GitHub API returns the 7x24 cells as {@code [day, hour, commits]} arrays, with
+ * days from 0 (Sunday) to 6 and hours from 0 to 23 in each commit's own time zone.
+ */
+public record PunchCardHour(
+        int dayOfWeek,
+        int hourOfDay,
+        int commits
+) {}
@@ -0,0 +1,16 @@
+package com.devpulse.extractor.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Data transfer object representing one resource's rate-limit budget.
+ * Maps from: /rate_limit ({@code resources.core}, {@code resources.graphql}, ...)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record RateLimit(
+        @JsonProperty("limit") int limit,
+        @JsonProperty("remaining") int remaining,
+        @JsonProperty("used") int used,
+        @JsonProperty("reset") long reset
+) {}
@@ -0,0 +1,109 @@
+package com.devpulse.extractor.orchestrator;
+
+import com.devpulse.extractor.client.CommitStore;
+import com.devpulse.extractor.client.GitHubApiClient;
+import com.devpulse.extractor.client.RequestPacer;
+import com.devpulse.extractor.model.Commit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Adds line stats and changed files to listed commits. The commits list never
+ * returns them, so each commit costs one request to
+ * {@code /repos/{owner}/{repo}/commits/{sha}}.
+ *
+ * <p>Each page of commits is enriched as it is listed, with every detail fetch on its
+ * own virtual thread and at most as many in flight as there are permits. Only the
+ * commits the list returned are fetched, so incremental runs only pay for commits
+ * since the watermark. With the client's {@link CommitStore}, commits fetched before
+ * (through any repository) are not fetched again, so a full re-extraction fetches
+ * almost no commit details.</p>
+ */
+public class CommitEnricher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommitEnricher.class);
+
+    private final GitHubApiClient client;
+    private final Semaphore requestPermits;
+
+    /**
+     * @param maxConcurrentRequests detail fetches in flight at once, across all repositories
+     */
+    public CommitEnricher(GitHubApiClient client, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Commit detail concurrency must be at least 1: "
+                    + maxConcurrentRequests);
+        }
+        this.client = client;
+        this.requestPermits = new Semaphore(maxConcurrentRequests);
+    }
+
+    /**
+     * Returns {@code commits} in order with their stats and changed files. Commits
+     * that already have stats are not fetched again. The first failed fetch is
+     * rethrown once every fetch has finished.
+     */
+    public List<Commit> enrich(String repoFullName, List<Commit> commits) throws Exception {
+        List<Commit> missing = commits.stream().filter(c -> c.stats() == null).toList();
+        if (missing.isEmpty()) {
+            return commits;
+        }
+        RequestPacer pacer = client.pacer();
+        if (pacer != null) {
+            // Stored commits cost no request
+            CommitStore store = client.commitStore();
+            pacer.expect(store == null ? missing.size()
+                    : missing.stream().filter(c -> store.get(c.sha()) == null).count());
+        }
+
+        List<Future<Commit>> fetches = new ArrayList<>(commits.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Commit commit : commits) {
+                if (commit.stats() != null) {
+                    fetches.add(null);
+                    continue;
+                }
+                fetches.add(executor.submit(() -> {
+                    requestPermits.acquire();
+                    try {
+                        return enrich(commit, client.getCommit(repoFullName, commit.sha()));
+                    } finally {
+                        requestPermits.release();
+                    }
+                }));
+            }
+        }
+
+        List<Commit> enriched = new ArrayList<>(commits.size());
+        for (int i = 0; i < commits.size(); i++) {
+            Future<Commit> fetch = fetches.get(i);
+            if (fetch == null) {
+                enriched.add(commits.get(i));
+                continue;
+            }
+            try {
+                enriched.add(fetch.get());
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+        logger.debug("Fetched details for {} commits in {}", missing.size(), repoFullName);
+        return enriched;
+    }
+
+    private static Commit enrich(Commit listed, Commit detail) {
+        if (detail == null) {
+            return listed;
+        }
+        return new Commit(listed.sha(), listed.commit(), listed.author(), detail.stats(), detail.files(),
+                detail.changedFiles());
+    }
+}
@@ -8,11 +8,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
 
 /**
  * Extracts commits from GitHub for a given repository and loads them into BigQuery.
- * Supports incremental extraction by filtering commits since last extraction.
+ * Supports incremental extraction by requesting only commits since last extraction.
  */
 public class CommitExtractor {
 
@@ -20,53 +21,62 @@ public class CommitExtractor {
 
     private final GitHubApiClient client;
     private final BigQueryLoader loader;
+    private final CommitEnricher enricher;
 
     public CommitExtractor(GitHubApiClient client, BigQueryLoader loader) {
+        this(client, loader, null);
+    }
+
+    /**
+     * @param enricher if non-null, each page of commits gets its stats and changed
+     *                 files from the commit detail endpoint before it is loaded
+     */
+    public CommitExtractor(GitHubApiClient client, BigQueryLoader loader, CommitEnricher enricher) {
         this.client = client;
         this.loader = loader;
+        this.enricher = enricher;
     }
 
     /**
      * Extracts commits for a repository and loads them into BigQuery.
+     * The time window is pushed down to the GitHub API, so incremental runs
+     * only page through commits inside the window. Each page is loaded as soon
+     * as it arrives, so memory stays bounded by a single page.
      *
      * @param repoFullName the full repository name (owner/repo)
-     * @param since        if non-null, only commits after this timestamp are kept
+     * @param since        if non-null, only commits after this timestamp are fetched
+     * @param until        if non-null, only commits before this timestamp are fetched
      * @return the number of commits loaded
      */
-    public int extractAndLoad(String repoFullName, Instant since) throws Exception {
-        logger.info("Extracting commits for {} (since: {})", repoFullName,
-                since != null ? since : "full");
-
-        List<Commit> commits = client.getCommits(repoFullName);
+    public int extractAndLoad(String repoFullName, Instant since, Instant until) throws Exception {
+        logger.info("Extracting commits for {} (since: {}, until: {})", repoFullName,
+                since != null ? since : "full", until != null ? until : "now");
 
-        if (since != null) {
-            commits = commits.stream()
-                    .filter(c -> {
-                        if (c.commit() == null || c.commit().author() == null
-                                || c.commit().author().date() == null) {
-                            return true; // include commits with missing dates
-                        }
-                        try {
-                            Instant commitDate = Instant.parse(c.commit().author().date());
-                            return commitDate.isAfter(since);
-                        } catch (Exception e) {
-                            return true; // include if date can't be parsed
-                        }
-                    })
-                    .toList();
+        int fetched = 0;
+        int loaded = 0;
+        Iterator<List<Commit>> pages = client.getCommitPages(repoFullName, since, until).iterator();
+        try {
+            while (pages.hasNext()) {
+                List<Commit> page = pages.next();
+                fetched += page.size();
+                if (enricher != null) {
+                    page = enricher.enrich(repoFullName, page);
+                }
+                InsertResult result = loader.loadCommits(repoFullName, page);
+                if (result.hasErrors()) {
+                    logger.warn("Commit load for {} had {} errors out of {} rows",
+                            repoFullName, result.errors().size(), result.totalRows());
+                }
+                loaded += result.successfulRows();
+            }
+        } finally {
+            // Cancels pages requested ahead if a failure stops the walk early
+            if (pages instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
         }
 
-        logger.info("Fetched {} commits for {}", commits.size(), repoFullName);
-
-        if (commits.isEmpty()) {
-            return 0;
-        }
-
-        InsertResult result = loader.loadCommits(repoFullName, commits);
-        if (result.hasErrors()) {
-            logger.warn("Commit load for {} had {} errors out of {} rows",
-                    repoFullName, result.errors().size(), result.totalRows());
-        }
-        return result.successfulRows();
+        logger.info("Fetched {} commits for {}", fetched, repoFullName);
+        return loaded;
     }
 }
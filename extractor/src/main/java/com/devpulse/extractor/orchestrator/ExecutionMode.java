@@ -0,0 +1,27 @@
+package com.devpulse.extractor.orchestrator;
+
+/**
+ * How the orchestrator schedules work. Sequential mode extracts one repository and
+ * one pull request's reviews at a time on the calling thread. Virtual-thread mode
+ * runs each repository, and each pull request's review fetch, on its own virtual
+ * thread, capped by semaphores rather than pool sizes.
+ *
+ * @param virtualThreads              whether to fan work out onto virtual threads
+ * @param maxConcurrentRepositories   repositories extracted at once
+ * @param maxConcurrentReviewRequests review fetches in flight at once, across all repositories
+ */
+public record ExecutionMode(boolean virtualThreads, int maxConcurrentRepositories,
+                            int maxConcurrentReviewRequests) {
+
+    public static final ExecutionMode SEQUENTIAL = new ExecutionMode(false, 1, 1);
+
+    public ExecutionMode {
+        if (maxConcurrentRepositories < 1 || maxConcurrentReviewRequests < 1) {
+            throw new IllegalArgumentException("Concurrency limits must be at least 1");
+        }
+    }
+
+    public static ExecutionMode virtualThreads(int maxConcurrentRepositories, int maxConcurrentReviewRequests) {
+        return new ExecutionMode(true, maxConcurrentRepositories, maxConcurrentReviewRequests);
+    }
+}
@@ -1,6 +1,8 @@
 package com.devpulse.extractor.orchestrator;
 
 import com.devpulse.extractor.client.GitHubApiClient;
+import com.devpulse.extractor.client.GitHubGraphQLClient;
+import com.devpulse.extractor.client.RequestPacer;
 import com.devpulse.extractor.loader.BigQueryLoader;
 import com.devpulse.extractor.model.PullRequest;
 import com.devpulse.extractor.model.Repository;
@@ -9,10 +11,21 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 /**
- * Coordinates the full extraction pipeline: repos -> commits -> PRs -> reviews -> languages.
+ * Coordinates the full extraction pipeline: repos -> commits -> PRs -> reviews -> languages
+ * (-> precomputed statistics).
  * Reads last extraction timestamps from _extraction_metadata for incremental mode.
  * Writes extracted data to BigQuery and updates metadata on success.
  */
@@ -25,6 +38,7 @@ public class ExtractionOrchestrator {
     static final String ENTITY_PULL_REQUESTS = "pull_requests";
     static final String ENTITY_REVIEWS = "reviews";
     static final String ENTITY_LANGUAGES = "languages";
+    static final String ENTITY_STATS = "stats";
 
     private final GitHubApiClient client;
     private final BigQueryLoader loader;
@@ -33,29 +47,36 @@ public class ExtractionOrchestrator {
     private final PullRequestExtractor prExtractor;
     private final ReviewExtractor reviewExtractor;
     private final LanguageExtractor languageExtractor;
+    private final GraphQLPullRequestExtractor graphQLExtractor;
+    private final GraphQLLanguageExtractor graphQLLanguageExtractor;
+    private final StatsExtractor statsExtractor;
+    private final ExecutionMode mode;
+    private final ExtractionPlanner planner;
 
     public ExtractionOrchestrator(GitHubApiClient client, BigQueryLoader loader) {
-        this.client = client;
-        this.loader = loader;
+        this(builder(client, loader));
+    }
+
+    private ExtractionOrchestrator(Builder builder) {
+        this.client = builder.client;
+        this.loader = builder.loader;
+        this.mode = builder.mode;
+        this.planner = builder.planner;
+        this.statsExtractor = builder.statsExtractor;
         this.repoExtractor = new RepositoryExtractor(client, loader);
-        this.commitExtractor = new CommitExtractor(client, loader);
+        this.commitExtractor = new CommitExtractor(client, loader, builder.commitEnricher);
         this.prExtractor = new PullRequestExtractor(client, loader);
-        this.reviewExtractor = new ReviewExtractor(client, loader);
+        this.reviewExtractor = new ReviewExtractor(client, loader,
+                mode.virtualThreads() ? new Semaphore(mode.maxConcurrentReviewRequests()) : null);
         this.languageExtractor = new LanguageExtractor(client, loader);
+        GitHubGraphQLClient graphQLClient = builder.graphQLClient;
+        this.graphQLExtractor = graphQLClient != null ? new GraphQLPullRequestExtractor(graphQLClient, loader) : null;
+        this.graphQLLanguageExtractor = graphQLClient != null
+                ? new GraphQLLanguageExtractor(graphQLClient, loader) : null;
     }
 
-    // Visible for testing
-    ExtractionOrchestrator(GitHubApiClient client, BigQueryLoader loader,
-                           RepositoryExtractor repoExtractor, CommitExtractor commitExtractor,
-                           PullRequestExtractor prExtractor, ReviewExtractor reviewExtractor,
-                           LanguageExtractor languageExtractor) {
-        this.client = client;
-        this.loader = loader;
-        this.repoExtractor = repoExtractor;
-        this.commitExtractor = commitExtractor;
-        this.prExtractor = prExtractor;
-        this.reviewExtractor = reviewExtractor;
-        this.languageExtractor = languageExtractor;
+    public static Builder builder(GitHubApiClient client, BigQueryLoader loader) {
+        return new Builder(client, loader);
     }
 
     /**
@@ -83,14 +104,17 @@ public class ExtractionOrchestrator {
         }
 
         // Read last extraction timestamps for incremental mode
-        Instant commitsSince = null;
-        Instant prsSince = null;
+        Watermarks watermarks = Watermarks.NONE;
         if (!fullMode) {
-            commitsSince = loader.getLastExtractionTimestamp(ENTITY_COMMITS);
-            prsSince = loader.getLastExtractionTimestamp(ENTITY_PULL_REQUESTS);
-            logger.info("Incremental mode — commits since: {}, PRs since: {}",
-                    commitsSince != null ? commitsSince : "none (full)",
-                    prsSince != null ? prsSince : "none (full)");
+            watermarks = new Watermarks(
+                    loader.getLastExtractionTimestamp(ENTITY_COMMITS),
+                    loader.getLastExtractionTimestamp(ENTITY_PULL_REQUESTS),
+                    loader.getRepositoryExtractionTimestamps(ENTITY_COMMITS),
+                    loader.getRepositoryExtractionTimestamps(ENTITY_PULL_REQUESTS));
+            logger.info("Incremental mode — commits since: {}, PRs since: {} ({} and {} repositories behind)",
+                    watermarks.commits() != null ? watermarks.commits() : "none (full)",
+                    watermarks.pullRequests() != null ? watermarks.pullRequests() : "none (full)",
+                    watermarks.repositoryCommits().size(), watermarks.repositoryPullRequests().size());
         }
 
         Instant extractionTimestamp = Instant.now();
@@ -109,49 +133,121 @@ public class ExtractionOrchestrator {
                     e.getMessage(), System.currentTimeMillis() - stepStart));
         }
 
+        expectRequests(repositories.size() * (long) minimumRequestsPerRepository());
+
+        ExtractionPlanner.Plan plan = plan(repositories, watermarks);
+
+        // Ask for precomputed statistics now, so GitHub computes those it has not
+        // cached while the other entities are extracted
+        StatsExtractor.Run statsRun = null;
+        if (statsExtractor != null && !repositories.isEmpty()) {
+            statsRun = startStats(repositories, results);
+        }
+
         // Step 2-4: For each repository, extract commits, PRs, reviews, languages
-        for (Repository repo : repositories) {
-            String repoName = repo.fullName();
+        if (mode.virtualThreads()) {
+            results.addAll(extractRepositoriesConcurrently(repositories, watermarks,
+                    extractionTimestamp, plan));
+        } else {
+            for (Repository repo : repositories) {
+                extractRepository(repo, watermarks, extractionTimestamp, plan, results);
+            }
+        }
 
-            // Commits
+        // Step 5 (GraphQL mode): Languages for all repositories in batched queries
+        if (graphQLLanguageExtractor != null && !repositories.isEmpty()) {
             stepStart = System.currentTimeMillis();
             try {
-                int count = commitExtractor.extractAndLoad(repoName, commitsSince);
-                results.add(ExtractionResult.success(ENTITY_COMMITS, repoName,
+                int count = graphQLLanguageExtractor.extractAndLoad(repositories);
+                results.add(ExtractionResult.success(ENTITY_LANGUAGES, "all",
                         count, count, System.currentTimeMillis() - stepStart));
             } catch (Exception e) {
-                logger.error("Failed to extract commits for {}", repoName, e);
-                results.add(ExtractionResult.failure(ENTITY_COMMITS, repoName,
+                logger.error("Failed to extract languages", e);
+                results.add(ExtractionResult.failure(ENTITY_LANGUAGES, "all",
                         e.getMessage(), System.currentTimeMillis() - stepStart));
             }
+        }
 
-            // Pull Requests
-            List<PullRequest> pullRequests = List.of();
-            stepStart = System.currentTimeMillis();
-            try {
-                pullRequests = prExtractor.extractAndLoad(repoName, prsSince);
-                results.add(ExtractionResult.success(ENTITY_PULL_REQUESTS, repoName,
-                        pullRequests.size(), pullRequests.size(),
-                        System.currentTimeMillis() - stepStart));
-            } catch (Exception e) {
-                logger.error("Failed to extract pull requests for {}", repoName, e);
-                results.add(ExtractionResult.failure(ENTITY_PULL_REQUESTS, repoName,
-                        e.getMessage(), System.currentTimeMillis() - stepStart));
-            }
+        // Step 6: Precomputed statistics GitHub was still computing at the start
+        if (statsRun != null) {
+            results.addAll(finishStats(statsRun));
+        }
 
-            // Reviews (for each PR)
-            stepStart = System.currentTimeMillis();
+        // Update extraction metadata for successful entity types
+        updateMetadataIfSuccessful(results, ENTITY_COMMITS, extractionTimestamp,
+                watermarks.commits(), watermarks.repositoryCommits());
+        updateMetadataIfSuccessful(results, ENTITY_PULL_REQUESTS, extractionTimestamp,
+                watermarks.pullRequests(), watermarks.repositoryPullRequests());
+        updateMetadataIfSuccessful(results, ENTITY_REVIEWS, extractionTimestamp);
+        updateMetadataIfSuccessful(results, ENTITY_REPOSITORIES, extractionTimestamp);
+        updateMetadataIfSuccessful(results, ENTITY_LANGUAGES, extractionTimestamp);
+
+        ExtractionSummary summary = new ExtractionSummary(results, elapsed(runStart));
+        logSummary(summary);
+        return summary;
+    }
+
+    /**
+     * Plans the run with the {@link ExtractionPlanner}, if any. Without a planner, or
+     * if planning fails, everything is extracted.
+     */
+    private ExtractionPlanner.Plan plan(List<Repository> repositories, Watermarks watermarks) {
+        if (planner == null || repositories.isEmpty()) {
+            return null;
+        }
+        try {
+            return planner.plan(repositories, watermarks,
+                    graphQLExtractor == null, graphQLLanguageExtractor == null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while planning; extracting without a plan");
+        } catch (Exception e) {
+            logger.warn("Failed to plan the run against the rate-limit budget; extracting without a plan", e);
+        }
+        return null;
+    }
+
+    /**
+     * Extracts commits, pull requests, reviews and (outside GraphQL mode) languages
+     * for one repository, appending a result per step to {@code results}. Steps
+     * {@code plan} leaves out are recorded as deferred.
+     */
+    private void extractRepository(Repository repo, Watermarks watermarks,
+                                   Instant extractionTimestamp, ExtractionPlanner.Plan plan,
+                                   List<ExtractionResult> results) {
+        String repoName = repo.fullName();
+
+        // Commits
+        long stepStart = System.currentTimeMillis();
+        if (!isPlanned(plan, repoName, ENTITY_COMMITS)) {
+            results.add(ExtractionResult.deferred(ENTITY_COMMITS, repoName));
+        } else {
             try {
-                int count = reviewExtractor.extractAndLoad(repoName, pullRequests);
-                results.add(ExtractionResult.success(ENTITY_REVIEWS, repoName,
+                int count = commitExtractor.extractAndLoad(repoName, watermarks.commitsSince(repoName),
+                        extractionTimestamp);
+                results.add(ExtractionResult.success(ENTITY_COMMITS, repoName,
                         count, count, System.currentTimeMillis() - stepStart));
             } catch (Exception e) {
-                logger.error("Failed to extract reviews for {}", repoName, e);
-                results.add(ExtractionResult.failure(ENTITY_REVIEWS, repoName,
+                logger.error("Failed to extract commits for {}", repoName, e);
+                results.add(ExtractionResult.failure(ENTITY_COMMITS, repoName,
                         e.getMessage(), System.currentTimeMillis() - stepStart));
             }
+        }
 
-            // Languages
+        // Pull Requests and Reviews
+        if (!isPlanned(plan, repoName, ENTITY_PULL_REQUESTS)) {
+            results.add(ExtractionResult.deferred(ENTITY_PULL_REQUESTS, repoName));
+            results.add(ExtractionResult.deferred(ENTITY_REVIEWS, repoName));
+        } else if (graphQLExtractor != null) {
+            extractPullRequestsWithReviews(repoName, watermarks.pullRequestsSince(repoName), results);
+        } else {
+            extractPullRequestsThenReviews(repoName, watermarks.pullRequestsSince(repoName), results);
+        }
+
+        // Languages (batched across repositories in GraphQL mode)
+        if (graphQLLanguageExtractor == null && !isPlanned(plan, repoName, ENTITY_LANGUAGES)) {
+            results.add(ExtractionResult.deferred(ENTITY_LANGUAGES, repoName));
+        } else if (graphQLLanguageExtractor == null) {
             stepStart = System.currentTimeMillis();
             try {
                 int count = languageExtractor.extractAndLoad(List.of(repo));
@@ -164,55 +260,266 @@ public class ExtractionOrchestrator {
             }
         }
 
-        // Update extraction metadata for successful entity types
-        updateMetadataIfSuccessful(results, ENTITY_COMMITS, extractionTimestamp);
-        updateMetadataIfSuccessful(results, ENTITY_PULL_REQUESTS, extractionTimestamp);
-        updateMetadataIfSuccessful(results, ENTITY_REVIEWS, extractionTimestamp);
-        updateMetadataIfSuccessful(results, ENTITY_REPOSITORIES, extractionTimestamp);
-        updateMetadataIfSuccessful(results, ENTITY_LANGUAGES, extractionTimestamp);
+        RequestPacer pacer = client.pacer();
+        Instant projectedFinish = pacer != null ? pacer.projectedFinish() : null;
+        if (projectedFinish != null && projectedFinish.isAfter(Instant.now())) {
+            logger.info("Finished {}; {} GitHub requests outstanding, projected to finish at {}",
+                    repoName, pacer.outstanding(), projectedFinish);
+        }
+    }
 
-        ExtractionSummary summary = new ExtractionSummary(results, elapsed(runStart));
-        logSummary(summary);
-        return summary;
+    private static boolean isPlanned(ExtractionPlanner.Plan plan, String repoName, String entityType) {
+        return plan == null || plan.includes(repoName, entityType);
+    }
+
+    /**
+     * Core requests every repository needs at least: the first page of commits, plus
+     * pull requests and languages unless they come from GraphQL.
+     */
+    private int minimumRequestsPerRepository() {
+        return 1 + (graphQLExtractor == null ? 1 : 0) + (graphQLLanguageExtractor == null ? 1 : 0);
+    }
+
+    /**
+     * Announces upcoming core requests to the client's {@link RequestPacer}, if any.
+     */
+    private void expectRequests(long requests) {
+        RequestPacer pacer = client.pacer();
+        if (pacer != null) {
+            pacer.expect(requests);
+        }
+    }
+
+    /**
+     * Runs {@link #extractRepository} for every repository on its own virtual thread,
+     * with at most {@link ExecutionMode#maxConcurrentRepositories()} running at once.
+     * Results are returned in repository order, as in sequential mode.
+     *
+     * <p>The extractors block on I/O and back off with {@code Thread.sleep} outside any
+     * monitor, so waiting virtual threads unmount instead of pinning a carrier.</p>
+     */
+    private List<ExtractionResult> extractRepositoriesConcurrently(List<Repository> repositories,
+                                                                   Watermarks watermarks,
+                                                                   Instant extractionTimestamp,
+                                                                   ExtractionPlanner.Plan plan) {
+        logger.info("Extracting {} repositories on virtual threads (max {} at once, {} review fetches)",
+                repositories.size(), mode.maxConcurrentRepositories(), mode.maxConcurrentReviewRequests());
+
+        Semaphore permits = new Semaphore(mode.maxConcurrentRepositories());
+        List<Future<List<ExtractionResult>>> futures = new ArrayList<>(repositories.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Repository repo : repositories) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        List<ExtractionResult> repoResults = new ArrayList<>();
+                        extractRepository(repo, watermarks, extractionTimestamp, plan, repoResults);
+                        return repoResults;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        // The entities extractRepository reports per repository; languages are batched in GraphQL mode
+        List<String> repositoryEntities = graphQLLanguageExtractor == null
+                ? List.of(ENTITY_COMMITS, ENTITY_PULL_REQUESTS, ENTITY_REVIEWS, ENTITY_LANGUAGES)
+                : List.of(ENTITY_COMMITS, ENTITY_PULL_REQUESTS, ENTITY_REVIEWS);
+        List<ExtractionResult> results = new ArrayList<>();
+        for (int i = 0; i < repositories.size(); i++) {
+            try {
+                results.addAll(futures.get(i).get());
+            } catch (ExecutionException | CancellationException | InterruptedException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                String repoName = repositories.get(i).fullName();
+                logger.error("Extraction for {} did not complete", repoName, e);
+                for (String entityType : repositoryEntities) {
+                    results.add(ExtractionResult.failure(entityType, repoName, String.valueOf(e), 0));
+                }
+            }
+        }
+        return results;
+    }
+
+    private void extractPullRequestsThenReviews(String repoName, Instant prsSince,
+                                                List<ExtractionResult> results) {
+        // Pull Requests
+        List<PullRequest> pullRequests = List.of();
+        long stepStart = System.currentTimeMillis();
+        try {
+            pullRequests = prExtractor.extractAndLoad(repoName, prsSince);
+            results.add(ExtractionResult.success(ENTITY_PULL_REQUESTS, repoName,
+                    pullRequests.size(), pullRequests.size(),
+                    System.currentTimeMillis() - stepStart));
+        } catch (Exception e) {
+            logger.error("Failed to extract pull requests for {}", repoName, e);
+            results.add(ExtractionResult.failure(ENTITY_PULL_REQUESTS, repoName,
+                    e.getMessage(), System.currentTimeMillis() - stepStart));
+        }
+
+        // Reviews (for each PR)
+        expectRequests(pullRequests.size());
+        stepStart = System.currentTimeMillis();
+        try {
+            int count = reviewExtractor.extractAndLoad(repoName, pullRequests);
+            results.add(ExtractionResult.success(ENTITY_REVIEWS, repoName,
+                    count, count, System.currentTimeMillis() - stepStart));
+        } catch (Exception e) {
+            logger.error("Failed to extract reviews for {}", repoName, e);
+            results.add(ExtractionResult.failure(ENTITY_REVIEWS, repoName,
+                    e.getMessage(), System.currentTimeMillis() - stepStart));
+        }
+    }
+
+    private void extractPullRequestsWithReviews(String repoName, Instant prsSince,
+                                                List<ExtractionResult> results) {
+        long stepStart = System.currentTimeMillis();
+        try {
+            GraphQLPullRequestExtractor.Counts counts = graphQLExtractor.extractAndLoad(repoName, prsSince);
+            long durationMs = System.currentTimeMillis() - stepStart;
+            results.add(ExtractionResult.success(ENTITY_PULL_REQUESTS, repoName,
+                    counts.pullRequestsExtracted(), counts.pullRequestsLoaded(), durationMs));
+            results.add(ExtractionResult.success(ENTITY_REVIEWS, repoName,
+                    counts.reviewsExtracted(), counts.reviewsLoaded(), durationMs));
+        } catch (Exception e) {
+            logger.error("Failed to extract pull requests with reviews for {}", repoName, e);
+            long durationMs = System.currentTimeMillis() - stepStart;
+            results.add(ExtractionResult.failure(ENTITY_PULL_REQUESTS, repoName,
+                    e.getMessage(), durationMs));
+            results.add(ExtractionResult.failure(ENTITY_REVIEWS, repoName,
+                    e.getMessage(), durationMs));
+        }
+    }
+
+    /**
+     * Starts the {@link StatsExtractor}, or records a failure and returns null if interrupted.
+     */
+    private StatsExtractor.Run startStats(List<Repository> repositories, List<ExtractionResult> results) {
+        long stepStart = System.currentTimeMillis();
+        try {
+            return statsExtractor.start(repositories);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while extracting statistics");
+            results.add(ExtractionResult.failure(ENTITY_STATS, "all", "Interrupted",
+                    System.currentTimeMillis() - stepStart));
+            return null;
+        }
+    }
+
+    /**
+     * Finishes {@code statsRun}, with a result per repository. Statistics GitHub was
+     * still computing are deferred to the next run.
+     */
+    private List<ExtractionResult> finishStats(StatsExtractor.Run statsRun) {
+        long stepStart = System.currentTimeMillis();
+        List<ExtractionResult> results = new ArrayList<>();
+        try {
+            List<StatsExtractor.RepositoryStats> outcomes = statsExtractor.finish(statsRun);
+            long durationMs = System.currentTimeMillis() - stepStart;
+            for (StatsExtractor.RepositoryStats stats : outcomes) {
+                if (stats.error() != null) {
+                    results.add(ExtractionResult.failure(ENTITY_STATS, stats.repoFullName(),
+                            stats.error(), durationMs));
+                } else if (stats.stillComputing()) {
+                    results.add(ExtractionResult.deferred(ENTITY_STATS, stats.repoFullName(),
+                            "GitHub was still computing statistics; retrying on the next run"));
+                } else {
+                    results.add(ExtractionResult.success(ENTITY_STATS, stats.repoFullName(),
+                            stats.extracted(), stats.loaded(), durationMs));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while extracting statistics");
+            results.add(ExtractionResult.failure(ENTITY_STATS, "all", "Interrupted",
+                    System.currentTimeMillis() - stepStart));
+        }
+        return results;
     }
 
+    /**
+     * Advances {@code entityType}'s watermark if no repository's step failed.
+     */
     private void updateMetadataIfSuccessful(List<ExtractionResult> results, String entityType,
                                             Instant timestamp) {
+        updateMetadataIfSuccessful(results, entityType, timestamp, null, Map.of());
+    }
+
+    /**
+     * Advances {@code entityType}'s watermark if no repository's step failed; a failure
+     * holds it back for every repository. A deferred repository does not: it keeps the
+     * watermark its step would have started from ({@code since}, or its own
+     * {@code repositoryWatermarks} entry) as its own, so the next run still covers its
+     * changes while the others move on. Each run that is not all deferred therefore
+     * advances the entity. Repositories that were behind and succeeded drop theirs.
+     */
+    private void updateMetadataIfSuccessful(List<ExtractionResult> results, String entityType,
+                                            Instant timestamp, Instant since,
+                                            Map<String, Instant> repositoryWatermarks) {
         boolean anySuccess = results.stream()
                 .anyMatch(r -> r.entityType().equals(entityType) && r.success());
         boolean anyFailure = results.stream()
-                .anyMatch(r -> r.entityType().equals(entityType) && !r.success());
+                .anyMatch(r -> r.entityType().equals(entityType) && r.failed());
+        if (!anySuccess || anyFailure) {
+            return;
+        }
 
-        if (anySuccess && !anyFailure) {
-            try {
-                loader.updateLastExtractionTimestamp(entityType, timestamp);
-            } catch (Exception e) {
-                logger.error("Failed to update extraction metadata for {}", entityType, e);
+        Map<String, Instant> behind = new HashMap<>();
+        Set<String> caughtUp = new HashSet<>();
+        for (ExtractionResult result : results) {
+            if (!result.entityType().equals(entityType)) {
+                continue;
+            }
+            String repoName = result.repoFullName();
+            if (result.deferred()) {
+                // Without a watermark the deferred repository has never been extracted
+                Instant repoSince = repositoryWatermarks.getOrDefault(repoName, since);
+                behind.put(repoName, repoSince != null ? repoSince : Instant.EPOCH);
+            } else if (repositoryWatermarks.containsKey(repoName)) {
+                caughtUp.add(repoName);
             }
         }
+
+        try {
+            // Record the repositories left behind first: the watermark must not pass them otherwise
+            if (!behind.isEmpty() || !caughtUp.isEmpty()) {
+                loader.updateRepositoryExtractionTimestamps(entityType, behind, caughtUp);
+            }
+            loader.updateLastExtractionTimestamp(entityType, timestamp);
+        } catch (Exception e) {
+            logger.error("Failed to update extraction metadata for {}", entityType, e);
+        }
     }
 
     private void logSummary(ExtractionSummary summary) {
         logger.info("=== Extraction Summary ===");
         logger.info("Total duration: {}ms", summary.totalDurationMs());
-        logger.info("Total results: {} ({} successful, {} failed)",
-                summary.results().size(), summary.successCount(), summary.failureCount());
+        logger.info("Total results: {} ({} successful, {} failed, {} deferred)",
+                summary.results().size(), summary.successCount(), summary.failureCount(),
+                summary.deferredCount());
 
         for (String entityType : List.of(ENTITY_REPOSITORIES, ENTITY_COMMITS,
-                ENTITY_PULL_REQUESTS, ENTITY_REVIEWS, ENTITY_LANGUAGES)) {
+                ENTITY_PULL_REQUESTS, ENTITY_REVIEWS, ENTITY_LANGUAGES, ENTITY_STATS)) {
             int extracted = summary.totalExtractedForEntity(entityType);
             int loaded = summary.totalLoadedForEntity(entityType);
             long failures = summary.results().stream()
-                    .filter(r -> r.entityType().equals(entityType) && !r.success())
+                    .filter(r -> r.entityType().equals(entityType) && r.failed())
                     .count();
-            logger.info("  {}: extracted={}, loaded={}, failures={}",
-                    entityType, extracted, loaded, failures);
+            long deferred = summary.results().stream()
+                    .filter(r -> r.entityType().equals(entityType) && r.deferred())
+                    .count();
+            logger.info("  {}: extracted={}, loaded={}, failures={}, deferred={}",
+                    entityType, extracted, loaded, failures, deferred);
         }
 
         if (summary.hasFailures()) {
             logger.warn("Extraction completed with {} failures", summary.failureCount());
             summary.results().stream()
-                    .filter(r -> !r.success())
+                    .filter(ExtractionResult::failed)
                     .forEach(r -> logger.warn("  FAILED: {} [{}] — {}",
                             r.entityType(), r.repoFullName(), r.errorMessage()));
         }
@@ -221,4 +528,75 @@ public class ExtractionOrchestrator {
     private long elapsed(Instant start) {
         return Instant.now().toEpochMilli() - start.toEpochMilli();
     }
+
+    // -------------------------------------------------------------------------
+    // Builder
+    // -------------------------------------------------------------------------
+
+    /**
+     * Builder for orchestrators that need more than the REST client and loader.
+     * By default a run is sequential, unplanned, and extracts every entity over REST.
+     */
+    public static final class Builder {
+
+        private final GitHubApiClient client;
+        private final BigQueryLoader loader;
+        private GitHubGraphQLClient graphQLClient;
+        private ExecutionMode mode = ExecutionMode.SEQUENTIAL;
+        private ExtractionPlanner planner;
+        private CommitEnricher commitEnricher;
+        private StatsExtractor statsExtractor;
+
+        private Builder(GitHubApiClient client, BigQueryLoader loader) {
+            this.client = client;
+            this.loader = loader;
+        }
+
+        /**
+         * Extracts pull requests together with their reviews through the GraphQL API
+         * instead of per-PR REST calls, and fetches languages for all repositories in batches.
+         */
+        public Builder graphQLClient(GitHubGraphQLClient graphQLClient) {
+            this.graphQLClient = graphQLClient;
+            return this;
+        }
+
+        /**
+         * Sequential, or one virtual thread per repository and per review fetch.
+         */
+        public Builder mode(ExecutionMode mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        /**
+         * Plans the run against the {@code core} rate-limit budget once repositories are
+         * listed, and defers the repository entities that do not fit to the next run.
+         */
+        public Builder planner(ExtractionPlanner planner) {
+            this.planner = planner;
+            return this;
+        }
+
+        /**
+         * Adds stats and changed files to each commit from its detail endpoint before it
+         * is loaded.
+         */
+        public Builder commitEnricher(CommitEnricher commitEnricher) {
+            this.commitEnricher = commitEnricher;
+            return this;
+        }
+
+        /**
+         * Loads every repository's precomputed GitHub statistics after the other entities.
+         */
+        public Builder statsExtractor(StatsExtractor statsExtractor) {
+            this.statsExtractor = statsExtractor;
+            return this;
+        }
+
+        public ExtractionOrchestrator build() {
+            return new ExtractionOrchestrator(this);
+        }
+    }
 }
@@ -0,0 +1,232 @@
+package com.devpulse.extractor.orchestrator;
+
+import com.devpulse.extractor.client.CommitStore;
+import com.devpulse.extractor.client.GitHubApiClient;
+import com.devpulse.extractor.model.Commit;
+import com.devpulse.extractor.model.RateLimit;
+import com.devpulse.extractor.model.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides before a run which repositories and entities fit in the remaining
+ * {@code core} rate-limit budget, and defers the rest to the next run.
+ *
+ * <p>The budget comes from {@code /rate_limit}, which is free. Each repository's
+ * cost is estimated with cheap {@code per_page=1} probes: the commits since the
+ * watermark (and their detail fetches, if commits are enriched, less those the
+ * {@link CommitStore} already holds), and the pull requests (and so review
+ * fetches) since it. Repositories are then planned most
+ * active first, so a short budget yields complete, fresh data for the busiest
+ * repositories rather than partial data for all of them. A repository whose
+ * entity does not fit is skipped in favour of smaller ones further down the list.
+ * Entities fetched through GraphQL cost no {@code core} requests and are always
+ * planned.</p>
+ *
+ * <p>Probing is capped at {@link #PROBE_SHARE} of the budget; repositories left
+ * unprobed are assumed to cost the average of the probed ones.</p>
+ */
+public class ExtractionPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtractionPlanner.class);
+
+    /** Share of the remaining budget planned for, leaving room for retries and the rate limiter's reserve. */
+    static final double HEADROOM = 0.9;
+    /** Share of the remaining budget that probes may spend. */
+    static final double PROBE_SHARE = 0.1;
+    /**
+     * Most probe requests a repository can take: commits (and their newest page, to
+     * check against the commit store), then a doubling search over pull requests.
+     */
+    static final int MAX_PROBES_PER_REPOSITORY = 17;
+    private static final int PER_PAGE = 100;
+    private static final String CORE = "core";
+
+    private final GitHubApiClient client;
+    private final boolean commitDetails;
+
+    public ExtractionPlanner(GitHubApiClient client) {
+        this(client, false);
+    }
+
+    /**
+     * @param commitDetails whether every commit is also fetched from its detail
+     *                      endpoint, costing one request each
+     */
+    public ExtractionPlanner(GitHubApiClient client, boolean commitDetails) {
+        this.client = client;
+        this.commitDetails = commitDetails;
+    }
+
+    /**
+     * Plans the run for {@code repositories} against the current budget.
+     *
+     * @param restPullRequests whether pull requests and reviews are fetched per PR
+     *                         through REST (and so cost {@code core} requests)
+     * @param restLanguages    whether languages are fetched per repository through REST
+     */
+    public Plan plan(List<Repository> repositories, Watermarks watermarks,
+                     boolean restPullRequests, boolean restLanguages) throws IOException, InterruptedException {
+        RateLimit core = client.getCoreRateLimit();
+        long probeBudget = (long) (core.remaining() * PROBE_SHARE);
+
+        List<Estimate> estimates = new ArrayList<>(repositories.size());
+        List<String> unprobed = new ArrayList<>();
+        long probesSpent = 0;
+        for (Repository repo : repositories) {
+            if (probesSpent + MAX_PROBES_PER_REPOSITORY > probeBudget) {
+                unprobed.add(repo.fullName());
+                continue;
+            }
+            // The pool's local count drops by one per request sent
+            long before = client.tokenPool().available(CORE);
+            estimates.add(estimate(repo.fullName(), watermarks.commitsSince(repo.fullName()),
+                    watermarks.pullRequestsSince(repo.fullName()), restPullRequests, restLanguages));
+            probesSpent += Math.max(before - client.tokenPool().available(CORE), 1);
+        }
+        estimates.addAll(averaged(unprobed, estimates, restLanguages));
+
+        if (probesSpent > 0) {
+            core = client.getCoreRateLimit();
+        }
+        return plan(estimates, (long) (core.remaining() * HEADROOM));
+    }
+
+    // Visible for testing
+    static Plan plan(List<Estimate> estimates, long budget) {
+        List<Estimate> byActivity = new ArrayList<>(estimates);
+        byActivity.sort(Comparator.comparingLong(Estimate::activity).reversed());
+
+        Map<String, Set<String>> planned = new HashMap<>();
+        long left = budget;
+        long deferred = 0;
+        for (Estimate estimate : byActivity) {
+            Set<String> entities = planned.computeIfAbsent(estimate.repoFullName(), r -> new HashSet<>());
+            for (Map.Entry<String, Long> cost : estimate.costs().entrySet()) {
+                if (cost.getValue() <= left) {
+                    entities.add(cost.getKey());
+                    left -= cost.getValue();
+                } else {
+                    deferred++;
+                }
+            }
+        }
+        Plan plan = new Plan(planned, budget, budget - left);
+        if (deferred > 0) {
+            logger.warn("Planned {} of {} core requests available; deferring {} repository entities to the next run",
+                    plan.plannedRequests(), budget, deferred);
+        } else {
+            logger.info("Planned {} of {} core requests available; everything fits",
+                    plan.plannedRequests(), budget);
+        }
+        return plan;
+    }
+
+    private Estimate estimate(String repoFullName, Instant commitsSince, Instant prsSince,
+                              boolean restPullRequests, boolean restLanguages)
+            throws IOException, InterruptedException {
+        long commits = client.countCommits(repoFullName, commitsSince);
+        long pullRequests = !restPullRequests ? 0
+                : prsSince == null ? client.countPullRequests(repoFullName)
+                : client.estimatePullRequestsUpdatedSince(repoFullName, prsSince);
+        logger.debug("Estimated {}: {} commits, {} pull requests", repoFullName, commits, pullRequests);
+        long commitCost = pages(commits) + (commitDetails ? unstoredCommits(repoFullName, commitsSince, commits) : 0);
+        long pullRequestCost = restPullRequests ? pages(pullRequests) + pullRequests : 0;
+        return new Estimate(repoFullName, commits + pullRequests, costs(commitCost, pullRequestCost, restLanguages));
+    }
+
+    /**
+     * Estimates how many of the {@code commits} after {@code since} the client's
+     * {@link CommitStore} lacks, each costing a detail request. Checks the newest page
+     * against the store, which is exact for a window of one page and otherwise
+     * extrapolates the stored share of that page.
+     */
+    private long unstoredCommits(String repoFullName, Instant since, long commits)
+            throws IOException, InterruptedException {
+        CommitStore store = client.commitStore();
+        if (store == null || commits == 0) {
+            return commits;
+        }
+        List<Commit> newest = client.getNewestCommits(repoFullName, since);
+        if (newest.isEmpty()) {
+            return commits;
+        }
+        long stored = newest.stream().filter(commit -> store.get(commit.sha()) != null).count();
+        if (commits <= newest.size()) {
+            return newest.size() - stored;
+        }
+        return commits - commits * stored / newest.size();
+    }
+
+    private static List<Estimate> averaged(List<String> unprobed, List<Estimate> probed, boolean restLanguages) {
+        if (unprobed.isEmpty()) {
+            return List.of();
+        }
+        logger.warn("Probing budget spent; assuming the average cost for {} unprobed repositories", unprobed.size());
+        long commitCost = Math.max(average(probed, ExtractionOrchestrator.ENTITY_COMMITS), 1);
+        long pullRequestCost = average(probed, ExtractionOrchestrator.ENTITY_PULL_REQUESTS);
+        List<Estimate> estimates = new ArrayList<>(unprobed.size());
+        for (String repoFullName : unprobed) {
+            // Unknown activity: plan these after every probed repository
+            estimates.add(new Estimate(repoFullName, -1, costs(commitCost, pullRequestCost, restLanguages)));
+        }
+        return estimates;
+    }
+
+    private static long average(List<Estimate> estimates, String entity) {
+        return (long) Math.ceil(estimates.stream()
+                .mapToLong(e -> e.costs().getOrDefault(entity, 0L))
+                .average().orElse(1));
+    }
+
+    /**
+     * Core requests per entity, in the order entities are planned. Entities
+     * costing nothing are still listed, so they are always planned.
+     */
+    private static Map<String, Long> costs(long commits, long pullRequests, boolean restLanguages) {
+        Map<String, Long> costs = new LinkedHashMap<>();
+        costs.put(ExtractionOrchestrator.ENTITY_COMMITS, commits);
+        costs.put(ExtractionOrchestrator.ENTITY_PULL_REQUESTS, pullRequests);
+        costs.put(ExtractionOrchestrator.ENTITY_LANGUAGES, restLanguages ? 1L : 0L);
+        return costs;
+    }
+
+    /** List requests for {@code items}; an empty list still takes one. */
+    private static long pages(long items) {
+        return Math.max((items + PER_PAGE - 1) / PER_PAGE, 1);
+    }
+
+    /**
+     * One repository's estimated activity (commits and pull requests since the
+     * watermark) and core requests per entity.
+     */
+    record Estimate(String repoFullName, long activity, Map<String, Long> costs) {}
+
+    /**
+     * The entities to extract per repository this run. Reviews follow their pull
+     * requests.
+     *
+     * @param budget          core requests the plan had to fit in
+     * @param plannedRequests estimated core requests of the planned entities
+     */
+    public record Plan(Map<String, Set<String>> entities, long budget, long plannedRequests) {
+
+        public boolean includes(String repoFullName, String entityType) {
+            String planned = ExtractionOrchestrator.ENTITY_REVIEWS.equals(entityType)
+                    ? ExtractionOrchestrator.ENTITY_PULL_REQUESTS : entityType;
+            Set<String> repoEntities = entities.get(repoFullName);
+            return repoEntities == null || repoEntities.contains(planned);
+        }
+    }
+}
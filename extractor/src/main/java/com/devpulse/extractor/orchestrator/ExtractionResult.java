@@ -3,6 +3,9 @@ package com.devpulse.extractor.orchestrator;
 /**
  * Holds the result of extracting a single entity type for a repository (or globally).
  * Tracks record counts, errors, and duration for summary reporting.
+ * A deferred result was left for the next run, by the {@link ExtractionPlanner} or
+ * because GitHub was not ready. It is not a failure: the entity's watermark still
+ * advances, and the repository keeps its own until it catches up (see {@link Watermarks}).
  */
 public record ExtractionResult(
         String entityType,
@@ -11,16 +14,32 @@ public record ExtractionResult(
         int recordsLoaded,
         boolean success,
         String errorMessage,
-        long durationMs
+        long durationMs,
+        boolean deferred
 ) {
 
     public static ExtractionResult success(String entityType, String repoFullName,
                                            int extracted, int loaded, long durationMs) {
-        return new ExtractionResult(entityType, repoFullName, extracted, loaded, true, null, durationMs);
+        return new ExtractionResult(entityType, repoFullName, extracted, loaded, true, null, durationMs, false);
     }
 
     public static ExtractionResult failure(String entityType, String repoFullName,
                                            String error, long durationMs) {
-        return new ExtractionResult(entityType, repoFullName, 0, 0, false, error, durationMs);
+        return new ExtractionResult(entityType, repoFullName, 0, 0, false, error, durationMs, false);
+    }
+
+    public static ExtractionResult deferred(String entityType, String repoFullName) {
+        return deferred(entityType, repoFullName, "Deferred to the next run to stay within the rate-limit budget");
+    }
+
+    public static ExtractionResult deferred(String entityType, String repoFullName, String reason) {
+        return new ExtractionResult(entityType, repoFullName, 0, 0, false, reason, 0, true);
+    }
+
+    /**
+     * Whether the entity was attempted and failed, as opposed to deferred.
+     */
+    public boolean failed() {
+        return !success && !deferred;
     }
 }
@@ -16,11 +16,15 @@ public record ExtractionSummary(
     }
 
     public int failureCount() {
-        return (int) results.stream().filter(r -> !r.success()).count();
+        return (int) results.stream().filter(ExtractionResult::failed).count();
+    }
+
+    public int deferredCount() {
+        return (int) results.stream().filter(ExtractionResult::deferred).count();
     }
 
     public boolean hasFailures() {
-        return results.stream().anyMatch(r -> !r.success());
+        return results.stream().anyMatch(ExtractionResult::failed);
     }
 
     public int totalExtractedForEntity(String entityType) {
@@ -1,11 +1,27 @@
 package com.devpulse.extractor.orchestrator;
 
+import com.devpulse.extractor.client.AdaptiveConcurrencyLimiter;
+import com.devpulse.extractor.client.CommitStore;
+import com.devpulse.extractor.client.ConditionalRequestCache;
+import com.devpulse.extractor.client.Endpoint;
 import com.devpulse.extractor.client.GitHubApiClient;
+import com.devpulse.extractor.client.GitHubAppAuth;
+import com.devpulse.extractor.client.GitHubGraphQLClient;
+import com.devpulse.extractor.client.HedgingPolicy;
+import com.devpulse.extractor.client.RequestPacer;
+import com.devpulse.extractor.client.RetryBudget;
+import com.devpulse.extractor.client.SharedRateLimitFile;
+import com.devpulse.extractor.client.TokenPool;
 import com.devpulse.extractor.config.AppConfig;
 import com.devpulse.extractor.loader.BigQueryLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Main entry point for the DevPulse GitHub data extractor.
  * Parses CLI arguments, initializes components, runs the extraction pipeline,
@@ -27,12 +43,41 @@ public class ExtractorApp {
 
         try {
             AppConfig config = new AppConfig();
-            GitHubApiClient client = new GitHubApiClient(
-                    config.getGithubToken(), config.getGithubUsername());
+            CommitStore commitStore = config.getGithubCommitStoreDir() != null
+                    ? CommitStore.open(Path.of(config.getGithubCommitStoreDir())) : null;
+            GitHubApiClient client = buildClient(config, commitStore);
             BigQueryLoader loader = new BigQueryLoader(config.getGcpProjectId());
 
-            ExtractionOrchestrator orchestrator = new ExtractionOrchestrator(client, loader);
-            ExtractionSummary summary = orchestrator.run(fullMode);
+            GitHubGraphQLClient graphQLClient = config.isGithubGraphQL()
+                    ? new GitHubGraphQLClient(client) : null;
+
+            ExecutionMode mode = config.isExtractionVirtualThreads()
+                    ? ExecutionMode.virtualThreads(config.getExtractionMaxConcurrentRepos(),
+                            config.getExtractionMaxConcurrentReviewRequests())
+                    : ExecutionMode.SEQUENTIAL;
+
+            CommitEnricher commitEnricher = config.getExtractionCommitStatsConcurrency() > 0
+                    ? new CommitEnricher(client, config.getExtractionCommitStatsConcurrency()) : null;
+            ExtractionPlanner planner = config.isExtractionPlanBudget()
+                    ? new ExtractionPlanner(client, commitEnricher != null) : null;
+
+            StatsExtractor statsExtractor = buildStatsExtractor(config, client, loader);
+
+            ExtractionOrchestrator orchestrator = ExtractionOrchestrator.builder(client, loader)
+                    .graphQLClient(graphQLClient)
+                    .mode(mode)
+                    .planner(planner)
+                    .commitEnricher(commitEnricher)
+                    .statsExtractor(statsExtractor)
+                    .build();
+            ExtractionSummary summary;
+            try {
+                summary = orchestrator.run(fullMode);
+            } finally {
+                if (commitStore != null) {
+                    commitStore.close();
+                }
+            }
 
             printSummary(summary);
 
@@ -50,6 +95,60 @@ public class ExtractorApp {
         }
     }
 
+    private static GitHubApiClient buildClient(AppConfig config, CommitStore commitStore) throws IOException {
+        GitHubApiClient.Builder builder = GitHubApiClient.builder(
+                config.getGithubToken(), config.getGithubUsername());
+        SharedRateLimitFile sharedFile = config.getGithubRateLimitFile() != null
+                ? SharedRateLimitFile.open(Path.of(config.getGithubRateLimitFile())) : null;
+        if (config.isGithubApp()) {
+            GitHubAppAuth app = new GitHubAppAuth(config.getGithubAppId(),
+                    GitHubAppAuth.readPrivateKey(Path.of(config.getGithubAppPrivateKeyPath())));
+            logger.info("Authenticating as GitHub App {} across {} installations",
+                    config.getGithubAppId(), config.getGithubAppInstallationIds().size());
+            builder.tokenPool(TokenPool.forInstallations(app, config.getGithubAppInstallationIds(), sharedFile));
+        } else if (config.getGithubTokens().size() > 1 || sharedFile != null) {
+            if (config.getGithubTokens().size() > 1) {
+                logger.info("Spreading GitHub requests across {} tokens", config.getGithubTokens().size());
+            }
+            builder.tokenPool(new TokenPool(config.getGithubTokens(), sharedFile));
+        }
+        if (config.getGithubCacheDir() != null) {
+            builder.responseCache(new ConditionalRequestCache(Path.of(config.getGithubCacheDir())));
+        }
+        if (commitStore != null) {
+            builder.commitStore(commitStore);
+        }
+        config.getGithubPageConcurrency().forEach((endpoint, limit) ->
+                builder.pageConcurrency(Endpoint.fromKey(endpoint), limit));
+        builder.prefetchPages(config.isGithubPrefetchPages());
+        if (config.isGithubHedging()) {
+            builder.hedging(new HedgingPolicy());
+        }
+        if (config.isGithubCircuitBreakers()) {
+            builder.circuitBreakers(true).retryBudget(new RetryBudget());
+        }
+        if (config.isGithubPacing()) {
+            builder.pacer(new RequestPacer());
+        }
+        if (config.getGithubMaxConcurrency() > 0) {
+            builder.adaptiveConcurrency(new AdaptiveConcurrencyLimiter(config.getGithubMaxConcurrency()));
+        }
+        return builder.build();
+    }
+
+    private static StatsExtractor buildStatsExtractor(AppConfig config, GitHubApiClient client,
+                                                      BigQueryLoader loader) {
+        Set<StatsExtractor.Statistic> statistics = EnumSet.noneOf(StatsExtractor.Statistic.class);
+        if (config.isExtractionStats()) {
+            statistics.add(StatsExtractor.Statistic.CONTRIBUTORS);
+            statistics.add(StatsExtractor.Statistic.CODE_FREQUENCY);
+        }
+        if (config.isExtractionPunchCard()) {
+            statistics.add(StatsExtractor.Statistic.PUNCH_CARD);
+        }
+        return statistics.isEmpty() ? null : new StatsExtractor(client, loader, statistics);
+    }
+
     static boolean parseFullMode(String[] args) {
         for (String arg : args) {
             if ("--full".equals(arg)) {
@@ -64,7 +163,7 @@ public class ExtractorApp {
         System.out.println("=== DevPulse Extraction Summary ===");
         System.out.println("Duration: " + summary.totalDurationMs() + "ms");
         System.out.println("Results:  " + summary.successCount() + " successful, "
-                + summary.failureCount() + " failed");
+                + summary.failureCount() + " failed, " + summary.deferredCount() + " deferred");
 
         System.out.println();
         System.out.println("Entity breakdown:");
@@ -73,12 +172,13 @@ public class ExtractorApp {
         printEntityLine(summary, "pull_requests");
         printEntityLine(summary, "reviews");
         printEntityLine(summary, "languages");
+        printEntityLine(summary, "stats");
 
         if (summary.hasFailures()) {
             System.out.println();
             System.out.println("Failures:");
             summary.results().stream()
-                    .filter(r -> !r.success())
+                    .filter(ExtractionResult::failed)
                     .forEach(r -> System.out.println("  - " + r.entityType()
                             + " [" + r.repoFullName() + "]: " + r.errorMessage()));
         }
@@ -89,7 +189,7 @@ public class ExtractorApp {
         int extracted = summary.totalExtractedForEntity(entityType);
         int loaded = summary.totalLoadedForEntity(entityType);
         long failures = summary.results().stream()
-                .filter(r -> r.entityType().equals(entityType) && !r.success())
+                .filter(r -> r.entityType().equals(entityType) && r.failed())
                 .count();
         System.out.printf("  %-16s extracted=%-6d loaded=%-6d failures=%d%n",
                 entityType, extracted, loaded, failures);
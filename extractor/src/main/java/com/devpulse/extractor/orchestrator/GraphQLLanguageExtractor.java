@@ -0,0 +1,56 @@
+package com.devpulse.extractor.orchestrator;
+
+import com.devpulse.extractor.client.GitHubGraphQLClient;
+import com.devpulse.extractor.loader.BigQueryLoader;
+import com.devpulse.extractor.loader.InsertResult;
+import com.devpulse.extractor.model.Language;
+import com.devpulse.extractor.model.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Extracts language statistics for all repositories through batched GraphQL queries
+ * and loads them into BigQuery in one insert. Replaces one REST call per repository
+ * in {@link LanguageExtractor} with one query per chunk of repositories.
+ */
+public class GraphQLLanguageExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphQLLanguageExtractor.class);
+
+    private final GitHubGraphQLClient client;
+    private final BigQueryLoader loader;
+
+    public GraphQLLanguageExtractor(GitHubGraphQLClient client, BigQueryLoader loader) {
+        this.client = client;
+        this.loader = loader;
+    }
+
+    /**
+     * Extracts language stats for all given repositories and loads into BigQuery.
+     *
+     * @param repositories the repositories to fetch languages for
+     * @return the number of language rows loaded
+     */
+    public int extractAndLoad(List<Repository> repositories) throws Exception {
+        List<String> names = repositories.stream().map(Repository::fullName).toList();
+        List<Language> allLanguages = client.getLanguages(names).stream()
+                .filter(language -> language.languages() != null && !language.languages().isEmpty())
+                .toList();
+
+        logger.info("Fetched language data for {} repositories ({} with languages) via GraphQL",
+                repositories.size(), allLanguages.size());
+
+        if (allLanguages.isEmpty()) {
+            return 0;
+        }
+
+        InsertResult result = loader.loadLanguages(allLanguages);
+        if (result.hasErrors()) {
+            logger.warn("Language load had {} errors out of {} rows",
+                    result.errors().size(), result.totalRows());
+        }
+        return result.successfulRows();
+    }
+}
@@ -0,0 +1,86 @@
+package com.devpulse.extractor.orchestrator;
+
+import com.devpulse.extractor.client.GitHubGraphQLClient;
+import com.devpulse.extractor.client.GitHubGraphQLClient.PullRequestWithReviews;
+import com.devpulse.extractor.loader.BigQueryLoader;
+import com.devpulse.extractor.loader.InsertResult;
+import com.devpulse.extractor.model.PullRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Extracts pull requests and their reviews in one pass over the GraphQL API and
+ * loads both into BigQuery. Replaces {@link PullRequestExtractor} followed by
+ * {@link ReviewExtractor}, which need one REST call per pull request for reviews.
+ */
+public class GraphQLPullRequestExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphQLPullRequestExtractor.class);
+
+    private final GitHubGraphQLClient client;
+    private final BigQueryLoader loader;
+
+    public GraphQLPullRequestExtractor(GitHubGraphQLClient client, BigQueryLoader loader) {
+        this.client = client;
+        this.loader = loader;
+    }
+
+    /**
+     * Extracts pull requests with reviews for a repository and loads them into BigQuery.
+     *
+     * @param repoFullName the full repository name (owner/repo)
+     * @param since        if non-null, only PRs updated after this timestamp are fetched
+     * @return the number of pull requests and reviews extracted and loaded
+     */
+    public Counts extractAndLoad(String repoFullName, Instant since) throws Exception {
+        logger.info("Extracting pull requests with reviews for {} via GraphQL (since: {})",
+                repoFullName, since != null ? since : "full");
+
+        List<PullRequestWithReviews> fetched = client.getPullRequestsWithReviews(repoFullName, since);
+        List<PullRequest> pullRequests = fetched.stream().map(PullRequestWithReviews::pullRequest).toList();
+
+        logger.info("Fetched {} pull requests for {}", pullRequests.size(), repoFullName);
+
+        int pullRequestsLoaded = 0;
+        if (!pullRequests.isEmpty()) {
+            InsertResult result = loader.loadPullRequests(repoFullName, pullRequests);
+            if (result.hasErrors()) {
+                logger.warn("PR load for {} had {} errors out of {} rows",
+                        repoFullName, result.errors().size(), result.totalRows());
+            }
+            pullRequestsLoaded = result.successfulRows();
+        }
+
+        int reviewsExtracted = 0;
+        int reviewsLoaded = 0;
+        for (PullRequestWithReviews item : fetched) {
+            if (item.reviews().isEmpty()) {
+                continue;
+            }
+            int prNumber = item.pullRequest().number();
+            reviewsExtracted += item.reviews().size();
+            InsertResult result = loader.loadReviews(repoFullName, prNumber, item.reviews());
+            if (result.hasErrors()) {
+                logger.warn("Review load for {} PR#{} had {} errors",
+                        repoFullName, prNumber, result.errors().size());
+            }
+            reviewsLoaded += result.successfulRows();
+        }
+
+        GitHubGraphQLClient.RateLimit rateLimit = client.rateLimit();
+        logger.info("Loaded {} reviews for {} across {} PRs (GraphQL points remaining: {})",
+                reviewsLoaded, repoFullName, pullRequests.size(),
+                rateLimit != null ? rateLimit.remaining() : "unknown");
+
+        return new Counts(pullRequests.size(), pullRequestsLoaded, reviewsExtracted, reviewsLoaded);
+    }
+
+    /**
+     * Extracted and loaded row counts for one repository.
+     */
+    public record Counts(int pullRequestsExtracted, int pullRequestsLoaded,
+                         int reviewsExtracted, int reviewsLoaded) {}
+}
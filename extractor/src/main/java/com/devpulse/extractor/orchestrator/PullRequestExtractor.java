@@ -12,7 +12,7 @@ import java.util.List;
 
 /**
  * Extracts pull requests from GitHub for a given repository and loads them into BigQuery.
- * Supports incremental extraction by filtering PRs updated since last extraction.
+ * Supports incremental extraction by fetching only PRs updated since last extraction.
  */
 public class PullRequestExtractor {
 
@@ -28,32 +28,18 @@ public class PullRequestExtractor {
 
     /**
      * Extracts pull requests for a repository and loads them into BigQuery.
+     * In incremental mode, pull requests are fetched most recently updated first
+     * and pagination stops once the watermark is crossed.
      *
      * @param repoFullName the full repository name (owner/repo)
-     * @param since        if non-null, only PRs updated after this timestamp are kept
+     * @param since        if non-null, only PRs updated after this timestamp are fetched
      * @return the list of pull requests (for use by ReviewExtractor)
      */
     public List<PullRequest> extractAndLoad(String repoFullName, Instant since) throws Exception {
         logger.info("Extracting pull requests for {} (since: {})", repoFullName,
                 since != null ? since : "full");
 
-        List<PullRequest> pullRequests = client.getPullRequests(repoFullName);
-
-        if (since != null) {
-            pullRequests = pullRequests.stream()
-                    .filter(pr -> {
-                        if (pr.updatedAt() == null) {
-                            return true;
-                        }
-                        try {
-                            Instant updatedAt = Instant.parse(pr.updatedAt());
-                            return updatedAt.isAfter(since);
-                        } catch (Exception e) {
-                            return true;
-                        }
-                    })
-                    .toList();
-        }
+        List<PullRequest> pullRequests = client.getPullRequests(repoFullName, since);
 
         logger.info("Fetched {} pull requests for {}", pullRequests.size(), repoFullName);
 
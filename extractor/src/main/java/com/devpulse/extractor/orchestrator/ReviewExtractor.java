@@ -8,7 +8,13 @@ import com.devpulse.extractor.model.Review;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 /**
  * Extracts reviews for each pull request and loads them into BigQuery.
@@ -19,10 +25,21 @@ public class ReviewExtractor {
 
     private final GitHubApiClient client;
     private final BigQueryLoader loader;
+    private final Semaphore requestPermits;
 
     public ReviewExtractor(GitHubApiClient client, BigQueryLoader loader) {
+        this(client, loader, null);
+    }
+
+    /**
+     * @param requestPermits if non-null, each pull request's reviews are fetched on its
+     *                       own virtual thread, with at most as many fetches in flight as
+     *                       there are permits; the semaphore may be shared across extractors
+     */
+    public ReviewExtractor(GitHubApiClient client, BigQueryLoader loader, Semaphore requestPermits) {
         this.client = client;
         this.loader = loader;
+        this.requestPermits = requestPermits;
     }
 
     /**
@@ -33,25 +50,71 @@ public class ReviewExtractor {
      * @return total number of reviews loaded
      */
     public int extractAndLoad(String repoFullName, List<PullRequest> pullRequests) throws Exception {
+        if (requestPermits != null && pullRequests.size() > 1) {
+            return extractConcurrentlyAndLoad(repoFullName, pullRequests);
+        }
+
         int totalLoaded = 0;
 
         for (PullRequest pr : pullRequests) {
             logger.debug("Extracting reviews for PR #{} in {}", pr.number(), repoFullName);
 
             List<Review> reviews = client.getReviews(repoFullName, pr.number());
+            totalLoaded += load(repoFullName, pr, reviews);
+        }
+
+        logger.info("Loaded {} reviews for {} across {} PRs",
+                totalLoaded, repoFullName, pullRequests.size());
+        return totalLoaded;
+    }
 
-            if (!reviews.isEmpty()) {
-                InsertResult result = loader.loadReviews(repoFullName, pr.number(), reviews);
-                if (result.hasErrors()) {
-                    logger.warn("Review load for {} PR#{} had {} errors",
-                            repoFullName, pr.number(), result.errors().size());
-                }
-                totalLoaded += result.successfulRows();
+    /**
+     * Fetches every pull request's reviews on its own virtual thread, then loads them
+     * in pull request order. As in the sequential path, reviews for the pull requests
+     * before the first failed fetch are loaded and that failure is rethrown.
+     */
+    private int extractConcurrentlyAndLoad(String repoFullName, List<PullRequest> pullRequests)
+            throws Exception {
+        List<Future<List<Review>>> fetches = new ArrayList<>(pullRequests.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (PullRequest pr : pullRequests) {
+                fetches.add(executor.submit(() -> {
+                    requestPermits.acquire();
+                    try {
+                        logger.debug("Extracting reviews for PR #{} in {}", pr.number(), repoFullName);
+                        return client.getReviews(repoFullName, pr.number());
+                    } finally {
+                        requestPermits.release();
+                    }
+                }));
             }
         }
 
+        int totalLoaded = 0;
+        for (int i = 0; i < pullRequests.size(); i++) {
+            List<Review> reviews;
+            try {
+                reviews = fetches.get(i).get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+            totalLoaded += load(repoFullName, pullRequests.get(i), reviews);
+        }
+
         logger.info("Loaded {} reviews for {} across {} PRs",
                 totalLoaded, repoFullName, pullRequests.size());
         return totalLoaded;
     }
+
+    private int load(String repoFullName, PullRequest pr, List<Review> reviews) {
+        if (reviews.isEmpty()) {
+            return 0;
+        }
+        InsertResult result = loader.loadReviews(repoFullName, pr.number(), reviews);
+        if (result.hasErrors()) {
+            logger.warn("Review load for {} PR#{} had {} errors",
+                    repoFullName, pr.number(), result.errors().size());
+        }
+        return result.successfulRows();
+    }
 }
@@ -0,0 +1,219 @@
+package com.devpulse.extractor.orchestrator;
+
+import com.devpulse.extractor.client.GitHubApiClient;
+import com.devpulse.extractor.client.RequestPacer;
+import com.devpulse.extractor.loader.BigQueryLoader;
+import com.devpulse.extractor.loader.InsertResult;
+import com.devpulse.extractor.model.CodeFrequency;
+import com.devpulse.extractor.model.ContributorStats;
+import com.devpulse.extractor.model.PunchCardHour;
+import com.devpulse.extractor.model.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Extracts GitHub's precomputed repository statistics and loads them into BigQuery:
+ * weekly line and commit counts ({@code /stats/contributors} and
+ * {@code /stats/code_frequency}) and the commit punch card ({@code /stats/punch_card}).
+ * One request per repository and statistic gives activity that would otherwise take
+ * fetching every commit. A punch card is loaded as a snapshot for the day it is
+ * extracted.
+ *
+ * <p>GitHub computes statistics in the background and answers 202 Accepted until
+ * they are ready. Nothing waits for them: {@link #start} asks for every repository's
+ * statistics, so GitHub computes them all at once, and loads those already cached.
+ * The caller extracts other entities meanwhile, and {@link #finish} asks once more
+ * for those still pending. Statistics GitHub is still computing then are left for
+ * the next run, by when it has them cached.</p>
+ */
+public class StatsExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatsExtractor.class);
+
+    /** Statistics requests in flight at once within a round. */
+    static final int MAX_CONCURRENT_REQUESTS = 8;
+
+    public enum Statistic { CONTRIBUTORS, CODE_FREQUENCY, PUNCH_CARD }
+
+    private final GitHubApiClient client;
+    private final BigQueryLoader loader;
+    private final Set<Statistic> statistics;
+
+    /**
+     * @param statistics the statistics to extract for every repository
+     */
+    public StatsExtractor(GitHubApiClient client, BigQueryLoader loader, Set<Statistic> statistics) {
+        if (statistics.isEmpty()) {
+            throw new IllegalArgumentException("No statistics to extract");
+        }
+        this.client = client;
+        this.loader = loader;
+        this.statistics = EnumSet.copyOf(statistics);
+    }
+
+    /**
+     * Asks for every repository's statistics and loads those GitHub has ready.
+     *
+     * @return the run to {@link #finish} once other work has given GitHub time
+     */
+    public Run start(List<Repository> repositories) throws InterruptedException {
+        Run run = new Run(LocalDate.now(ZoneOffset.UTC));
+        List<Fetch> fetches = new ArrayList<>();
+        for (Repository repo : repositories) {
+            run.tallies.put(repo.fullName(), new Tally());
+            for (Statistic statistic : statistics) {
+                fetches.add(new Fetch(repo.fullName(), statistic));
+            }
+        }
+        run.pending = poll(fetches, run);
+        if (!run.pending.isEmpty()) {
+            logger.info("GitHub is computing {} repository statistics; asking again at the end of the run",
+                    run.pending.size());
+        }
+        return run;
+    }
+
+    /**
+     * Asks once more for the statistics GitHub was computing when {@code run} started,
+     * and loads those now ready.
+     *
+     * @return one outcome per repository, in repository order
+     */
+    public List<RepositoryStats> finish(Run run) throws InterruptedException {
+        List<Fetch> pending = run.pending.isEmpty() ? List.of() : poll(run.pending, run);
+
+        Set<String> stillComputing = new HashSet<>();
+        for (Fetch fetch : pending) {
+            stillComputing.add(fetch.repoFullName());
+        }
+        if (!stillComputing.isEmpty()) {
+            logger.warn("GitHub was still computing statistics for {} repositories; "
+                    + "leaving them for the next run", stillComputing.size());
+        }
+
+        List<RepositoryStats> outcomes = new ArrayList<>(run.tallies.size());
+        run.tallies.forEach((repoFullName, tally) -> outcomes.add(new RepositoryStats(repoFullName,
+                tally.extracted, tally.loaded, stillComputing.contains(repoFullName), tally.error)));
+        return outcomes;
+    }
+
+    /**
+     * Sends one round of {@code fetches}, each on its own virtual thread, loading
+     * every statistic that is ready.
+     *
+     * @return the fetches GitHub is still computing
+     */
+    private List<Fetch> poll(List<Fetch> fetches, Run run) throws InterruptedException {
+        RequestPacer pacer = client.pacer();
+        if (pacer != null) {
+            pacer.expect(fetches.size());
+        }
+
+        Semaphore permits = new Semaphore(MAX_CONCURRENT_REQUESTS);
+        List<Future<InsertResult>> futures = new ArrayList<>(fetches.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Fetch fetch : fetches) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return fetchAndLoad(fetch, run.extractionDate);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<Fetch> pending = new ArrayList<>();
+        for (int i = 0; i < fetches.size(); i++) {
+            Fetch fetch = fetches.get(i);
+            Tally tally = run.tallies.get(fetch.repoFullName());
+            try {
+                InsertResult result = futures.get(i).get();
+                if (result == null) {
+                    pending.add(fetch);
+                } else {
+                    tally.extracted += result.totalRows();
+                    tally.loaded += result.successfulRows();
+                    if (result.hasErrors()) {
+                        logger.warn("{} statistics load for {} had {} errors out of {} rows",
+                                fetch.statistic(), fetch.repoFullName(), result.errors().size(), result.totalRows());
+                    }
+                }
+            } catch (ExecutionException e) {
+                logger.error("Failed to extract {} statistics for {}", fetch.statistic(), fetch.repoFullName(),
+                        e.getCause());
+                tally.error = String.valueOf(e.getCause().getMessage());
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Fetches one statistic and loads it.
+     *
+     * @return the load result, or null if GitHub is still computing the statistic
+     */
+    private InsertResult fetchAndLoad(Fetch fetch, LocalDate extractionDate) throws Exception {
+        String repoFullName = fetch.repoFullName();
+        return switch (fetch.statistic()) {
+            case CONTRIBUTORS -> {
+                List<ContributorStats> contributors = client.getContributorStats(repoFullName);
+                yield contributors == null ? null : loader.loadContributorStats(repoFullName, contributors);
+            }
+            case CODE_FREQUENCY -> {
+                List<CodeFrequency> weeks = client.getCodeFrequency(repoFullName);
+                yield weeks == null ? null : loader.loadCodeFrequency(repoFullName, weeks);
+            }
+            case PUNCH_CARD -> {
+                List<PunchCardHour> punchCard = client.getPunchCard(repoFullName);
+                yield punchCard == null ? null : loader.loadPunchCard(repoFullName, extractionDate, punchCard);
+            }
+        };
+    }
+
+    private record Fetch(String repoFullName, Statistic statistic) {}
+
+    /**
+     * Statistics requested by {@link #start}: what has been loaded so far, and what
+     * GitHub was still computing.
+     */
+    public static final class Run {
+        private final LocalDate extractionDate;
+        private final Map<String, Tally> tallies = new LinkedHashMap<>();
+        private List<Fetch> pending = List.of();
+
+        private Run(LocalDate extractionDate) {
+            this.extractionDate = extractionDate;
+        }
+    }
+
+    /** Rows extracted and loaded for one repository so far; only touched by the polling thread. */
+    private static final class Tally {
+        int extracted;
+        int loaded;
+        String error;
+    }
+
+    /**
+     * One repository's statistics: the weekly rows extracted and loaded, whether
+     * GitHub was still computing some of them, and the error if a fetch failed.
+     */
+    public record RepositoryStats(String repoFullName, int extracted, int loaded,
+                                  boolean stillComputing, String error) {}
+}
@@ -0,0 +1,30 @@
+package com.devpulse.extractor.orchestrator;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * The incremental watermarks a run starts from. Each entity has one watermark, and a
+ * repository whose entity was deferred while that watermark moved on keeps its own,
+ * older one until it has caught up. A null watermark means everything is extracted.
+ *
+ * @param commits                 commit watermark of every other repository
+ * @param pullRequests            pull request watermark of every other repository
+ * @param repositoryCommits       per-repository commit watermarks
+ * @param repositoryPullRequests  per-repository pull request watermarks
+ */
+public record Watermarks(Instant commits, Instant pullRequests,
+                         Map<String, Instant> repositoryCommits,
+                         Map<String, Instant> repositoryPullRequests) {
+
+    /** No watermarks: a full extraction. */
+    public static final Watermarks NONE = new Watermarks(null, null, Map.of(), Map.of());
+
+    public Instant commitsSince(String repoFullName) {
+        return repositoryCommits.getOrDefault(repoFullName, commits);
+    }
+
+    public Instant pullRequestsSince(String repoFullName) {
+        return repositoryPullRequests.getOrDefault(repoFullName, pullRequests);
+    }
+}
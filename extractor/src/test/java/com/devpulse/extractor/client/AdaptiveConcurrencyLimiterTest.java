@@ -0,0 +1,92 @@
+package com.devpulse.extractor.client;
+
+import com.devpulse.extractor.client.AdaptiveConcurrencyLimiter.Outcome;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimiter} covering admission, additive
+ * increase, backing off on overload and on rising p99 latency.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("Admits requests up to the limit and frees a slot on release")
+    void tryAcquire_stopsAtLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 8);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(Outcome.IGNORE, 0);
+
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Grows while the limit is in use, up to the maximum")
+    void success_growsWhenSaturated() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 4);
+
+        for (int round = 0; round < 20; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(Outcome.SUCCESS, 10);
+            }
+        }
+
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Does not grow while requests leave most of the limit unused")
+    void success_idleDoesNotGrow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 8);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(Outcome.SUCCESS, 10);
+        }
+
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Halves the limit on a secondary rate limit, never below one")
+    void overload_halvesLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 8);
+
+        limiter.tryAcquire();
+        limiter.release(Outcome.OVERLOAD, 10);
+        assertEquals(4, limiter.limit());
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(Outcome.OVERLOAD, 10);
+        }
+        assertEquals(1, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Shrinks when a window's p99 latency exceeds the baseline")
+    void latency_p99AboveBaselineShrinks() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 8);
+
+        for (int i = 0; i < AdaptiveConcurrencyLimiter.WINDOW_SIZE; i++) {
+            limiter.tryAcquire();
+            limiter.release(Outcome.SUCCESS, 10);
+        }
+        assertEquals(8, limiter.limit());
+
+        for (int i = 0; i < AdaptiveConcurrencyLimiter.WINDOW_SIZE; i++) {
+            limiter.tryAcquire();
+            limiter.release(Outcome.SUCCESS, 50);
+        }
+        assertEquals(7, limiter.limit());
+    }
+}
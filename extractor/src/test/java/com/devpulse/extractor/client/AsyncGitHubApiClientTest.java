@@ -0,0 +1,148 @@
+package com.devpulse.extractor.client;
+
+import com.devpulse.extractor.model.Commit;
+import com.devpulse.extractor.model.Language;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AsyncGitHubApiClient} covering pagination, scheduled
+ * retries, error propagation and concurrent in-flight requests.
+ */
+class AsyncGitHubApiClientTest {
+
+    private MockWebServer server;
+    private AsyncGitHubApiClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        String url = server.url("/").toString();
+        GitHubApiClient blocking = new GitHubApiClient("test-token", "testuser", new OkHttpClient(),
+                url.substring(0, url.length() - 1));
+        client = new AsyncGitHubApiClient(blocking, 16);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("Follows Link headers and concatenates pages")
+    void getCommits_followsPages() throws Exception {
+        String page2Url = server.url("/repos/user/repo/commits?page=2").toString();
+        server.enqueue(new MockResponse()
+                .setHeader("Link", "<" + page2Url + ">; rel=\"next\"")
+                .setBody("[{\"sha\": \"a1\"}, {\"sha\": \"a2\"}]"));
+        server.enqueue(new MockResponse().setBody("[{\"sha\": \"b1\"}]"));
+
+        List<Commit> commits = client.getCommits("user/repo", null, null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("a1", "a2", "b1"), commits.stream().map(Commit::sha).toList());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Retries 429 on the timer and completes with the retried response")
+    void retryIsScheduled() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+        server.enqueue(new MockResponse().setBody("{\"Java\": 100}"));
+
+        Language language = client.getLanguages("user/repo").get(5, TimeUnit.SECONDS);
+
+        assertEquals(Map.of("Java", 100L), language.languages());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Non-retryable statuses complete the future exceptionally")
+    void errorStatus_failsFuture() {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.getReviews("user/repo", 1).get(5, TimeUnit.SECONDS));
+        GitHubApiException cause = assertInstanceOf(GitHubApiException.class, e.getCause());
+        assertEquals(404, cause.statusCode());
+    }
+
+    @Test
+    @DisplayName("A request waiting for a concurrency slot takes nothing from the rate-limit budget")
+    void saturatedConcurrency_keepsBudget() throws Exception {
+        String url = server.url("/").toString();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1);
+        GitHubApiClient blocking = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(url.substring(0, url.length() - 1))
+                .adaptiveConcurrency(limiter)
+                .build();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setHeader("X-RateLimit-Limit", "5000")
+                        .setHeader("X-RateLimit-Remaining", "4500")
+                        .setHeader("X-RateLimit-Resource", "core")
+                        .setHeader("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + 3600))
+                        .setBody("{\"Java\": 1}");
+            }
+        });
+        try (AsyncGitHubApiClient limited = new AsyncGitHubApiClient(blocking, 16)) {
+            limited.getLanguages("user/repo").get(5, TimeUnit.SECONDS);
+            int available = blocking.tokenPool().available(RateLimiter.CORE);
+
+            assertTrue(limiter.tryAcquire());
+            CompletableFuture<Language> waiting = limited.getLanguages("user/repo");
+            Thread.sleep(200);
+
+            assertFalse(waiting.isDone());
+            assertEquals(available, blocking.tokenPool().available(RateLimiter.CORE));
+            assertEquals(1, server.getRequestCount());
+
+            limiter.release(AdaptiveConcurrencyLimiter.Outcome.IGNORE, 0);
+            assertEquals(Map.of("Java", 1L), waiting.get(5, TimeUnit.SECONDS).languages());
+        }
+    }
+
+    @Test
+    @DisplayName("Keeps many requests in flight without a thread per request")
+    void manyRequestsInFlight() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(100);
+                inFlight.decrementAndGet();
+                return new MockResponse().setBody("{\"Java\": 1}");
+            }
+        });
+
+        List<CompletableFuture<Language>> futures = IntStream.range(0, 12)
+                .mapToObj(i -> client.getLanguages("user/repo" + i))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        assertEquals("user/repo7", futures.get(7).join().repoFullName());
+        assertTrue(maxInFlight.get() > 1, "expected concurrent requests, saw " + maxInFlight.get());
+    }
+}
@@ -0,0 +1,69 @@
+package com.devpulse.extractor.client;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CircuitBreaker} covering when it opens and the half-open
+ * trial request.
+ */
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    private final CircuitBreaker breaker = new CircuitBreaker(Endpoint.COMMITS, clock::get);
+
+    @Test
+    @DisplayName("Opens once half of at least ten recent requests failed")
+    void failureRate_opensBreaker() {
+        for (int i = 0; i < CircuitBreaker.MIN_CALLS - 1; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        // Rate limits say nothing about GitHub's health
+        breaker.onIgnored();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Stays closed while most requests succeed")
+    void occasionalFailures_stayClosed() {
+        for (int i = 0; i < 100; i++) {
+            if (i % 3 == 0) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    @DisplayName("Lets one trial through after the open period and closes or reopens on its outcome")
+    void halfOpen_singleTrial() {
+        for (int i = 0; i < CircuitBreaker.MIN_CALLS; i++) {
+            breaker.onFailure();
+        }
+        clock.addAndGet(CircuitBreaker.OPEN_MS);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire(), "Only one trial at a time");
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        clock.addAndGet(CircuitBreaker.OPEN_MS);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+    }
+}
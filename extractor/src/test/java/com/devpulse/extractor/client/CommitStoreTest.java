@@ -0,0 +1,73 @@
+package com.devpulse.extractor.client;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CommitStore} covering lookups across reopening, compaction
+ * of many segments, and rejecting files that are not segments.
+ */
+class CommitStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Records are found before and after a flush, and by a reopened store")
+    void get_findsPendingAndFlushedRecords() throws IOException {
+        String sha = "a".repeat(40);
+        CommitStore.Entry entry = new CommitStore.Entry(10, 4, 3, 42L, CommitStore.messageHash("Fix bug"));
+
+        CommitStore store = CommitStore.open(dir);
+        store.put(sha.toUpperCase(), entry);
+        store.put("abc123", entry);
+        assertEquals(entry, store.get(sha));
+        store.close();
+
+        CommitStore reopened = CommitStore.open(dir);
+        assertEquals(entry, reopened.get(sha));
+        assertNull(reopened.get("b".repeat(40)));
+        assertNull(reopened.get("abc123"));
+        assertEquals(1, reopened.segmentCount());
+    }
+
+    @Test
+    @DisplayName("Merges segments into one once there are too many, keeping every record")
+    void flush_compactsSegments() throws IOException {
+        CommitStore store = CommitStore.open(dir);
+        for (int i = 0; i <= CommitStore.MAX_SEGMENTS; i++) {
+            store.put(sha(i), new CommitStore.Entry(i, i, 1, 0, 0));
+            // The same SHA in every segment is kept once
+            store.put(sha(1000), new CommitStore.Entry(1, 1, 1, 0, 0));
+            store.flush();
+        }
+
+        assertEquals(1, store.segmentCount());
+        CommitStore reopened = CommitStore.open(dir);
+        for (int i = 0; i <= CommitStore.MAX_SEGMENTS; i++) {
+            assertEquals(i, reopened.get(sha(i)).additions());
+        }
+        assertNotNull(reopened.get(sha(1000)));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Refuses a segment file that was not written by the store")
+    void open_rejectsForeignSegment() throws IOException {
+        Files.writeString(dir.resolve("segment-0000000000.dpc"), "not a segment, just some text");
+
+        assertThrows(IOException.class, () -> CommitStore.open(dir));
+    }
+
+    private static String sha(int i) {
+        return "%040x".formatted(i * 7919L);
+    }
+}
@@ -0,0 +1,96 @@
+package com.devpulse.extractor.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ConditionalRequestCache} persistence.
+ */
+class ConditionalRequestCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    @DisplayName("Entries survive a new cache instance over the same directory")
+    void put_thenGetFromNewInstance() throws Exception {
+        ConditionalRequestCache cache = new ConditionalRequestCache(cacheDir);
+        cache.put(new ConditionalRequestCache.Entry("https://api.github.com/user/repos",
+                "W/\"abc\"", "Mon, 01 Jan 2024 00:00:00 GMT", "[]",
+                "https://api.github.com/user/repos?page=2"));
+
+        ConditionalRequestCache reopened = new ConditionalRequestCache(cacheDir);
+        ConditionalRequestCache.Entry entry = reopened.get("https://api.github.com/user/repos");
+
+        assertNotNull(entry);
+        assertEquals("W/\"abc\"", entry.etag());
+        assertEquals("Mon, 01 Jan 2024 00:00:00 GMT", entry.lastModified());
+        assertEquals("[]", entry.body());
+        assertEquals("https://api.github.com/user/repos?page=2", entry.nextUrl());
+    }
+
+    @Test
+    @DisplayName("Returns null for URLs that were never cached")
+    void get_unknownUrl() throws Exception {
+        ConditionalRequestCache cache = new ConditionalRequestCache(cacheDir);
+
+        assertNull(cache.get("https://api.github.com/unknown"));
+    }
+
+    @Test
+    @DisplayName("A later put replaces the earlier entry")
+    void put_replacesEntry() throws Exception {
+        ConditionalRequestCache cache = new ConditionalRequestCache(cacheDir);
+        cache.put(new ConditionalRequestCache.Entry("u", "\"v1\"", null, "[1]", null));
+        cache.put(new ConditionalRequestCache.Entry("u", "\"v2\"", null, "[2]", null));
+
+        ConditionalRequestCache.Entry entry = new ConditionalRequestCache(cacheDir).get("u");
+
+        assertEquals("\"v2\"", entry.etag());
+        assertEquals("[2]", entry.body());
+    }
+
+    @Test
+    @DisplayName("Keeps only the most recently used entries in memory, serving the rest from disk")
+    void memory_isBounded() throws Exception {
+        ConditionalRequestCache cache = new ConditionalRequestCache(cacheDir, 2, Duration.ofDays(30));
+        for (int i = 0; i < 5; i++) {
+            cache.put(new ConditionalRequestCache.Entry("u" + i, "\"v" + i + "\"", null, "[]", null));
+        }
+
+        assertEquals(2, cache.memoryEntries());
+        assertEquals("\"v0\"", cache.get("u0").etag());
+        assertEquals(2, cache.memoryEntries());
+    }
+
+    @Test
+    @DisplayName("Deletes entries not written or read within the maximum age when opened")
+    void open_prunesStaleEntries() throws Exception {
+        ConditionalRequestCache cache = new ConditionalRequestCache(cacheDir);
+        cache.put(new ConditionalRequestCache.Entry("old", "\"a\"", null, "[]", null));
+        FileTime monthAgo = FileTime.from(Instant.now().minus(Duration.ofDays(31)));
+        try (var files = Files.list(cacheDir)) {
+            for (Path file : files.toList()) {
+                Files.setLastModifiedTime(file, monthAgo);
+            }
+        }
+        cache.put(new ConditionalRequestCache.Entry("fresh", "\"b\"", null, "[]", null));
+
+        ConditionalRequestCache reopened = new ConditionalRequestCache(cacheDir);
+
+        assertNull(reopened.get("old"));
+        assertNotNull(reopened.get("fresh"));
+        try (var files = Files.list(cacheDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
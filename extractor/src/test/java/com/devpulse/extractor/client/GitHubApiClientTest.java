@@ -1,15 +1,30 @@
 package com.devpulse.extractor.client;
 
 import com.devpulse.extractor.model.*;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
 import okhttp3.OkHttpClient;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -93,39 +108,35 @@ class GitHubApiClientTest {
     // =========================================================================
 
     @Test
-    @DisplayName("handleRateLimitPause does nothing when remaining is above threshold")
-    void handleRateLimitPause_aboveThreshold() throws Exception {
+    @DisplayName("Responses resync the rate limiter from their headers")
+    void rateLimitHeaders_syncLimiter() throws Exception {
         server.enqueue(new MockResponse()
                 .setResponseCode(200)
+                .setHeader("X-RateLimit-Limit", "5000")
                 .setHeader("X-RateLimit-Remaining", "4500")
+                .setHeader("X-RateLimit-Resource", "core")
                 .setHeader("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + 3600))
-                .setBody("[]"));
-
-        var request = client.buildRequest(server.url("/test").toString(), null, null);
-        var response = new OkHttpClient().newCall(request).execute();
+                .setBody("{}"));
 
-        long start = System.currentTimeMillis();
-        client.handleRateLimitPause(response);
-        long elapsed = System.currentTimeMillis() - start;
+        client.executeWithRetry(client.buildRequest(server.url("/test").toString(), null, null));
 
-        // Should not have paused — elapsed should be well under 1 second
-        assertTrue(elapsed < 1000, "Should not pause when rate limit remaining is above threshold");
-        response.close();
+        assertEquals(4400, client.tokenPool().available("core"));
+        assertEquals(0, client.tokenPool().available("graphql"));
     }
 
     @Test
-    @DisplayName("handleRateLimitPause skips when headers are missing")
-    void handleRateLimitPause_missingHeaders() throws Exception {
-        server.enqueue(new MockResponse()
-                .setResponseCode(200)
-                .setBody("[]"));
+    @DisplayName("Responses without rate-limit headers leave the limiter unbounded")
+    void rateLimitHeaders_missing() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
 
-        var request = client.buildRequest(server.url("/test").toString(), null, null);
-        var response = new OkHttpClient().newCall(request).execute();
+        String url = server.url("/test").toString();
+        client.executeWithRetry(client.buildRequest(url, null, null));
+        long start = System.currentTimeMillis();
+        client.executeWithRetry(client.buildRequest(url, null, null));
 
-        // Should not throw or block
-        assertDoesNotThrow(() -> client.handleRateLimitPause(response));
-        response.close();
+        assertTrue(System.currentTimeMillis() - start < 1000, "Should not pause without rate-limit headers");
+        assertTrue(client.tokenPool().available("core") > 0);
     }
 
     // =========================================================================
@@ -236,6 +247,204 @@ class GitHubApiClientTest {
         assertThrows(IOException.class, () -> client.executePageWithRetry(request));
     }
 
+    @Test
+    @DisplayName("Retries a secondary rate limit 403 and halves the adaptive concurrency limit")
+    void secondaryRateLimit403_retriedAndLimitLowered() throws Exception {
+        AdaptiveConcurrencyLimiter concurrency = new AdaptiveConcurrencyLimiter(4, 8);
+        GitHubApiClient limited = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .adaptiveConcurrency(concurrency)
+                .build();
+        server.enqueue(new MockResponse()
+                .setResponseCode(403)
+                .setHeader("Retry-After", "0")
+                .setBody("{\"message\": \"You have exceeded a secondary rate limit.\"}"));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("[]"));
+
+        var result = limited.executePageWithRetry(limited.buildRequest(server.url("/test").toString(), null, null));
+
+        assertEquals("[]", result.body());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(2, concurrency.limit());
+    }
+
+    @Test
+    @DisplayName("A request waiting for a concurrency slot takes nothing from the rate-limit budget")
+    void saturatedConcurrency_keepsBudget() throws Exception {
+        AdaptiveConcurrencyLimiter concurrency = new AdaptiveConcurrencyLimiter(1, 1);
+        GitHubApiClient limited = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .adaptiveConcurrency(concurrency)
+                .build();
+        for (int i = 0; i < 2; i++) {
+            server.enqueue(new MockResponse()
+                    .setHeader("X-RateLimit-Limit", "5000")
+                    .setHeader("X-RateLimit-Remaining", "4500")
+                    .setHeader("X-RateLimit-Resource", "core")
+                    .setHeader("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + 3600))
+                    .setBody("[]"));
+        }
+        var request = limited.buildRequest(server.url("/test").toString(), null, null);
+        limited.executePageWithRetry(request);
+        int available = limited.tokenPool().available(RateLimiter.CORE);
+
+        assertTrue(concurrency.tryAcquire());
+        Thread waiting = Thread.ofVirtual().start(() -> {
+            try {
+                limited.executePageWithRetry(request);
+            } catch (IOException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(200);
+
+        assertTrue(waiting.isAlive());
+        assertEquals(available, limited.tokenPool().available(RateLimiter.CORE));
+        assertEquals(1, server.getRequestCount());
+        concurrency.release(AdaptiveConcurrencyLimiter.Outcome.IGNORE, 0);
+        waiting.join(5_000);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Does not retry a 403 for missing permissions")
+    void forbidden403_notRetried() {
+        server.enqueue(new MockResponse()
+                .setResponseCode(403)
+                .setHeader("X-RateLimit-Remaining", "4000")
+                .setBody("{\"message\": \"Resource not accessible by integration\"}"));
+
+        var request = client.buildRequest(server.url("/test").toString(), null, null);
+
+        GitHubApiException e = assertThrows(GitHubApiException.class, () -> client.executePageWithRetry(request));
+        assertEquals(403, e.statusCode());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Fails fast without sending once an endpoint's circuit breaker opens")
+    void circuitBreaker_openFailsFast() throws Exception {
+        GitHubApiClient breakingClient = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl())
+                .circuitBreakers(true)
+                .build();
+        for (int i = 0; i < CircuitBreaker.MIN_CALLS; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+        for (int i = 0; i < CircuitBreaker.MIN_CALLS; i++) {
+            assertThrows(GitHubApiException.class, () -> breakingClient.getLanguages("user/repo"));
+        }
+
+        CircuitOpenException e = assertThrows(CircuitOpenException.class,
+                () -> breakingClient.getLanguages("user/repo"));
+        assertEquals(Endpoint.LANGUAGES, e.endpoint());
+        assertEquals(CircuitBreaker.MIN_CALLS, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.CLOSED, breakingClient.circuitBreaker(Endpoint.COMMITS).state());
+    }
+
+    @Test
+    @DisplayName("Stops retrying once the shared retry budget is spent")
+    void retryBudget_exhaustedStopsRetries() {
+        RetryBudget budget = new RetryBudget(0.1, 1);
+        GitHubApiClient budgetedClient = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl())
+                .retryBudget(budget)
+                .build();
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+        }
+
+        var request = budgetedClient.buildRequest(server.url("/test").toString(), null, null);
+
+        IOException e = assertThrows(IOException.class, () -> budgetedClient.executePageWithRetry(request));
+        assertTrue(e.getMessage().startsWith("Retry budget exhausted"));
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, budget.retryCount());
+    }
+
+    @Test
+    @DisplayName("Jittered backoff stays between the initial and three times the previous wait")
+    void nextBackoffMs_isJitteredAndCapped() {
+        for (int i = 0; i < 100; i++) {
+            long backoffMs = GitHubApiClient.nextBackoffMs(4_000);
+            assertTrue(backoffMs >= GitHubApiClient.INITIAL_BACKOFF_MS && backoffMs < 12_000);
+            assertTrue(GitHubApiClient.nextBackoffMs(1_000_000) <= GitHubApiClient.MAX_BACKOFF_MS);
+        }
+    }
+
+    @Test
+    @DisplayName("The first retry wait is jittered too, so requests failing together do not retry in lockstep")
+    void firstBackoffMs_varies() {
+        Set<Long> waits = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            long backoffMs = GitHubApiClient.firstBackoffMs();
+            assertTrue(backoffMs >= GitHubApiClient.INITIAL_BACKOFF_MS
+                    && backoffMs < 3 * GitHubApiClient.INITIAL_BACKOFF_MS);
+            waits.add(backoffMs);
+        }
+        assertTrue(waits.size() > 1);
+    }
+
+    // =========================================================================
+    // Budget planning probe tests
+    // =========================================================================
+
+    @Test
+    @DisplayName("Counts list items from the last page of a per_page=1 request")
+    void countCommits_readsLastPage() throws Exception {
+        GitHubApiClient probingClient = new GitHubApiClient("test-token", "testuser", new OkHttpClient(), baseUrl());
+        server.enqueue(new MockResponse()
+                .setHeader("Link", "<" + baseUrl() + "/repos/user/repo/commits?per_page=1&page=2>; rel=\"next\", "
+                        + "<" + baseUrl() + "/repos/user/repo/commits?per_page=1&page=347>; rel=\"last\"")
+                .setBody("[{\"sha\": \"abc\"}]"));
+        server.enqueue(new MockResponse().setBody("[]"));
+
+        assertEquals(347, probingClient.countCommits("user/repo", Instant.parse("2024-01-01T00:00:00Z")));
+        assertEquals(0, probingClient.countCommits("user/repo", null));
+
+        String path = server.takeRequest().getPath();
+        assertTrue(path.contains("per_page=1&"), path);
+        assertTrue(path.contains("since=2024-01-01T00:00:00Z"), path);
+    }
+
+    @Test
+    @DisplayName("Estimates pull requests updated since a cutoff by probing at doubling positions")
+    void estimatePullRequestsUpdatedSince_doublingProbes() throws Exception {
+        GitHubApiClient probingClient = new GitHubApiClient("test-token", "testuser", new OkHttpClient(), baseUrl());
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                int page = Integer.parseInt(request.getRequestUrl().queryParameter("page"));
+                // The 11 most recently updated pull requests are after the cutoff
+                String updatedAt = page <= 11 ? "2024-06-01T00:00:00Z" : "2024-01-01T00:00:00Z";
+                return new MockResponse()
+                        .setHeader("Link", "<" + baseUrl() + "/repos/user/repo/pulls?per_page=1&page=500>; rel=\"last\"")
+                        .setBody("[{\"number\": " + page + ", \"updated_at\": \"" + updatedAt + "\"}]");
+            }
+        });
+
+        long estimate = probingClient.estimatePullRequestsUpdatedSince("user/repo", Instant.parse("2024-03-01T00:00:00Z"));
+
+        assertEquals(15, estimate);
+        assertEquals(5, server.getRequestCount()); // pages 1, 2, 4, 8, 16
+    }
+
+    @Test
+    @DisplayName("Reads the core budget from /rate_limit")
+    void getCoreRateLimit_readsCoreResource() throws Exception {
+        GitHubApiClient probingClient = new GitHubApiClient("test-token", "testuser", new OkHttpClient(), baseUrl());
+        server.enqueue(new MockResponse().setBody("{\"resources\": {"
+                + "\"core\": {\"limit\": 5000, \"remaining\": 4321, \"used\": 679, \"reset\": 1700000000},"
+                + "\"search\": {\"limit\": 30, \"remaining\": 30, \"used\": 0, \"reset\": 1700000060}}}"));
+
+        RateLimit core = probingClient.getCoreRateLimit();
+
+        assertEquals(new RateLimit(5000, 4321, 679, 1700000000L), core);
+        assertEquals("/rate_limit", server.takeRequest().getPath());
+    }
+
     // =========================================================================
     // Request building tests
     // =========================================================================
@@ -249,7 +458,7 @@ class GitHubApiClientTest {
                 .setBody("[]"));
 
         var request = client.buildRequest(server.url("/test").toString(), null, null);
-        new OkHttpClient().newCall(request).execute().close();
+        client.executeWithRetry(request);
 
         RecordedRequest recorded = server.takeRequest();
         assertEquals("Bearer test-token", recorded.getHeader("Authorization"));
@@ -532,6 +741,561 @@ class GitHubApiClientTest {
         assertEquals(2, server.getRequestCount());
     }
 
+    // =========================================================================
+    // Commit time-window tests
+    // =========================================================================
+
+    @Test
+    @DisplayName("getCommits pushes since/until down to the API as query parameters")
+    void getCommits_withWindow_sendsSinceAndUntil() throws Exception {
+        GitHubApiClient windowClient = new GitHubApiClient("test-token", "testuser",
+                new OkHttpClient(), baseUrl());
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("X-RateLimit-Remaining", "4999")
+                .setBody("[]"));
+
+        windowClient.getCommits("user/repo",
+                Instant.parse("2024-05-15T12:00:00Z"), Instant.parse("2024-05-16T12:00:00Z"));
+
+        RecordedRequest recorded = server.takeRequest();
+        assertEquals("/repos/user/repo/commits", recorded.getRequestUrl().encodedPath());
+        assertEquals("testuser", recorded.getRequestUrl().queryParameter("author"));
+        assertEquals("2024-05-15T12:00:00Z", recorded.getRequestUrl().queryParameter("since"));
+        assertEquals("2024-05-16T12:00:00Z", recorded.getRequestUrl().queryParameter("until"));
+    }
+
+    @Test
+    @DisplayName("commitsUrl omits since/until for a full extraction")
+    void commitsUrl_withoutWindow() {
+        String url = client.commitsUrl("user/repo", null, null);
+
+        assertEquals("https://api.github.com/repos/user/repo/commits?per_page=100&author=testuser", url);
+    }
+
+    // =========================================================================
+    // Early-terminating pull request pagination tests
+    // =========================================================================
+
+    @Test
+    @DisplayName("getPullRequests with a watermark sorts by updated and stops at the cutoff")
+    void getPullRequests_withWatermark_stopsAtCutoff() throws Exception {
+        GitHubApiClient prClient = new GitHubApiClient("test-token", "testuser",
+                new OkHttpClient(), baseUrl());
+        String page2Url = server.url("/repos/user/repo/pulls?page=2").toString();
+        String page3Url = server.url("/repos/user/repo/pulls?page=3").toString();
+
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Link", "<" + page2Url + ">; rel=\"next\"")
+                .setBody("""
+                        [{"number": 3, "updated_at": "2024-05-20T00:00:00Z"},
+                         {"number": 2, "updated_at": "2024-05-18T00:00:00Z"}]"""));
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Link", "<" + page3Url + ">; rel=\"next\"")
+                .setBody("""
+                        [{"number": 5, "updated_at": "2024-05-16T00:00:00Z"},
+                         {"number": 1, "updated_at": "2024-05-10T00:00:00Z"},
+                         {"number": 4, "updated_at": "2024-05-09T00:00:00Z"}]"""));
+
+        List<PullRequest> prs = prClient.getPullRequests("user/repo",
+                Instant.parse("2024-05-15T00:00:00Z"));
+
+        assertEquals(List.of(3, 2, 5), prs.stream().map(PullRequest::number).toList());
+        assertEquals(2, server.getRequestCount());
+
+        RecordedRequest first = server.takeRequest();
+        assertEquals("updated", first.getRequestUrl().queryParameter("sort"));
+        assertEquals("desc", first.getRequestUrl().queryParameter("direction"));
+        assertEquals("all", first.getRequestUrl().queryParameter("state"));
+    }
+
+    @Test
+    @DisplayName("isAtOrBefore treats missing or unparseable timestamps as inside the window")
+    void isAtOrBefore_edgeCases() {
+        Instant cutoff = Instant.parse("2024-05-15T00:00:00Z");
+
+        assertTrue(GitHubApiClient.isAtOrBefore("2024-05-15T00:00:00Z", cutoff));
+        assertTrue(GitHubApiClient.isAtOrBefore("2024-05-14T23:59:59Z", cutoff));
+        assertFalse(GitHubApiClient.isAtOrBefore("2024-05-15T00:00:01Z", cutoff));
+        assertFalse(GitHubApiClient.isAtOrBefore(null, cutoff));
+        assertFalse(GitHubApiClient.isAtOrBefore("not-a-date", cutoff));
+    }
+
+    // =========================================================================
+    // Streaming page iteration tests
+    // =========================================================================
+
+    @Test
+    @DisplayName("getCommitPages requests each page only when the iterator advances")
+    void getCommitPages_fetchesLazily() throws Exception {
+        GitHubApiClient streamingClient = new GitHubApiClient("test-token", "testuser",
+                new OkHttpClient(), baseUrl());
+        String page2Url = server.url("/repos/user/repo/commits?page=2").toString();
+
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Link", "<" + page2Url + ">; rel=\"next\"")
+                .setBody("[{\"sha\": \"a1\"}, {\"sha\": \"a2\"}]"));
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("[{\"sha\": \"b1\"}]"));
+
+        Iterator<List<Commit>> pages = streamingClient
+                .getCommitPages("user/repo", null, null).iterator();
+        assertEquals(0, server.getRequestCount());
+
+        assertEquals(List.of("a1", "a2"), pages.next().stream().map(Commit::sha).toList());
+        assertEquals(1, server.getRequestCount());
+
+        assertEquals(List.of("b1"), pages.next().stream().map(Commit::sha).toList());
+        assertFalse(pages.hasNext());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Prefetch requests the next page before the caller asks for it")
+    void getCommitPages_prefetchesNextPage() throws Exception {
+        GitHubApiClient prefetchingClient = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl())
+                .prefetchPages(true)
+                .build();
+        String page2Url = server.url("/repos/user/repo/commits?page=2").toString();
+        String page3Url = server.url("/repos/user/repo/commits?page=3").toString();
+
+        server.enqueue(new MockResponse()
+                .setHeader("Link", "<" + page2Url + ">; rel=\"next\"")
+                .setBodyDelay(200, TimeUnit.MILLISECONDS)
+                .setBody("[{\"sha\": \"a1\"}]"));
+        server.enqueue(new MockResponse()
+                .setHeader("Link", "<" + page3Url + ">; rel=\"next\"")
+                .setBody("[{\"sha\": \"b1\"}]"));
+        server.enqueue(new MockResponse().setBody("[{\"sha\": \"c1\"}]"));
+
+        Iterator<List<Commit>> pages = prefetchingClient
+                .getCommitPages("user/repo", null, null).iterator();
+
+        assertEquals(List.of("a1"), pages.next().stream().map(Commit::sha).toList());
+        assertNotNull(server.takeRequest(1, TimeUnit.SECONDS));
+        // Page 2 goes out while page 1 is still being consumed
+        assertEquals("/repos/user/repo/commits?page=2", server.takeRequest(1, TimeUnit.SECONDS).getPath());
+
+        assertEquals(List.of("b1"), pages.next().stream().map(Commit::sha).toList());
+        assertEquals("/repos/user/repo/commits?page=3", server.takeRequest(1, TimeUnit.SECONDS).getPath());
+        assertEquals(List.of("c1"), pages.next().stream().map(Commit::sha).toList());
+        assertFalse(pages.hasNext());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Page iteration surfaces request failures as UncheckedIOException")
+    void iteratePages_failureIsUnchecked() {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("not found"));
+
+        Iterator<List<Repository>> pages = client.iteratePages(server.url("/user/repos").toString(),
+                new com.fasterxml.jackson.core.type.TypeReference<List<Repository>>() {},
+                item -> false).iterator();
+
+        assertThrows(UncheckedIOException.class, pages::hasNext);
+    }
+
+    // =========================================================================
+    // Parallel page fan-out tests
+    // =========================================================================
+
+    @Test
+    @DisplayName("Fans out to all pages from rel=\"last\" and reassembles them in order")
+    void fetchAllPages_fansOutUsingLastLink() throws Exception {
+        GitHubApiClient fanOutClient = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl())
+                .pageConcurrency(Endpoint.COMMITS, 3)
+                .build();
+        String pageUrl = server.url("/repos/user/repo/commits?per_page=100&page=").toString();
+
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String page = request.getRequestUrl().queryParameter("page");
+                if (page == null) {
+                    return new MockResponse()
+                            .setHeader("Link", "<" + pageUrl + "2>; rel=\"next\", <" + pageUrl + "4>; rel=\"last\"")
+                            .setBody("[{\"sha\": \"p1\"}]");
+                }
+                // Earlier pages answer later, so completion order differs from page order
+                return new MockResponse()
+                        .setBodyDelay(50L * (5 - Integer.parseInt(page)), TimeUnit.MILLISECONDS)
+                        .setBody("[{\"sha\": \"p" + page + "\"}]");
+            }
+        });
+
+        List<Commit> commits = fanOutClient.getCommits("user/repo", null, null);
+
+        assertEquals(List.of("p1", "p2", "p3", "p4"), commits.stream().map(Commit::sha).toList());
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("getCommitPages fans out from rel=\"last\" and streams pages in order")
+    void getCommitPages_fansOutUsingLastLink() throws Exception {
+        GitHubApiClient fanOutClient = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl())
+                .pageConcurrency(Endpoint.COMMITS, 2)
+                .build();
+        String pageUrl = server.url("/repos/user/repo/commits?per_page=100&page=").toString();
+
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String page = request.getRequestUrl().queryParameter("page");
+                if (page == null) {
+                    return new MockResponse()
+                            .setHeader("Link", "<" + pageUrl + "2>; rel=\"next\", <" + pageUrl + "5>; rel=\"last\"")
+                            .setBody("[{\"sha\": \"p1\"}]");
+                }
+                return new MockResponse()
+                        .setBodyDelay(20L * (6 - Integer.parseInt(page)), TimeUnit.MILLISECONDS)
+                        .setBody("[{\"sha\": \"p" + page + "\"}]");
+            }
+        });
+
+        Iterator<List<Commit>> pages = fanOutClient.getCommitPages("user/repo", null, null).iterator();
+        assertEquals("p1", pages.next().get(0).sha());
+        // Pages 2 and 3 are requested while page 1 is consumed
+        Thread.sleep(300);
+        assertEquals(3, server.getRequestCount());
+        for (String expected : List.of("p2", "p3", "p4", "p5")) {
+            assertEquals(expected, pages.next().get(0).sha());
+        }
+        assertFalse(pages.hasNext());
+        assertEquals(5, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Closing a page iterator early cancels the pages fanned out ahead and returns their permits")
+    void getCommitPages_closeCancelsPagesAhead() throws Exception {
+        GitHubApiClient fanOutClient = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl())
+                .pageConcurrency(Endpoint.COMMITS, 2)
+                .build();
+
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String pageUrl = request.getRequestUrl().newBuilder().removeAllQueryParameters("page")
+                        .build() + "&page=";
+                String page = request.getRequestUrl().queryParameter("page");
+                if (page == null) {
+                    return new MockResponse()
+                            .setHeader("Link", "<" + pageUrl + "2>; rel=\"next\", <" + pageUrl + "3>; rel=\"last\"")
+                            .setBody("[{\"sha\": \"p1\"}]");
+                }
+                return new MockResponse()
+                        .setBodyDelay(2, TimeUnit.SECONDS)
+                        .setBody("[{\"sha\": \"p" + page + "\"}]");
+            }
+        });
+
+        Iterator<List<Commit>> abandoned = fanOutClient.getCommitPages("user/one", null, null).iterator();
+        abandoned.next();
+        ((AutoCloseable) abandoned).close();
+        assertFalse(abandoned.hasNext());
+
+        // Both commits permits must be free again for another listing's fan-out
+        long start = System.nanoTime();
+        Iterator<List<Commit>> next = fanOutClient.getCommitPages("user/two", null, null).iterator();
+        assertEquals("p1", next.next().get(0).sha());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        ((AutoCloseable) next).close();
+    }
+
+    @Test
+    @DisplayName("expandPageUrls derives every page URL between next and last")
+    void expandPageUrls_numberedLinks() {
+        List<String> urls = GitHubApiClient.expandPageUrls(
+                "https://api.github.com/repos/u/r/commits?per_page=100&page=2",
+                "https://api.github.com/repos/u/r/commits?per_page=100&page=4");
+
+        assertEquals(List.of(
+                "https://api.github.com/repos/u/r/commits?per_page=100&page=2",
+                "https://api.github.com/repos/u/r/commits?per_page=100&page=3",
+                "https://api.github.com/repos/u/r/commits?per_page=100&page=4"), urls);
+    }
+
+    @Test
+    @DisplayName("expandPageUrls returns nothing for cursor-based or missing links")
+    void expandPageUrls_unsupportedLinks() {
+        assertTrue(GitHubApiClient.expandPageUrls(null, null).isEmpty());
+        assertTrue(GitHubApiClient.expandPageUrls(
+                "https://api.github.com/x?after=abc", "https://api.github.com/x?page=9").isEmpty());
+    }
+
+    @Test
+    @DisplayName("parseLastPageUrl extracts the last URL from the Link header")
+    void parseLastPageUrl_withNextAndLast() {
+        String linkHeader = "<https://api.github.com/user/repos?page=2>; rel=\"next\", "
+                + "<https://api.github.com/user/repos?page=5>; rel=\"last\"";
+
+        assertEquals("https://api.github.com/user/repos?page=5", GitHubApiClient.parseLastPageUrl(linkHeader));
+        assertNull(GitHubApiClient.parseLastPageUrl("<https://api.github.com/x?page=2>; rel=\"next\""));
+    }
+
+    @Test
+    @DisplayName("Endpoint.of classifies request URLs into endpoint families")
+    void endpoint_classification() {
+        assertEquals(Endpoint.REPOSITORIES, Endpoint.of("https://api.github.com/user/repos?per_page=100"));
+        assertEquals(Endpoint.COMMITS, Endpoint.of("https://api.github.com/repos/u/r/commits?page=2"));
+        assertEquals(Endpoint.COMMITS, Endpoint.of("https://ghe.example.com/api/v3/repos/u/r/commits"));
+        assertEquals(Endpoint.PULL_REQUESTS, Endpoint.of("https://api.github.com/repos/u/r/pulls?state=all"));
+        assertEquals(Endpoint.REVIEWS, Endpoint.of("https://api.github.com/repos/u/r/pulls/42/reviews"));
+        assertEquals(Endpoint.LANGUAGES, Endpoint.of("https://api.github.com/repos/u/r/languages"));
+        assertEquals(Endpoint.OTHER, Endpoint.of("https://api.github.com/rate_limit"));
+        assertEquals(Endpoint.PULL_REQUESTS, Endpoint.fromKey("pull_requests"));
+    }
+
+    // =========================================================================
+    // Single-flight tests
+    // =========================================================================
+
+    @Test
+    @DisplayName("Concurrent fetches of the same URL share one request and one decoded result")
+    void singleFlight_coalescesConcurrentFetches() throws Exception {
+        GitHubApiClient sharedClient = new GitHubApiClient("test-token", "testuser",
+                new OkHttpClient(), baseUrl());
+        CountDownLatch release = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+                return new MockResponse().setBody("{\"Java\": 1000}");
+            }
+        });
+
+        List<Future<Language>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> sharedClient.getLanguages("user/repo")));
+            }
+            while (sharedClient.coalescedRequestCount() < 3) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+        }
+
+        for (Future<Language> result : results) {
+            assertEquals(1000L, result.get().languages().get("Java"));
+        }
+        assertEquals(1, server.getRequestCount());
+
+        // Completed calls are not remembered
+        sharedClient.getLanguages("user/repo");
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("A GET slower than its endpoint's p95 is hedged and the faster copy wins")
+    void hedging_fasterCopyWins() throws Exception {
+        HedgingPolicy hedging = new HedgingPolicy(1.0);
+        GitHubApiClient hedgedClient = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl())
+                .hedging(hedging)
+                .build();
+        AtomicInteger requests = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                MockResponse response = new MockResponse().setBody("{\"Java\": 1000}");
+                // The first request after warm-up stalls
+                return requests.incrementAndGet() == HedgingPolicy.MIN_SAMPLES + 1
+                        ? response.setHeadersDelay(2, TimeUnit.SECONDS) : response;
+            }
+        });
+        for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            hedgedClient.getLanguages("user/repo");
+        }
+
+        long start = System.nanoTime();
+        Language language = hedgedClient.getLanguages("user/repo");
+
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1_500), "Hedge should answer first");
+        assertEquals(1000L, language.languages().get("Java"));
+        assertEquals(1, hedging.hedgeCount());
+        assertEquals(HedgingPolicy.MIN_SAMPLES + 2, requests.get());
+    }
+
+    @Test
+    @DisplayName("A GET is not hedged while the adaptive concurrency limit is reached")
+    void hedging_skippedWithoutConcurrencySlot() throws Exception {
+        HedgingPolicy hedging = new HedgingPolicy(1.0);
+        AdaptiveConcurrencyLimiter concurrency = new AdaptiveConcurrencyLimiter(1, 1);
+        GitHubApiClient hedgedClient = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl())
+                .hedging(hedging)
+                .adaptiveConcurrency(concurrency)
+                .build();
+        AtomicInteger requests = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                MockResponse response = new MockResponse().setBody("{\"Java\": 1000}");
+                return requests.incrementAndGet() == HedgingPolicy.MIN_SAMPLES + 1
+                        ? response.setHeadersDelay(1, TimeUnit.SECONDS) : response;
+            }
+        });
+        for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            hedgedClient.getLanguages("user/repo");
+        }
+
+        Language language = hedgedClient.getLanguages("user/repo");
+
+        assertEquals(1000L, language.languages().get("Java"));
+        assertEquals(0, hedging.hedgeCount());
+        assertEquals(HedgingPolicy.MIN_SAMPLES + 1, requests.get());
+        assertTrue(concurrency.tryAcquire(), "The original's slot should be released");
+    }
+
+    // =========================================================================
+    // Conditional request cache tests
+    // =========================================================================
+
+    @Test
+    @DisplayName("Sends cached ETag and serves the cached body on 304")
+    void conditionalCache_serves304FromCache(@TempDir Path cacheDir) throws Exception {
+        GitHubApiClient cachingClient = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl())
+                .responseCache(new ConditionalRequestCache(cacheDir))
+                .build();
+
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("ETag", "\"lang-v1\"")
+                .setBody("{\"Java\": 1000}"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        Language first = cachingClient.getLanguages("user/repo");
+        Language second = cachingClient.getLanguages("user/repo");
+
+        assertEquals(1000L, first.languages().get("Java"));
+        assertEquals(first.languages(), second.languages());
+        assertNull(server.takeRequest().getHeader("If-None-Match"));
+        assertEquals("\"lang-v1\"", server.takeRequest().getHeader("If-None-Match"));
+    }
+
+    @Test
+    @DisplayName("A 304 on the first page replays the whole cached list without further requests")
+    void conditionalCache_firstPage304_skipsRemainingPages(@TempDir Path cacheDir) throws Exception {
+        GitHubApiClient cachingClient = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl())
+                .responseCache(new ConditionalRequestCache(cacheDir))
+                .build();
+        String page2Url = server.url("/user/repos?page=2").toString();
+
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("ETag", "\"p1\"")
+                .setHeader("Link", "<" + page2Url + ">; rel=\"next\"")
+                .setBody("[{\"id\": 1, \"full_name\": \"user/repo1\"}]"));
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("ETag", "\"p2\"")
+                .setBody("[{\"id\": 2, \"full_name\": \"user/repo2\"}]"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        List<Repository> firstRun = cachingClient.getRepositories();
+        List<Repository> secondRun = cachingClient.getRepositories();
+
+        assertEquals(2, firstRun.size());
+        assertEquals(List.of("user/repo1", "user/repo2"),
+                secondRun.stream().map(Repository::fullName).toList());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Stores fetched commits by SHA and answers them without a request, from any repository")
+    void commitStore_answersStoredCommits(@TempDir Path storeDir) throws Exception {
+        String sha = "0123456789abcdef0123456789abcdef01234567";
+        GitHubApiClient storingClient = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl())
+                .commitStore(CommitStore.open(storeDir))
+                .build();
+
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"sha\": \"" + sha + "\", \"author\": {\"login\": \"dev\", \"id\": 7},"
+                        + " \"stats\": {\"additions\": 5, \"deletions\": 2, \"total\": 7},"
+                        + " \"files\": [{\"filename\": \"a.txt\"}, {\"filename\": \"b.txt\"}]}"));
+
+        Commit fetched = storingClient.getCommit("user/repo", sha);
+        Commit stored = storingClient.getCommit("fork/repo", sha);
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(fetched.stats(), stored.stats());
+        assertEquals(2, stored.changedFiles());
+        assertTrue(stored.files().isEmpty());
+        assertEquals(7L, stored.author().id());
+    }
+
+    @Test
+    @DisplayName("Commit details bypass the response cache, so patches are never written to disk")
+    void getCommit_bypassesResponseCache(@TempDir Path cacheDir) throws Exception {
+        GitHubApiClient cachingClient = GitHubApiClient.builder("test-token", "testuser")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl())
+                .responseCache(new ConditionalRequestCache(cacheDir))
+                .build();
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("ETag", "\"abc\"")
+                .setBody("{\"sha\": \"abc\", \"stats\": {\"additions\": 1, \"deletions\": 0, \"total\": 1},"
+                        + " \"files\": [{\"filename\": \"a.txt\", \"patch\": \"@@ -0,0 +1 @@\"}]}"));
+
+        Commit commit = cachingClient.getCommit("user/repo", "abc");
+
+        assertEquals(1, commit.stats().additions());
+        assertNull(server.takeRequest().getHeader("If-None-Match"));
+        try (var files = Files.list(cacheDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Statistics endpoints return null while GitHub computes them, no rows for empty repos or bodies, and decode punch cards")
+    void stats_handleAcceptedAndNoContent() throws Exception {
+        GitHubApiClient statsClient = new GitHubApiClient("test-token", "testuser", new OkHttpClient(), baseUrl());
+        server.enqueue(new MockResponse().setResponseCode(202).setBody("{}"));
+        server.enqueue(new MockResponse().setResponseCode(200)
+                .setBody("[[1700352000, 120, -30], [1700956800, 0, 0]]"));
+        server.enqueue(new MockResponse().setResponseCode(204));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("[[0, 0, 5], [2, 14, 9]]"));
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        assertNull(statsClient.getCodeFrequency("user/repo"));
+        List<CodeFrequency> weeks = statsClient.getCodeFrequency("user/repo");
+        List<ContributorStats> contributors = statsClient.getContributorStats("user/empty");
+        List<PunchCardHour> punchCard = statsClient.getPunchCard("user/repo");
+
+        assertTrue(statsClient.getPunchCard("user/empty").isEmpty());
+        assertEquals(List.of(new CodeFrequency(1700352000L, 120, 30), new CodeFrequency(1700956800L, 0, 0)), weeks);
+        assertTrue(contributors.isEmpty());
+        assertEquals(List.of(new PunchCardHour(0, 0, 5), new PunchCardHour(2, 14, 9)), punchCard);
+        assertEquals("/repos/user/repo/stats/code_frequency", server.takeRequest().getPath());
+        assertEquals(Endpoint.STATS, Endpoint.of(server.url("/repos/user/empty/stats/contributors").toString()));
+    }
+
+    private String baseUrl() {
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
     // =========================================================================
     // getRetryWaitMs tests
     // =========================================================================
@@ -0,0 +1,199 @@
+package com.devpulse.extractor.client;
+
+import com.devpulse.extractor.model.Repository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link GitHubAppAuth} against a stand-in token endpoint, covering
+ * key parsing, JWT signing, token caching and refresh, and routing requests to the
+ * installation that owns the repository.
+ */
+class GitHubAppAuthTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static KeyPair keyPair;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final Map<String, AtomicInteger> minted = new ConcurrentHashMap<>();
+
+    private MockWebServer server;
+    private String baseUrl;
+
+    @BeforeAll
+    static void generateKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new StandInGitHub());
+        server.start();
+        String url = server.url("/").toString();
+        baseUrl = url.substring(0, url.length() - 1);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("Reads the PKCS#1 keys GitHub issues as well as PKCS#8")
+    void parsePrivateKey_pkcs1AndPkcs8() throws Exception {
+        byte[] pkcs8 = keyPair.getPrivate().getEncoded();
+        // PrivateKeyInfo header for a 2048-bit key: SEQUENCE, version, algorithm, OCTET STRING
+        byte[] pkcs1 = Arrays.copyOfRange(pkcs8, 26, pkcs8.length);
+
+        assertArrayEquals(pkcs8, GitHubAppAuth.pkcs1ToPkcs8(pkcs1));
+        assertEquals(keyPair.getPrivate(), GitHubAppAuth.parsePrivateKey(pem("RSA PRIVATE KEY", pkcs1)));
+        assertEquals(keyPair.getPrivate(), GitHubAppAuth.parsePrivateKey(pem("PRIVATE KEY", pkcs8)));
+        assertThrows(IOException.class, () -> GitHubAppAuth.parsePrivateKey("not a key"));
+    }
+
+    @Test
+    @DisplayName("Signs an RS256 JWT with backdated iat and the App ID as issuer")
+    void jwt_isSignedAndScoped() throws Exception {
+        String jwt = auth().jwt();
+
+        JsonNode claims = verify(jwt);
+        assertEquals("42", claims.path("iss").asText());
+        assertEquals(NOW / 1000 - 60, claims.path("iat").asLong());
+        assertEquals(NOW / 1000 + 540, claims.path("exp").asLong());
+    }
+
+    @Test
+    @DisplayName("Caches installation tokens and refreshes them before expiry")
+    void installationToken_cachedAndRefreshed() throws Exception {
+        GitHubAppAuth auth = auth();
+
+        assertEquals("ghs_1_1", auth.installationToken(1));
+        assertEquals("ghs_1_1", auth.installationToken(1));
+
+        // Within five minutes of the one-hour expiry
+        clock.set(NOW + 56 * 60_000);
+        assertEquals("ghs_1_2", auth.installationToken(1));
+        assertEquals(2, minted.get("1").get());
+    }
+
+    @Test
+    @DisplayName("Only re-mints a rejected token that was not just minted")
+    void invalidate_distinguishesRevokedInstallations() throws Exception {
+        GitHubAppAuth auth = auth();
+        auth.installationToken(1);
+        assertFalse(auth.invalidate(1));
+
+        auth.installationToken(1);
+        clock.set(NOW + 10 * 60_000);
+        assertTrue(auth.invalidate(1));
+        assertEquals("ghs_1_3", auth.installationToken(1));
+    }
+
+    @Test
+    @DisplayName("Lists repositories per installation and routes requests to the owning installation")
+    void installations_listAndRoute() throws Exception {
+        GitHubAppAuth auth = auth();
+        GitHubApiClient client = GitHubApiClient.builder("", "user")
+                .httpClient(new OkHttpClient())
+                .baseUrl(baseUrl)
+                .tokenPool(TokenPool.forInstallations(auth, List.of(1L, 2L)))
+                .build();
+
+        List<Repository> repositories = client.getRepositories();
+        client.getLanguages("org2/app");
+
+        assertEquals(List.of("org1/app", "org2/app"), repositories.stream().map(Repository::fullName).toList());
+        assertEquals(1, minted.get("1").get());
+        assertEquals(1, minted.get("2").get());
+    }
+
+    // -------------------------------------------------------------------------
+    // Fixtures
+    // -------------------------------------------------------------------------
+
+    private GitHubAppAuth auth() {
+        return new GitHubAppAuth("42", keyPair.getPrivate(), new OkHttpClient(), baseUrl, clock::get);
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private JsonNode verify(String jwt) throws Exception {
+        String[] parts = jwt.split("\\.");
+        assertEquals("RS256", objectMapper.readTree(Base64.getUrlDecoder().decode(parts[0])).path("alg").asText());
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initVerify(keyPair.getPublic());
+        signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+        assertTrue(signature.verify(Base64.getUrlDecoder().decode(parts[2])), "JWT signature");
+        return objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+    }
+
+    /**
+     * Serves the App endpoints and checks that repository requests carry the token
+     * of the installation on the repository's owner.
+     */
+    private final class StandInGitHub extends Dispatcher {
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String path = request.getPath();
+            String authorization = request.getHeader("Authorization");
+            try {
+                if (path.startsWith("/app/installations/")) {
+                    verify(authorization.substring("Bearer ".length()));
+                    String id = path.split("/")[3];
+                    if (path.endsWith("/access_tokens")) {
+                        int n = minted.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet();
+                        String expiresAt = Instant.ofEpochMilli(clock.get() + 3_600_000).toString();
+                        return json("{\"token\": \"ghs_" + id + "_" + n + "\", \"expires_at\": \"" + expiresAt + "\"}");
+                    }
+                    return json("{\"id\": " + id + ", \"account\": {\"login\": \"org" + id + "\"}}");
+                }
+            } catch (Exception e) {
+                return new MockResponse().setResponseCode(401);
+            }
+            if (path.startsWith("/installation/repositories")) {
+                String id = authorization.split("_")[1];
+                return json("{\"total_count\": 1, \"repositories\": [{\"id\": " + id
+                        + ", \"name\": \"app\", \"full_name\": \"org" + id + "/app\"}]}");
+            }
+            if (path.startsWith("/repos/org2/") && "Bearer ghs_2_1".equals(authorization)) {
+                return json("{\"Java\": 1}");
+            }
+            return new MockResponse().setResponseCode(404);
+        }
+
+        private MockResponse json(String body) {
+            return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+        }
+    }
+}
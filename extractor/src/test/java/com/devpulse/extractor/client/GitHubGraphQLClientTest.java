@@ -0,0 +1,240 @@
+package com.devpulse.extractor.client;
+
+import com.devpulse.extractor.client.GitHubGraphQLClient.PullRequestWithReviews;
+import com.devpulse.extractor.model.Language;
+import com.devpulse.extractor.model.PullRequest;
+import com.devpulse.extractor.model.Review;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link GitHubGraphQLClient} covering record mapping, cursor
+ * pagination, watermark cutoff, query splitting, repository batching and the
+ * REST fallbacks.
+ */
+class GitHubGraphQLClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockWebServer server;
+    private GitHubApiClient restClient;
+    private GitHubGraphQLClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        String url = server.url("/").toString();
+        restClient = new GitHubApiClient("test-token", "testuser", new OkHttpClient(),
+                url.substring(0, url.length() - 1));
+        client = new GitHubGraphQLClient(restClient, 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("Maps pull requests and nested reviews into the REST records")
+    void mapsPullRequestsAndReviews() throws Exception {
+        server.enqueue(json(page(false, null,
+                pullRequest(42, "MERGED", "2024-06-02T15:00:00Z", """
+                        [{"databaseId": 7, "state": "APPROVED", "submittedAt": "2024-06-02T10:00:00Z",
+                          "body": "LGTM", "author": {"login": "reviewer", "databaseId": 555}}]""", false),
+                pullRequest(43, "OPEN", "2024-06-01T15:00:00Z", "[]", false))));
+
+        List<PullRequestWithReviews> results = client.getPullRequestsWithReviews("user/repo", null);
+
+        assertEquals(2, results.size());
+        PullRequest merged = results.get(0).pullRequest();
+        assertEquals(42, merged.number());
+        assertEquals("closed", merged.state());
+        assertEquals("oid42", merged.mergeCommitSha());
+        assertEquals(new PullRequest.User("author", 999), merged.user());
+        assertEquals(List.of(new Review(7, "APPROVED", "2024-06-02T10:00:00Z", "LGTM",
+                new Review.User("reviewer", 555))), results.get(0).reviews());
+        assertEquals("open", results.get(1).pullRequest().state());
+        assertTrue(results.get(1).reviews().isEmpty());
+
+        assertEquals(new GitHubGraphQLClient.RateLimit(1, 4999, Instant.parse("2024-06-03T00:00:00Z")),
+                client.rateLimit());
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals("/graphql", request.getPath());
+        assertEquals("Bearer test-token", request.getHeader("Authorization"));
+        JsonNode variables = objectMapper.readTree(request.getBody().readUtf8()).path("variables");
+        assertEquals("user", variables.path("owner").asText());
+        assertEquals("repo", variables.path("name").asText());
+        assertEquals(4, variables.path("first").asInt());
+    }
+
+    @Test
+    @DisplayName("Follows endCursor and stops at the updatedAt watermark")
+    void followsCursorUntilWatermark() throws Exception {
+        server.enqueue(json(page(true, "cursor-1",
+                pullRequest(3, "OPEN", "2024-06-03T00:00:00Z", "[]", false))));
+        server.enqueue(json(page(true, "cursor-2",
+                pullRequest(2, "OPEN", "2024-06-02T00:00:00Z", "[]", false),
+                pullRequest(1, "OPEN", "2024-05-01T00:00:00Z", "[]", false))));
+
+        List<PullRequestWithReviews> results = client.getPullRequestsWithReviews("user/repo",
+                Instant.parse("2024-06-01T00:00:00Z"));
+
+        assertEquals(List.of(3, 2), results.stream().map(r -> r.pullRequest().number()).toList());
+        assertEquals(2, server.getRequestCount());
+        server.takeRequest();
+        JsonNode variables = objectMapper.readTree(server.takeRequest().getBody().readUtf8()).path("variables");
+        assertEquals("cursor-1", variables.path("after").asText());
+    }
+
+    @Test
+    @DisplayName("Halves the page size when GitHub reports a node limit error")
+    void splitsQueryOnNodeLimit() throws Exception {
+        server.enqueue(json("""
+                {"errors": [{"type": "MAX_NODE_LIMIT_EXCEEDED", "message": "too many nodes"}]}"""));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(json(page(false, null, pullRequest(1, "CLOSED", "2024-06-01T00:00:00Z", "[]", false))));
+
+        List<PullRequestWithReviews> results = client.getPullRequestsWithReviews("user/repo", null);
+
+        assertEquals(1, results.size());
+        List<Integer> pageSizes = List.of(
+                firstOf(server.takeRequest()), firstOf(server.takeRequest()), firstOf(server.takeRequest()));
+        assertEquals(List.of(4, 2, 1), pageSizes);
+    }
+
+    @Test
+    @DisplayName("Other GraphQL errors fail the extraction")
+    void otherErrors_throw() {
+        server.enqueue(json("""
+                {"data": {"repository": null}, "errors": [{"type": "NOT_FOUND", "message": "Could not resolve"}]}"""));
+
+        IOException e = assertThrows(IOException.class,
+                () -> client.getPullRequestsWithReviews("user/missing", null));
+        assertTrue(e.getMessage().contains("Could not resolve"));
+    }
+
+    @Test
+    @DisplayName("Falls back to REST for pull requests with more reviews than one nested page")
+    void manyReviews_fallBackToRest() throws Exception {
+        server.enqueue(json(page(false, null,
+                pullRequest(9, "OPEN", "2024-06-01T00:00:00Z", "[]", true))));
+        server.enqueue(new MockResponse().setBody("""
+                [{"id": 1, "state": "COMMENTED", "user": {"login": "a", "id": 1}},
+                 {"id": 2, "state": "APPROVED", "user": {"login": "b", "id": 2}}]"""));
+
+        List<PullRequestWithReviews> results = client.getPullRequestsWithReviews("user/repo", null);
+
+        assertEquals(2, results.get(0).reviews().size());
+        server.takeRequest();
+        assertEquals("/repos/user/repo/pulls/9/reviews?per_page=100", server.takeRequest().getPath());
+    }
+
+    @Test
+    @DisplayName("Batches repositories into aliased queries that select only their languages")
+    void languages_batched() throws Exception {
+        server.enqueue(json("""
+                {"data": {"r0": %s, "r1": %s}}""".formatted(repository("a"), repository("b"))));
+        server.enqueue(json("""
+                {"data": {"r0": null},
+                 "errors": [{"type": "NOT_FOUND", "path": ["r0"], "message": "Could not resolve"}]}"""));
+
+        List<Language> results = client.getLanguages(List.of("user/a", "user/b", "user/gone"));
+
+        assertEquals(2, results.size());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(new Language("user/a", Map.of("Java", 5000L, "Shell", 20L)), results.get(0));
+
+        JsonNode payload = objectMapper.readTree(server.takeRequest().getBody().readUtf8());
+        String query = payload.path("query").asText();
+        assertTrue(query.contains("r1: repository(owner: $o1, name: $n1)"));
+        assertFalse(query.contains("stargazerCount"));
+        assertEquals("b", payload.path("variables").path("n1").asText());
+    }
+
+    @Test
+    @DisplayName("Halves the repository batch on limit errors")
+    void languages_splitsBatch() throws Exception {
+        server.enqueue(json("""
+                {"errors": [{"type": "RESOURCE_LIMITS_EXCEEDED", "message": "too heavy"}]}"""));
+        server.enqueue(json("""
+                {"data": {"r0": %s}}""".formatted(repository("a"))));
+        server.enqueue(json("""
+                {"data": {"r0": %s}}""".formatted(repository("b"))));
+
+        List<Language> results = client.getLanguages(List.of("user/a", "user/b"));
+
+        assertEquals(List.of("user/a", "user/b"), results.stream().map(Language::repoFullName).toList());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("GraphQL URL follows the GitHub Enterprise path layout")
+    void graphQLUrl_enterprise() {
+        GitHubApiClient enterprise = GitHubApiClient.builder("t", "u")
+                .baseUrl("https://ghe.example.com/api/v3").build();
+
+        assertEquals("https://ghe.example.com/api/graphql", enterprise.graphQLUrl());
+        assertEquals("https://api.github.com/graphql", new GitHubApiClient("t", "u").graphQLUrl());
+    }
+
+    // -------------------------------------------------------------------------
+    // Fixtures
+    // -------------------------------------------------------------------------
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+
+    private static String page(boolean hasNextPage, String endCursor, String... nodes) {
+        return """
+                {"data": {
+                  "rateLimit": {"cost": 1, "remaining": 4999, "resetAt": "2024-06-03T00:00:00Z"},
+                  "repository": {"pullRequests": {
+                    "pageInfo": {"hasNextPage": %s, "endCursor": %s},
+                    "nodes": [%s]
+                  }}
+                }}""".formatted(hasNextPage, endCursor == null ? "null" : "\"" + endCursor + "\"",
+                String.join(",", nodes));
+    }
+
+    private static String pullRequest(int number, String state, String updatedAt, String reviews,
+                                      boolean moreReviews) {
+        return """
+                {"number": %d, "title": "PR %d", "state": "%s",
+                 "createdAt": "2024-05-01T00:00:00Z", "updatedAt": "%s", "mergedAt": %s,
+                 "mergeCommit": %s, "author": {"login": "author", "databaseId": 999},
+                 "reviews": {"pageInfo": {"hasNextPage": %s}, "nodes": %s}}""".formatted(
+                number, number, state, updatedAt,
+                "MERGED".equals(state) ? "\"" + updatedAt + "\"" : "null",
+                "MERGED".equals(state) ? "{\"oid\": \"oid" + number + "\"}" : "null",
+                moreReviews, reviews);
+    }
+
+    private static String repository(String name) {
+        return """
+                {"nameWithOwner": "user/%s",
+                 "languages": {"totalCount": 2, "edges": [
+                   {"size": 5000, "node": {"name": "Java"}}, {"size": 20, "node": {"name": "Shell"}}]}}"""
+                .formatted(name);
+    }
+
+    private int firstOf(RecordedRequest request) throws IOException {
+        return objectMapper.readTree(request.getBody().readUtf8()).path("variables").path("first").asInt();
+    }
+}
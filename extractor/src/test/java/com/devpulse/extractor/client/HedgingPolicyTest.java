@@ -0,0 +1,50 @@
+package com.devpulse.extractor.client;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link HedgingPolicy} covering the per-endpoint hedge delay and
+ * the hedging budget.
+ */
+class HedgingPolicyTest {
+
+    @Test
+    @DisplayName("Hedges at the endpoint's p95 once enough latencies are known")
+    void hedgeDelay_isPerEndpointP95() {
+        HedgingPolicy policy = new HedgingPolicy();
+
+        for (int i = 1; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            policy.record(Endpoint.COMMITS, i * 10L);
+        }
+        assertEquals(-1, policy.hedgeDelayMs(Endpoint.COMMITS));
+
+        for (int i = HedgingPolicy.MIN_SAMPLES; i <= 100; i++) {
+            policy.record(Endpoint.COMMITS, i * 10L);
+        }
+        assertEquals(950, policy.hedgeDelayMs(Endpoint.COMMITS));
+        assertEquals(-1, policy.hedgeDelayMs(Endpoint.LANGUAGES));
+    }
+
+    @Test
+    @DisplayName("Earns one hedge per twenty requests and caps the burst")
+    void budget_earnedPerRequestAndCapped() {
+        HedgingPolicy policy = new HedgingPolicy();
+
+        for (int i = 0; i < 19; i++) {
+            policy.record(Endpoint.COMMITS, 100);
+        }
+        assertFalse(policy.tryHedge());
+
+        for (int i = 0; i < 1_000; i++) {
+            policy.record(Endpoint.COMMITS, 100);
+        }
+        int hedges = 0;
+        while (policy.tryHedge()) {
+            hedges++;
+        }
+        assertEquals((int) HedgingPolicy.MAX_BURST, hedges);
+        assertEquals(hedges, policy.hedgeCount());
+    }
+}
@@ -0,0 +1,128 @@
+package com.devpulse.extractor.client;
+
+import com.devpulse.extractor.model.Commit;
+import com.devpulse.extractor.model.PullRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ProjectedDecoders}. The projected records must match what
+ * full data binding produces for the same payload.
+ */
+class ProjectedDecodersTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final String PULL_REQUESTS = """
+            [{
+                "url": "https://api.github.com/repos/user/repo/pulls/42",
+                "number": 42,
+                "state": "closed",
+                "title": "Add GitHub API client",
+                "user": {"login": "testuser", "id": 999, "site_admin": false},
+                "labels": [{"id": 1, "name": "feature"}],
+                "created_at": "2024-06-01T09:00:00Z",
+                "updated_at": "2024-06-02T15:00:00Z",
+                "merged_at": "2024-06-02T15:00:00Z",
+                "merge_commit_sha": "abc123",
+                "head": {"ref": "feature", "repo": {"id": 1, "owner": {"login": "testuser"},
+                         "topics": ["a", "b"], "license": null}},
+                "base": {"ref": "main", "repo": {"id": 1, "full_name": "user/repo"}},
+                "_links": {"self": {"href": "https://api.github.com/repos/user/repo/pulls/42"}},
+                "draft": false
+            },
+            {
+                "number": 10,
+                "title": "WIP",
+                "state": "open",
+                "user": null,
+                "created_at": "2024-06-10T08:00:00Z",
+                "merged_at": null
+            }]""";
+
+    private static final String COMMITS = """
+            [{
+                "sha": "abc123def456",
+                "node_id": "C_kwDO",
+                "commit": {
+                    "author": {"name": "Test User", "email": "test@example.com",
+                               "date": "2024-06-15T14:30:00Z"},
+                    "committer": {"name": "GitHub", "email": "noreply@github.com"},
+                    "message": "feat: add extraction layer",
+                    "tree": {"sha": "t1"},
+                    "verification": {"verified": true, "reason": "valid", "signature": null}
+                },
+                "author": {"login": "testuser", "id": 999},
+                "parents": [{"sha": "p1"}, {"sha": "p2"}],
+                "stats": {"additions": 150, "deletions": 30, "total": 180},
+                "files": [{"filename": "A.java", "patch": "@@ -1 +1 @@"}]
+            },
+            {
+                "sha": "fff000",
+                "commit": {"message": "no author"},
+                "author": null
+            }]""";
+
+    @Test
+    @DisplayName("Pull request projection matches full data binding")
+    void pullRequests_matchDataBinding() throws Exception {
+        List<PullRequest> projected = decode(ProjectedDecoders.PULL_REQUESTS, PULL_REQUESTS);
+        List<PullRequest> bound = objectMapper.readValue(PULL_REQUESTS, new TypeReference<>() {});
+
+        assertEquals(bound, projected);
+        assertEquals("testuser", projected.get(0).user().login());
+        assertNull(projected.get(1).user());
+        assertNull(projected.get(1).mergedAt());
+    }
+
+    @Test
+    @DisplayName("Commit projection matches full data binding")
+    void commits_matchDataBinding() throws Exception {
+        List<Commit> projected = decode(ProjectedDecoders.COMMITS, COMMITS);
+        List<Commit> bound = objectMapper.readValue(COMMITS, new TypeReference<>() {});
+
+        assertEquals(bound, projected);
+        assertEquals(150, projected.get(0).stats().additions());
+        assertEquals(List.of(new Commit.CommitFile("A.java")), projected.get(0).files());
+        assertNull(projected.get(1).files());
+        assertNull(projected.get(1).stats());
+        assertNull(projected.get(1).commit().author());
+    }
+
+    @Test
+    @DisplayName("Single commit decoder reads a detail object")
+    void commit_singleObject() throws Exception {
+        String json = """
+                {"sha": "abc", "commit": {"message": "m"}, "stats": {"additions": 1, "deletions": 2, "total": 3}}""";
+
+        Commit commit = decode(ProjectedDecoders.COMMIT, json);
+
+        assertEquals("abc", commit.sha());
+        assertEquals(3, commit.stats().total());
+    }
+
+    @Test
+    @DisplayName("Empty body decodes to null and a non-array body is rejected")
+    void emptyAndMalformedBodies() throws Exception {
+        assertNull(decode(ProjectedDecoders.COMMITS, ""));
+        assertEquals(List.of(), decode(ProjectedDecoders.COMMITS, "[]"));
+        assertThrows(IOException.class, () -> decode(ProjectedDecoders.PULL_REQUESTS,
+                "{\"message\": \"Not Found\"}"));
+    }
+
+    private <T> T decode(PageDecoder<T> decoder, String json) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            return decoder.decode(parser);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.devpulse.extractor.client;
+
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RateLimiter} covering probing, the reserve, header resync,
+ * per-resource buckets, refilling at reset and budgets shared between processes.
+ */
+class RateLimiterTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final RateLimiter limiter = new RateLimiter(100, clock::get);
+
+    @Test
+    @DisplayName("Admits one probe at a time until the bucket has been synced")
+    void unsyncedBucket_probesOneAtATime() {
+        assertEquals(0, limiter.tryAcquire("core"));
+        assertTrue(limiter.tryAcquire("core") > 0);
+
+        limiter.onFailure("core");
+
+        assertEquals(0, limiter.tryAcquire("core"));
+    }
+
+    @Test
+    @DisplayName("Stops at the reserve and waits until the reset time")
+    void reserve_waitsForReset() {
+        limiter.sync("core", 5000, 103, NOW + 60_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("core"));
+        }
+        assertEquals(61_000, limiter.tryAcquire("core"));
+
+        clock.set(NOW + 60_000);
+        assertEquals(0, limiter.tryAcquire("core"));
+        assertEquals(5000 - 4 - 100, limiter.available("core"));
+    }
+
+    @Test
+    @DisplayName("Counts in-flight requests against the reported remaining budget")
+    void resync_subtractsInFlight() {
+        limiter.sync("core", 5000, 300, NOW + 60_000);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("core");
+        }
+
+        // GitHub answered the first request; two are still in flight
+        limiter.onResponse("core", response("/user/repos", "5000", "299", NOW + 60_000, "core"));
+
+        assertEquals(299 - 2 - 100, limiter.available("core"));
+    }
+
+    @Test
+    @DisplayName("Keeps separate budgets per resource and syncs the one named in the headers")
+    void buckets_perResource() {
+        limiter.sync("core", 5000, 100, NOW + 60_000);
+        assertTrue(limiter.tryAcquire("core") > 0);
+
+        assertEquals(0, limiter.tryAcquire("graphql"));
+        limiter.onResponse("graphql", response("/graphql", "5000", "4990", NOW + 60_000, "graphql"));
+
+        assertEquals(4890, limiter.available("graphql"));
+        assertEquals(0, limiter.available("core"));
+    }
+
+    @Test
+    @DisplayName("Scales the reserve down for small limits such as search")
+    void reserve_scalesWithLimit() {
+        limiter.sync("search", 30, 10, NOW + 60_000);
+
+        assertEquals(7, limiter.available("search"));
+    }
+
+    @Test
+    @DisplayName("Maps request paths to GitHub rate-limit resources")
+    void resourceFor_paths() {
+        assertEquals("core", RateLimiter.resourceFor(HttpUrl.get("https://api.github.com/repos/a/b/commits")));
+        assertEquals("graphql", RateLimiter.resourceFor(HttpUrl.get("https://api.github.com/graphql")));
+        assertEquals("graphql", RateLimiter.resourceFor(HttpUrl.get("https://ghe.example.com/api/graphql")));
+        assertEquals("search", RateLimiter.resourceFor(HttpUrl.get("https://api.github.com/search/issues?q=x")));
+        assertEquals("code_search", RateLimiter.resourceFor(HttpUrl.get("https://api.github.com/search/code?q=x")));
+    }
+
+    @Test
+    @DisplayName("Limiters sharing a file draw from one budget without probing")
+    void sharedFile_oneBudgetAcrossProcesses(@TempDir Path dir) throws Exception {
+        Path path = dir.resolve("rate-limits");
+        RateLimiter first = new RateLimiter(100, clock::get, SharedRateLimitFile.open(path), "token");
+        RateLimiter second = new RateLimiter(100, clock::get, SharedRateLimitFile.open(path), "token");
+
+        first.sync("core", 5000, 103, NOW + 60_000);
+
+        assertEquals(0, second.tryAcquire("core"));
+        assertEquals(0, first.tryAcquire("core"));
+        assertEquals(0, second.tryAcquire("core"));
+        assertEquals(61_000, first.tryAcquire("core"));
+        assertEquals(61_000, second.tryAcquire("core"));
+    }
+
+    private static Response response(String path, String limit, String remaining, long resetAtMs,
+                                     String resource) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("https://api.github.com" + path).build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .header("X-RateLimit-Limit", limit)
+                .header("X-RateLimit-Remaining", remaining)
+                .header("X-RateLimit-Reset", String.valueOf(resetAtMs / 1000))
+                .header("X-RateLimit-Resource", resource)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.devpulse.extractor.client;
+
+import org.junit.jupiter.api.*;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RequestPacer} covering when pacing engages, slot spacing
+ * and the projected finish time.
+ */
+class RequestPacerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final RequestPacer pacer = new RequestPacer(clock::get);
+
+    @Test
+    @DisplayName("Does not delay requests while the outstanding work fits in the budget")
+    void workFitsBudget_noDelay() {
+        pacer.expect(10);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, pacer.reserve(100, NOW + 60_000, 4900));
+        }
+        assertEquals(0, pacer.outstanding());
+        assertEquals(Instant.ofEpochMilli(NOW), pacer.projectedFinish());
+    }
+
+    @Test
+    @DisplayName("Spreads the remaining budget evenly until the reset when work exceeds it")
+    void workExceedsBudget_spreadsUntilReset() {
+        pacer.expect(1000);
+
+        assertEquals(0, pacer.reserve(10, NOW + 60_000, 4900));
+        assertEquals(6_000, pacer.reserve(10, NOW + 60_000, 4900));
+        assertEquals(12_000, pacer.reserve(10, NOW + 60_000, 4900));
+
+        clock.set(NOW + 30_000);
+        assertEquals(0, pacer.reserve(5, NOW + 60_000, 4900));
+        assertEquals(6_000, pacer.reserve(5, NOW + 60_000, 4900));
+    }
+
+    @Test
+    @DisplayName("Projects the finish after enough full windows to cover the work")
+    void projectedFinish_countsWindows() {
+        pacer.expect(100 + 2 * 4900 + 1);
+
+        pacer.reserve(100, NOW + 60_000, 4900);
+
+        assertEquals(Instant.ofEpochMilli(NOW + 60_000 + 2 * RequestPacer.WINDOW_MS), pacer.projectedFinish());
+    }
+
+    @Test
+    @DisplayName("Does not pace or project before the budget is known")
+    void unknownBudget_noPacing() {
+        pacer.expect(1000);
+
+        assertEquals(0, pacer.reserve(-1, -1, -1));
+        assertNull(pacer.projectedFinish());
+    }
+}
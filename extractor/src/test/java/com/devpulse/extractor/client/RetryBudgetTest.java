@@ -0,0 +1,45 @@
+package com.devpulse.extractor.client;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RetryBudget} covering the initial allowance and retries
+ * earned per request.
+ */
+class RetryBudgetTest {
+
+    @Test
+    @DisplayName("Allows the minimum retries, then one per ten requests")
+    void retries_earnedPerRequest() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+
+        assertTrue(budget.tryRetry());
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+
+        for (int i = 0; i < 10; i++) {
+            budget.onRequest();
+        }
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+        assertEquals(3, budget.retryCount());
+        assertEquals(2, budget.deniedCount());
+    }
+
+    @Test
+    @DisplayName("Caps the retries a long healthy run can bank")
+    void balance_capped() {
+        RetryBudget budget = new RetryBudget(1.0, 0);
+
+        for (int i = 0; i < 1_000; i++) {
+            budget.onRequest();
+        }
+        int retries = 0;
+        while (budget.tryRetry()) {
+            retries++;
+        }
+        assertEquals(RetryBudget.MAX_BALANCE, retries);
+    }
+}
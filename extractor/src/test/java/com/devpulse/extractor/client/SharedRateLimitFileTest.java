@@ -0,0 +1,82 @@
+package com.devpulse.extractor.client;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SharedRateLimitFile} covering slot lookup across mappings,
+ * window replacement on publish, and taking requests down to the reserve.
+ */
+class SharedRateLimitFileTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("A second mapping of the file finds the same slot and sees its window")
+    void slot_sharedAcrossMappings() throws IOException {
+        Path path = dir.resolve("rate-limits");
+        SharedRateLimitFile.Slot slot = SharedRateLimitFile.open(path).slot("token-a", "core");
+        slot.publish(5000, 4000, NOW + 60_000);
+
+        SharedRateLimitFile other = SharedRateLimitFile.open(path);
+
+        assertEquals(new SharedRateLimitFile.Window(5000, 4000, NOW + 60_000),
+                other.slot("token-a", "core").current(NOW));
+        assertNull(other.slot("token-a", "search").current(NOW));
+        assertNull(other.slot("token-b", "core").current(NOW));
+        assertFalse(Files.readString(path, StandardCharsets.ISO_8859_1).contains("token-a"));
+    }
+
+    @Test
+    @DisplayName("Keeps the lower count within a window and replaces it with a later window")
+    void publish_lowerOrLaterWins() throws IOException {
+        SharedRateLimitFile.Slot slot = SharedRateLimitFile.open(dir.resolve("rate-limits")).slot("token", "core");
+
+        slot.publish(5000, 4000, NOW + 60_000);
+        slot.publish(5000, 4100, NOW + 60_000);
+        assertEquals(4000, slot.current(NOW).remaining());
+
+        slot.publish(5000, 3900, NOW + 60_000);
+        assertEquals(3900, slot.current(NOW).remaining());
+
+        slot.publish(5000, 4999, NOW + 3_660_000);
+        assertEquals(4999, slot.current(NOW).remaining());
+
+        // An answer from the window that has already been replaced
+        slot.publish(5000, 10, NOW + 60_000);
+        assertEquals(4999, slot.current(NOW).remaining());
+        assertNull(slot.current(NOW + 3_660_000));
+    }
+
+    @Test
+    @DisplayName("Takes requests down to the reserve, only from the window the caller saw")
+    void tryTake_stopsAtReserve() throws IOException {
+        SharedRateLimitFile.Slot slot = SharedRateLimitFile.open(dir.resolve("rate-limits")).slot("token", "core");
+        slot.publish(5000, 102, NOW + 60_000);
+
+        assertEquals(101, slot.tryTake(NOW + 60_000, 100));
+        assertEquals(100, slot.tryTake(NOW + 60_000, 100));
+        assertEquals(-1, slot.tryTake(NOW + 60_000, 100));
+        assertEquals(-1, slot.tryTake(NOW + 120_000, 100));
+    }
+
+    @Test
+    @DisplayName("Refuses to map a file that is not a rate-limit state file")
+    void open_rejectsOtherFiles() throws IOException {
+        Path path = dir.resolve("notes.txt");
+        Files.writeString(path, "not a rate-limit file");
+
+        assertThrows(IOException.class, () -> SharedRateLimitFile.open(path));
+        assertEquals("not a rate-limit file", Files.readString(path));
+    }
+}
@@ -0,0 +1,162 @@
+package com.devpulse.extractor.client;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TokenPool} covering least-loaded routing, exhausted and
+ * rejected tokens, and token failover in {@link GitHubApiClient}.
+ */
+class TokenPoolTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final TokenPool pool = new TokenPool(List.of("a", "b", "c"), clock::get);
+
+    @Test
+    @DisplayName("Routes each request to the token with the most remaining budget")
+    void routesToLeastLoaded() throws IOException {
+        List<TokenPool.Credential> credentials = acquireAll(3);
+        credentials.get(0).limiter().sync("core", 5000, 1000, NOW + 60_000);
+        credentials.get(1).limiter().sync("core", 5000, 4000, NOW + 60_000);
+        credentials.get(2).limiter().sync("core", 5000, 2500, NOW + 60_000);
+        credentials.forEach(c -> pool.onFailure(c, "core"));
+
+        TokenPool.Credential next = pool.tryAcquire("core", null).credential();
+
+        assertEquals("b", next.token());
+        // Syncs saw one request in flight per token; "b" has one more granted since
+        assertEquals(899 + 3898 + 2399, pool.available("core"));
+    }
+
+    @Test
+    @DisplayName("Skips exhausted tokens and waits for the earliest reset when all are exhausted")
+    void exhaustedTokens() {
+        TokenPool two = new TokenPool(List.of("a", "b"), clock::get);
+        TokenPool.Credential a = two.tryAcquire("core", null).credential();
+        TokenPool.Credential b = two.tryAcquire("core", null).credential();
+        a.limiter().sync("core", 5000, 100, NOW + 30_000);
+        b.limiter().sync("core", 5000, 102, NOW + 60_000);
+        two.onFailure(a, "core");
+        two.onFailure(b, "core");
+
+        assertSame(b, two.tryAcquire("core", null).credential());
+
+        TokenPool.Acquisition none = two.tryAcquire("core", null);
+        assertNull(none.credential());
+        assertEquals(31_000, none.waitMs());
+    }
+
+    @Test
+    @DisplayName("A blocked acquire resumes as soon as a response brings new budget")
+    void acquire_wakesOnResponse() throws Exception {
+        TokenPool one = new TokenPool(List.of("a"), clock::get);
+        TokenPool.Credential a = one.acquire("core", null);
+        a.limiter().sync("core", 5000, 101, NOW + 3_600_000);
+
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                one.acquire("core", null);
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+        one.onResponse(a, "core", response("4999", NOW + 7_200_000));
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        waiter.join();
+    }
+
+    @Test
+    @DisplayName("Parks a token that GitHub rejects with 401")
+    void revokedToken_isParked() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setResponseCode(401));
+        server.enqueue(new MockResponse().setBody("{\"Java\": 1}"));
+        server.enqueue(new MockResponse().setBody("{\"Java\": 2}"));
+        server.start();
+        try {
+            String url = server.url("/").toString();
+            GitHubApiClient client = GitHubApiClient.builder("a", "user")
+                    .httpClient(new OkHttpClient())
+                    .baseUrl(url.substring(0, url.length() - 1))
+                    .tokenPool(new TokenPool(List.of("a", "b")))
+                    .build();
+
+            client.getLanguages("user/repo");
+            client.getLanguages("user/repo");
+
+            assertEquals("Bearer a", server.takeRequest().getHeader("Authorization"));
+            assertEquals("Bearer b", server.takeRequest().getHeader("Authorization"));
+            assertEquals("Bearer b", server.takeRequest().getHeader("Authorization"));
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A single rejected token still fails the request")
+    void onlyTokenRejected_throws() throws IOException {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setResponseCode(401));
+        server.start();
+        try {
+            String url = server.url("/").toString();
+            GitHubApiClient client = new GitHubApiClient("a", "user", new OkHttpClient(),
+                    url.substring(0, url.length() - 1));
+
+            GitHubApiException e = assertThrows(GitHubApiException.class,
+                    () -> client.getLanguages("user/repo"));
+            assertEquals(401, e.statusCode());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Extracts the repository owner from request paths")
+    void ownerFor_paths() {
+        assertEquals("org1", TokenPool.ownerFor(HttpUrl.get("https://api.github.com/repos/org1/app/commits")));
+        assertEquals("org1", TokenPool.ownerFor(HttpUrl.get("https://ghe.example.com/api/v3/repos/org1/app")));
+        assertNull(TokenPool.ownerFor(HttpUrl.get("https://api.github.com/user/repos?per_page=100")));
+        assertNull(TokenPool.ownerFor(HttpUrl.get("https://api.github.com/graphql")));
+    }
+
+    private static Response response(String remaining, long resetAtMs) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("https://api.github.com/user/repos").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .header("X-RateLimit-Limit", "5000")
+                .header("X-RateLimit-Remaining", remaining)
+                .header("X-RateLimit-Reset", String.valueOf(resetAtMs / 1000))
+                .header("X-RateLimit-Resource", "core")
+                .build();
+    }
+
+    private List<TokenPool.Credential> acquireAll(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> pool.tryAcquire("core", null).credential())
+                .toList();
+    }
+}
@@ -3,6 +3,9 @@ package com.devpulse.extractor.config;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -67,4 +70,51 @@ class AppConfigTest {
 
         assertTrue(ex.getMessage().contains("GITHUB_TOKEN"));
     }
+
+    @Test
+    @DisplayName("parseConcurrency reads endpoint:limit pairs")
+    void parseConcurrency_validPairs() {
+        Map<String, Integer> limits = AppConfig.parseConcurrency("commits:8, pull_requests:4");
+
+        assertEquals(Map.of("commits", 8, "pull_requests", 4), limits);
+        assertTrue(AppConfig.parseConcurrency(null).isEmpty());
+        assertTrue(new AppConfig("token", "project", "user").getGithubPageConcurrency().isEmpty());
+    }
+
+    @Test
+    @DisplayName("parseConcurrency rejects malformed or non-positive limits")
+    void parseConcurrency_invalid() {
+        assertThrows(IllegalStateException.class, () -> AppConfig.parseConcurrency("commits"));
+        assertThrows(IllegalStateException.class, () -> AppConfig.parseConcurrency("commits:zero"));
+        assertThrows(IllegalStateException.class, () -> AppConfig.parseConcurrency("commits:0"));
+    }
+
+    @Test
+    @DisplayName("parsePositiveInt falls back to the default and rejects invalid values")
+    void parsePositiveInt() {
+        assertEquals(8, AppConfig.parsePositiveInt("KEY", null, 8));
+        assertEquals(3, AppConfig.parsePositiveInt("KEY", " 3 ", 8));
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> AppConfig.parsePositiveInt("KEY", "0", 8));
+        assertTrue(ex.getMessage().contains("KEY"));
+        assertThrows(IllegalStateException.class, () -> AppConfig.parsePositiveInt("KEY", "many", 8));
+    }
+
+    @Test
+    @DisplayName("parseTokens puts GITHUB_TOKEN first and drops blanks and duplicates")
+    void parseTokens() {
+        assertEquals(List.of("a", "b", "c"), AppConfig.parseTokens(" b, ,c,a ", "a"));
+        assertEquals(List.of("a"), AppConfig.parseTokens(null, "a"));
+        assertEquals(List.of("b"), AppConfig.parseTokens("b", ""));
+        assertEquals(List.of("ghp_test_token"),
+                new AppConfig("ghp_test_token", "my-project", "testuser").getGithubTokens());
+    }
+
+    @Test
+    @DisplayName("parseInstallationIds reads comma-separated IDs and rejects non-numeric ones")
+    void parseInstallationIds() {
+        assertEquals(List.of(11L, 22L), AppConfig.parseInstallationIds("11, 22,,11"));
+        assertEquals(List.of(), AppConfig.parseInstallationIds(null));
+        assertThrows(IllegalStateException.class, () -> AppConfig.parseInstallationIds("11,org"));
+    }
 }
@@ -8,6 +8,7 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -72,7 +73,7 @@ class BigQueryLoaderTest {
     // =========================================================================
 
     @Test
-    @DisplayName("ensureTablesExist creates all six tables when none exist")
+    @DisplayName("ensureTablesExist creates all nine tables when none exist")
     void ensureTablesExist_createsAllTables() {
         when(bigQuery.getTable(any(TableId.class))).thenReturn(null);
         when(bigQuery.create(any(TableInfo.class))).thenReturn(mock(Table.class));
@@ -80,7 +81,7 @@ class BigQueryLoaderTest {
         loader.ensureTablesExist();
 
         ArgumentCaptor<TableInfo> captor = ArgumentCaptor.forClass(TableInfo.class);
-        verify(bigQuery, times(6)).create(captor.capture());
+        verify(bigQuery, times(9)).create(captor.capture());
 
         List<String> createdTables = captor.getAllValues().stream()
                 .map(info -> info.getTableId().getTable())
@@ -91,6 +92,9 @@ class BigQueryLoaderTest {
         assertTrue(createdTables.contains("raw_reviews"));
         assertTrue(createdTables.contains("raw_repositories"));
         assertTrue(createdTables.contains("raw_languages"));
+        assertTrue(createdTables.contains("raw_contributor_stats"));
+        assertTrue(createdTables.contains("raw_code_frequency"));
+        assertTrue(createdTables.contains("raw_punch_card"));
         assertTrue(createdTables.contains("_extraction_metadata"));
     }
 
@@ -393,7 +397,8 @@ class BigQueryLoaderTest {
                 new Commit.CommitDetail("Initial commit",
                         new Commit.CommitAuthor("John", "john@test.com", "2024-06-15T10:00:00Z")),
                 new Commit.GitHubUser("johndoe", 1),
-                new Commit.CommitStats(100, 20, 120)
+                new Commit.CommitStats(100, 20, 120),
+                List.of(new Commit.CommitFile("A.java"), new Commit.CommitFile("B.java"))
         );
 
         InsertResult result = loader.loadCommits("user/repo", List.of(commit));
@@ -412,7 +417,7 @@ class BigQueryLoaderTest {
         assertEquals("Initial commit", row.get("message"));
         assertEquals(100, row.get("additions"));
         assertEquals(20, row.get("deletions"));
-        assertEquals(120, row.get("changed_files"));
+        assertEquals(2, row.get("changed_files"));
     }
 
     @Test
@@ -573,6 +578,52 @@ class BigQueryLoaderTest {
         verify(bigQuery, never()).insertAll(any(InsertAllRequest.class));
     }
 
+    @Test
+    @DisplayName("loadContributorStats writes one row per contributor week with commits")
+    void loadContributorStats_skipsEmptyWeeks() {
+        InsertAllResponse response = mock(InsertAllResponse.class);
+        when(response.hasErrors()).thenReturn(false);
+        when(response.getInsertErrors()).thenReturn(Map.of());
+        when(bigQuery.insertAll(any(InsertAllRequest.class))).thenReturn(response);
+
+        ContributorStats stats = new ContributorStats(new ContributorStats.Contributor("dev", 7L), 3, List.of(
+                new ContributorStats.Week(1_699_747_200L, 0, 0, 0),
+                new ContributorStats.Week(1_700_352_000L, 120, 30, 3)));
+
+        InsertResult result = loader.loadContributorStats("user/repo", List.of(stats));
+
+        ArgumentCaptor<InsertAllRequest> captor = ArgumentCaptor.forClass(InsertAllRequest.class);
+        verify(bigQuery).insertAll(captor.capture());
+        Map<String, Object> row = captor.getValue().getRows().get(0).getContent();
+        assertEquals(1, result.totalRows());
+        assertEquals("dev", row.get("author_login"));
+        assertEquals("2023-11-19T00:00:00Z", row.get("week_start"));
+        assertEquals(120, row.get("additions"));
+        assertEquals(3, row.get("commits"));
+    }
+
+    @Test
+    @DisplayName("loadPunchCard writes every cell keyed by repository and extraction date")
+    void loadPunchCard_keyedByExtractionDate() {
+        InsertAllResponse response = mock(InsertAllResponse.class);
+        when(response.hasErrors()).thenReturn(false);
+        when(response.getInsertErrors()).thenReturn(Map.of());
+        when(bigQuery.insertAll(any(InsertAllRequest.class))).thenReturn(response);
+
+        InsertResult result = loader.loadPunchCard("user/repo", LocalDate.parse("2024-06-15"),
+                List.of(new PunchCardHour(0, 0, 0), new PunchCardHour(2, 14, 9)));
+
+        ArgumentCaptor<InsertAllRequest> captor = ArgumentCaptor.forClass(InsertAllRequest.class);
+        verify(bigQuery).insertAll(captor.capture());
+        Map<String, Object> row = captor.getValue().getRows().get(1).getContent();
+        assertEquals(2, result.totalRows());
+        assertEquals("user/repo", row.get("repo_full_name"));
+        assertEquals("2024-06-15", row.get("extraction_date"));
+        assertEquals(2, row.get("day_of_week"));
+        assertEquals(14, row.get("hour_of_day"));
+        assertEquals(9, row.get("commits"));
+    }
+
     // =========================================================================
     // Extraction metadata tests
     // =========================================================================
@@ -654,6 +705,23 @@ class BigQueryLoaderTest {
                 loader.updateLastExtractionTimestamp("commits", Instant.now()));
     }
 
+    @Test
+    @DisplayName("updateRepositoryExtractionTimestamps deletes caught-up repositories and merges those behind")
+    void updateRepositoryExtractionTimestamps_deletesThenMerges() throws Exception {
+        TableResult tableResult = mock(TableResult.class);
+        when(bigQuery.query(any(QueryJobConfiguration.class))).thenReturn(tableResult);
+
+        loader.updateRepositoryExtractionTimestamps("commits",
+                Map.of("user/behind", Instant.parse("2024-06-15T10:00:00Z")), Set.of("user/caught-up"));
+
+        ArgumentCaptor<QueryJobConfiguration> captor = ArgumentCaptor.forClass(QueryJobConfiguration.class);
+        verify(bigQuery, times(2)).query(captor.capture());
+        assertTrue(captor.getAllValues().get(0).getQuery().startsWith("DELETE"));
+        assertTrue(captor.getAllValues().get(1).getQuery().startsWith("MERGE"));
+        assertEquals("commits:user/behind", captor.getAllValues().get(1).getNamedParameters()
+                .get("keys").getArrayValues().get(0).getValue());
+    }
+
     // =========================================================================
     // InsertResult record tests
     // =========================================================================
@@ -1,6 +1,7 @@
 package com.devpulse.extractor.orchestrator;
 
 import com.devpulse.extractor.client.GitHubApiClient;
+import com.devpulse.extractor.client.GitHubGraphQLClient;
 import com.devpulse.extractor.loader.BigQueryLoader;
 import com.devpulse.extractor.loader.InsertResult;
 import com.devpulse.extractor.model.*;
@@ -10,8 +11,10 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,6 +34,9 @@ class ExtractionOrchestratorTest {
     @Mock
     private BigQueryLoader loader;
 
+    @Mock
+    private GitHubGraphQLClient graphQLClient;
+
     private static final InsertResult SUCCESS_RESULT =
             new InsertResult(1, 1, List.of());
 
@@ -65,16 +71,20 @@ class ExtractionOrchestratorTest {
                                 "2024-05-16T14:00:00Z")),
                 new Commit.GitHubUser("testuser", 1),
                 new Commit.CommitStats(50, 10, 3));
-        when(gitHubClient.getCommits("testuser/test-repo")).thenReturn(List.of(commit1, commit2));
-        when(gitHubClient.getCommits("testuser/other-repo")).thenReturn(List.of());
+        when(gitHubClient.getCommitPages(eq("testuser/test-repo"), any(), any()))
+                .thenReturn(List.of(List.of(commit1, commit2)));
+        when(gitHubClient.getCommitPages(eq("testuser/other-repo"), any(), any()))
+                .thenReturn(List.of());
 
         // PRs for repo1
         PullRequest pr1 = new PullRequest(1, "Add feature X", "closed",
                 "2024-05-10T08:00:00Z", "2024-05-12T16:00:00Z",
                 "2024-05-12T16:00:00Z", "merge123",
                 new PullRequest.User("testuser", 1));
-        when(gitHubClient.getPullRequests("testuser/test-repo")).thenReturn(List.of(pr1));
-        when(gitHubClient.getPullRequests("testuser/other-repo")).thenReturn(List.of());
+        when(gitHubClient.getPullRequests(eq("testuser/test-repo"), any()))
+                .thenReturn(List.of(pr1));
+        when(gitHubClient.getPullRequests(eq("testuser/other-repo"), any()))
+                .thenReturn(List.of());
 
         // Reviews for PR#1
         Review review1 = new Review(100L, "APPROVED", "2024-05-11T12:00:00Z",
@@ -163,7 +173,7 @@ class ExtractionOrchestratorTest {
     // =========================================================================
 
     @Test
-    @DisplayName("Incremental extraction reads metadata and filters old records")
+    @DisplayName("Incremental extraction reads metadata and passes watermarks to the API")
     void incrementalExtraction_filtersOldRecords() throws Exception {
         // Mock metadata — return a timestamp for commits and PRs
         Instant lastRun = Instant.parse("2024-05-15T12:00:00Z");
@@ -177,25 +187,19 @@ class ExtractionOrchestratorTest {
                 "public", false, 5);
         when(gitHubClient.getRepositories()).thenReturn(List.of(repo));
 
-        // Commits: one old (before lastRun), one new (after lastRun)
-        Commit oldCommit = new Commit("old111",
-                new Commit.CommitDetail("Old commit",
-                        new Commit.CommitAuthor("Test", "t@t.com", "2024-05-14T10:00:00Z")),
-                null, null);
+        // Commits: the since-filter is applied by the API, so only the new commit comes back
         Commit newCommit = new Commit("new222",
                 new Commit.CommitDetail("New commit",
                         new Commit.CommitAuthor("Test", "t@t.com", "2024-05-16T10:00:00Z")),
                 null, null);
-        when(gitHubClient.getCommits("testuser/test-repo")).thenReturn(List.of(oldCommit, newCommit));
+        when(gitHubClient.getCommitPages(eq("testuser/test-repo"), eq(lastRun), any(Instant.class)))
+                .thenReturn(List.of(List.of(newCommit)));
 
-        // PRs: one old, one new
-        PullRequest oldPr = new PullRequest(1, "Old PR", "closed",
-                "2024-05-10T00:00:00Z", "2024-05-14T00:00:00Z",
-                "2024-05-14T00:00:00Z", "m1", new PullRequest.User("testuser", 1));
+        // PRs: pagination stops at the watermark, so only the new PR comes back
         PullRequest newPr = new PullRequest(2, "New PR", "open",
                 "2024-05-16T00:00:00Z", "2024-05-16T00:00:00Z",
                 null, null, new PullRequest.User("testuser", 1));
-        when(gitHubClient.getPullRequests("testuser/test-repo")).thenReturn(List.of(oldPr, newPr));
+        when(gitHubClient.getPullRequests("testuser/test-repo", lastRun)).thenReturn(List.of(newPr));
 
         // Reviews for the new PR only (old PR is filtered out)
         when(gitHubClient.getReviews("testuser/test-repo", 2)).thenReturn(List.of());
@@ -215,23 +219,71 @@ class ExtractionOrchestratorTest {
 
         assertFalse(summary.hasFailures());
 
-        // Verify commit load received only the new commit (old one filtered out)
+        // Verify commit load received only the new commit (window pushed down to the API)
         ArgumentCaptor<List<Commit>> commitCaptor = ArgumentCaptor.forClass(List.class);
         verify(loader).loadCommits(eq("testuser/test-repo"), commitCaptor.capture());
         assertEquals(1, commitCaptor.getValue().size());
         assertEquals("new222", commitCaptor.getValue().get(0).sha());
 
-        // Verify PR load received only the new PR (old one filtered out)
+        // Verify PR load received only the new PR
         ArgumentCaptor<List<PullRequest>> prCaptor = ArgumentCaptor.forClass(List.class);
         verify(loader).loadPullRequests(eq("testuser/test-repo"), prCaptor.capture());
         assertEquals(1, prCaptor.getValue().size());
         assertEquals(2, prCaptor.getValue().get(0).number());
 
-        // Reviews should only be fetched for the new PR (which was the only one that passed the filter)
+        // Reviews should only be fetched for the new PR (the only one past the watermark)
         verify(gitHubClient).getReviews("testuser/test-repo", 2);
         verify(gitHubClient, never()).getReviews("testuser/test-repo", 1);
     }
 
+    // =========================================================================
+    // GraphQL pull request extraction test
+    // =========================================================================
+
+    @Test
+    @DisplayName("GraphQL mode loads PRs with reviews and batches languages without per-repo REST calls")
+    void graphQLMode_loadsPullRequestsWithReviews() throws Exception {
+        Repository repo = new Repository(1L, "test-repo", "testuser/test-repo",
+                new Repository.Owner("testuser"), "Java",
+                "2024-01-01T00:00:00Z", "2024-06-01T00:00:00Z",
+                "public", false, 5);
+        when(gitHubClient.getRepositories()).thenReturn(List.of(repo));
+        when(gitHubClient.getCommitPages(eq("testuser/test-repo"), any(), any())).thenReturn(List.of());
+        when(graphQLClient.getLanguages(List.of("testuser/test-repo")))
+                .thenReturn(List.of(new Language("testuser/test-repo", Map.of("Java", 1000L))));
+
+        PullRequest pr = new PullRequest(7, "GraphQL PR", "closed",
+                "2024-05-10T08:00:00Z", "2024-05-12T16:00:00Z",
+                "2024-05-12T16:00:00Z", "merge7", new PullRequest.User("testuser", 1));
+        Review review = new Review(70L, "APPROVED", "2024-05-11T12:00:00Z",
+                "ok", new Review.User("reviewer1", 2));
+        when(graphQLClient.getPullRequestsWithReviews("testuser/test-repo", null))
+                .thenReturn(List.of(new GitHubGraphQLClient.PullRequestWithReviews(pr, List.of(review)),
+                        new GitHubGraphQLClient.PullRequestWithReviews(
+                                new PullRequest(8, "No reviews", "open", null, null, null, null, null),
+                                List.of())));
+
+        when(loader.loadRepositories(anyList())).thenReturn(SUCCESS_RESULT);
+        when(loader.loadPullRequests(eq("testuser/test-repo"), anyList()))
+                .thenReturn(new InsertResult(2, 2, List.of()));
+        when(loader.loadReviews("testuser/test-repo", 7, List.of(review))).thenReturn(SUCCESS_RESULT);
+        when(loader.loadLanguages(anyList())).thenReturn(SUCCESS_RESULT);
+
+        ExtractionSummary summary = ExtractionOrchestrator.builder(gitHubClient, loader)
+                .graphQLClient(graphQLClient)
+                .build()
+                .run(true);
+
+        assertFalse(summary.hasFailures());
+        assertEquals(2, summary.totalLoadedForEntity("pull_requests"));
+        assertEquals(1, summary.totalLoadedForEntity("reviews"));
+        verify(gitHubClient, never()).getReviews(anyString(), anyInt());
+        verify(gitHubClient, never()).getPullRequests(anyString(), any());
+        verify(gitHubClient, never()).getLanguages(anyString());
+        assertEquals(1, summary.totalLoadedForEntity("languages"));
+        verify(loader).updateLastExtractionTimestamp(eq("reviews"), any(Instant.class));
+    }
+
     // =========================================================================
     // Error handling test
     // =========================================================================
@@ -246,10 +298,11 @@ class ExtractionOrchestratorTest {
         when(gitHubClient.getRepositories()).thenReturn(List.of(repo));
 
         // Commits succeed (empty list)
-        when(gitHubClient.getCommits("testuser/test-repo")).thenReturn(List.of());
+        when(gitHubClient.getCommitPages(eq("testuser/test-repo"), any(), any()))
+                .thenReturn(List.of());
 
         // PRs throw an exception
-        when(gitHubClient.getPullRequests("testuser/test-repo"))
+        when(gitHubClient.getPullRequests(eq("testuser/test-repo"), any()))
                 .thenThrow(new IOException("API rate limit exceeded"));
 
         // Languages succeed
@@ -341,8 +394,8 @@ class ExtractionOrchestratorTest {
         assertEquals("repositories", summary.results().get(0).entityType());
 
         // No commits, PRs, reviews, or languages should be fetched
-        verify(gitHubClient, never()).getCommits(anyString());
-        verify(gitHubClient, never()).getPullRequests(anyString());
+        verify(gitHubClient, never()).getCommitPages(anyString(), any(), any());
+        verify(gitHubClient, never()).getPullRequests(anyString(), any());
         verify(gitHubClient, never()).getReviews(anyString(), anyInt());
         verify(gitHubClient, never()).getLanguages(anyString());
     }
@@ -365,16 +418,17 @@ class ExtractionOrchestratorTest {
         when(gitHubClient.getRepositories()).thenReturn(List.of(repo1, repo2));
 
         // repo1 commits fail
-        when(gitHubClient.getCommits("user/repo1"))
-                .thenThrow(new IOException("404 Not Found"));
+        when(gitHubClient.getCommitPages(eq("user/repo1"), any(), any()))
+                .thenThrow(new UncheckedIOException(new IOException("404 Not Found")));
         // repo2 commits succeed
         Commit c = new Commit("sha1",
                 new Commit.CommitDetail("msg",
                         new Commit.CommitAuthor("U", "u@u.com", "2024-06-01T00:00:00Z")),
                 null, null);
-        when(gitHubClient.getCommits("user/repo2")).thenReturn(List.of(c));
+        when(gitHubClient.getCommitPages(eq("user/repo2"), any(), any()))
+                .thenReturn(List.of(List.of(c)));
 
-        when(gitHubClient.getPullRequests(anyString())).thenReturn(List.of());
+        when(gitHubClient.getPullRequests(anyString(), any())).thenReturn(List.of());
         when(gitHubClient.getLanguages(anyString()))
                 .thenReturn(new Language("n/a", Map.of()));
 
@@ -404,6 +458,233 @@ class ExtractionOrchestratorTest {
         verify(loader, never()).updateLastExtractionTimestamp(eq("commits"), any());
     }
 
+    @Test
+    @DisplayName("Commit enrichment loads each listed commit with its detail stats and changed files")
+    void commitEnricher_loadsDetailStats() throws Exception {
+        Repository repo = new Repository(1L, "repo", "user/repo", new Repository.Owner("user"), "Java",
+                "2024-01-01T00:00:00Z", "2024-06-01T00:00:00Z", "public", false, 0);
+        when(gitHubClient.getRepositories()).thenReturn(List.of(repo));
+        List<Commit> listed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            listed.add(new Commit("sha" + i, new Commit.CommitDetail("m" + i, null), null, null));
+        }
+        when(gitHubClient.getCommitPages(eq("user/repo"), any(), any())).thenReturn(List.of(listed));
+        when(gitHubClient.getCommit(eq("user/repo"), anyString())).thenAnswer(invocation -> {
+            int i = Integer.parseInt(invocation.<String>getArgument(1).substring(3));
+            return new Commit("sha" + i, null, null, new Commit.CommitStats(i, 1, i + 1),
+                    List.of(new Commit.CommitFile("F" + i + ".java")));
+        });
+        when(gitHubClient.getPullRequests(anyString(), any())).thenReturn(List.of());
+        when(gitHubClient.getLanguages(anyString())).thenReturn(new Language("n/a", Map.of()));
+        when(loader.loadRepositories(anyList())).thenReturn(SUCCESS_RESULT);
+        when(loader.loadCommits(anyString(), anyList())).thenReturn(new InsertResult(5, 5, List.of()));
+
+        ExtractionOrchestrator orchestrator = ExtractionOrchestrator.builder(gitHubClient, loader)
+                .commitEnricher(new CommitEnricher(gitHubClient, 2))
+                .build();
+        ExtractionSummary summary = orchestrator.run(true);
+
+        assertFalse(summary.hasFailures());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Commit>> loaded = ArgumentCaptor.forClass(List.class);
+        verify(loader).loadCommits(eq("user/repo"), loaded.capture());
+        List<Commit> commits = loaded.getValue();
+        assertEquals(5, commits.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("m" + i, commits.get(i).commit().message());
+            assertEquals(i, commits.get(i).stats().additions());
+            assertEquals(1, commits.get(i).files().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Defers repository entities left out of the budget plan, keeping their own watermark")
+    void budgetPlan_defersUnplannedEntities() throws Exception {
+        List<Repository> repos = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            repos.add(new Repository(i, "repo" + i, "user/repo" + i,
+                    new Repository.Owner("user"), "Java",
+                    "2024-01-01T00:00:00Z", "2024-06-01T00:00:00Z",
+                    "public", false, 0));
+        }
+        when(gitHubClient.getRepositories()).thenReturn(repos);
+        ExtractionPlanner planner = mock(ExtractionPlanner.class);
+        when(planner.plan(eq(repos), any(), eq(true), eq(true))).thenReturn(new ExtractionPlanner.Plan(
+                Map.of("user/repo1", Set.of("commits", "pull_requests", "languages"),
+                        "user/repo2", Set.of("languages")), 100, 90));
+        when(gitHubClient.getCommitPages(eq("user/repo1"), any(), any())).thenReturn(List.of());
+        when(gitHubClient.getPullRequests(eq("user/repo1"), any())).thenReturn(List.of());
+        when(gitHubClient.getLanguages(anyString())).thenReturn(new Language("n/a", Map.of()));
+        when(loader.loadRepositories(anyList())).thenReturn(new InsertResult(2, 2, List.of()));
+
+        ExtractionOrchestrator orchestrator = ExtractionOrchestrator.builder(gitHubClient, loader)
+                .planner(planner)
+                .build();
+        ExtractionSummary summary = orchestrator.run(true);
+
+        assertFalse(summary.hasFailures());
+        assertEquals(3, summary.deferredCount());
+        assertTrue(summary.results().stream()
+                .filter(ExtractionResult::deferred)
+                .allMatch(r -> r.repoFullName().equals("user/repo2")));
+        verify(gitHubClient, never()).getCommitPages(eq("user/repo2"), any(), any());
+        verify(gitHubClient, never()).getPullRequests(eq("user/repo2"), any());
+
+        // Never extracted, so user/repo2 is left behind from the beginning while the watermark advances
+        verify(loader).updateRepositoryExtractionTimestamps("commits", Map.of("user/repo2", Instant.EPOCH), Set.of());
+        verify(loader).updateLastExtractionTimestamp(eq("commits"), any());
+        verify(loader).updateLastExtractionTimestamp(eq("languages"), any());
+    }
+
+    @Test
+    @DisplayName("A repository behind the watermark is extracted from its own, which is dropped once it catches up")
+    void budgetPlan_repositoryWatermarks() throws Exception {
+        Instant lastRun = Instant.parse("2024-06-01T00:00:00Z");
+        Instant behind = Instant.parse("2024-05-01T00:00:00Z");
+        List<Repository> repos = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            repos.add(new Repository(i, "repo" + i, "user/repo" + i,
+                    new Repository.Owner("user"), "Java",
+                    "2024-01-01T00:00:00Z", "2024-06-01T00:00:00Z",
+                    "public", false, 0));
+        }
+        when(gitHubClient.getRepositories()).thenReturn(repos);
+        when(loader.getLastExtractionTimestamp("commits")).thenReturn(lastRun);
+        when(loader.getRepositoryExtractionTimestamps("commits")).thenReturn(Map.of("user/repo1", behind));
+        ExtractionPlanner planner = mock(ExtractionPlanner.class);
+        when(planner.plan(eq(repos), any(), eq(true), eq(true))).thenReturn(new ExtractionPlanner.Plan(
+                Map.of("user/repo1", Set.of("commits", "pull_requests", "languages"),
+                        "user/repo2", Set.of("pull_requests", "languages")), 100, 90));
+        when(gitHubClient.getCommitPages(eq("user/repo1"), eq(behind), any())).thenReturn(List.of());
+        when(gitHubClient.getPullRequests(anyString(), any())).thenReturn(List.of());
+        when(gitHubClient.getLanguages(anyString())).thenReturn(new Language("n/a", Map.of()));
+        when(loader.loadRepositories(anyList())).thenReturn(new InsertResult(2, 2, List.of()));
+
+        ExtractionOrchestrator orchestrator = ExtractionOrchestrator.builder(gitHubClient, loader)
+                .planner(planner)
+                .build();
+        orchestrator.run(false);
+
+        verify(loader).updateRepositoryExtractionTimestamps("commits", Map.of("user/repo2", lastRun),
+                Set.of("user/repo1"));
+        ArgumentCaptor<Instant> advanced = ArgumentCaptor.forClass(Instant.class);
+        verify(loader).updateLastExtractionTimestamp(eq("commits"), advanced.capture());
+        assertTrue(advanced.getValue().isAfter(lastRun));
+    }
+
+    // =========================================================================
+    // Virtual-thread execution mode test
+    // =========================================================================
+
+    @Test
+    @DisplayName("Virtual-thread mode extracts repos concurrently within the repository and review caps, "
+            + "and reports results in repo order")
+    void virtualThreadMode_resultsInRepoOrder() throws Exception {
+        List<Repository> repos = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            repos.add(new Repository(i, "repo" + i, "user/repo" + i,
+                    new Repository.Owner("user"), "Java",
+                    "2024-01-01T00:00:00Z", "2024-06-01T00:00:00Z",
+                    "public", false, 0));
+        }
+        when(gitHubClient.getRepositories()).thenReturn(repos);
+        AtomicInteger reposInFlight = new AtomicInteger();
+        AtomicInteger maxReposInFlight = new AtomicInteger();
+        when(gitHubClient.getCommitPages(anyString(), any(), any())).thenAnswer(invocation -> {
+            maxReposInFlight.accumulateAndGet(reposInFlight.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            reposInFlight.decrementAndGet();
+            return List.of();
+        });
+
+        PullRequest pr1 = new PullRequest(1, "PR 1", "open", "2024-05-10T08:00:00Z",
+                "2024-05-12T16:00:00Z", null, null, new PullRequest.User("u", 1));
+        PullRequest pr2 = new PullRequest(2, "PR 2", "open", "2024-05-10T08:00:00Z",
+                "2024-05-12T16:00:00Z", null, null, new PullRequest.User("u", 1));
+        when(gitHubClient.getPullRequests(anyString(), any())).thenReturn(List.of(pr1, pr2));
+        Review review = new Review(100L, "APPROVED", "2024-05-11T12:00:00Z", "",
+                new Review.User("reviewer", 2));
+        AtomicInteger reviewsInFlight = new AtomicInteger();
+        AtomicInteger maxReviewsInFlight = new AtomicInteger();
+        when(gitHubClient.getReviews(anyString(), anyInt())).thenAnswer(invocation -> {
+            maxReviewsInFlight.accumulateAndGet(reviewsInFlight.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            reviewsInFlight.decrementAndGet();
+            return invocation.getArgument(0).equals("user/repo2") ? List.of(review) : List.of();
+        });
+        when(gitHubClient.getLanguages(anyString())).thenReturn(new Language("n/a", Map.of()));
+
+        when(loader.loadRepositories(anyList())).thenReturn(new InsertResult(3, 3, List.of()));
+        when(loader.loadPullRequests(anyString(), anyList())).thenReturn(new InsertResult(2, 2, List.of()));
+        when(loader.loadReviews(eq("user/repo2"), anyInt(), anyList())).thenReturn(SUCCESS_RESULT);
+
+        // Two repositories at once fetch up to four pull requests' reviews, one more than the review cap
+        ExtractionOrchestrator orchestrator = ExtractionOrchestrator.builder(gitHubClient, loader)
+                .mode(ExecutionMode.virtualThreads(2, 3))
+                .build();
+        ExtractionSummary summary = orchestrator.run(true);
+
+        assertFalse(summary.hasFailures());
+        List<String> commitRepos = summary.results().stream()
+                .filter(r -> r.entityType().equals("commits"))
+                .map(ExtractionResult::repoFullName)
+                .toList();
+        assertEquals(List.of("user/repo1", "user/repo2", "user/repo3"), commitRepos);
+        assertTrue(maxReposInFlight.get() > 1, "expected concurrent repositories, saw " + maxReposInFlight.get());
+        assertTrue(maxReposInFlight.get() <= 2, "repository cap exceeded: " + maxReposInFlight.get());
+        assertTrue(maxReviewsInFlight.get() > 1, "expected concurrent review fetches, saw " + maxReviewsInFlight.get());
+        assertTrue(maxReviewsInFlight.get() <= 3, "review cap exceeded: " + maxReviewsInFlight.get());
+
+        InOrder inOrder = inOrder(loader);
+        inOrder.verify(loader).loadReviews("user/repo2", 1, List.of(review));
+        inOrder.verify(loader).loadReviews("user/repo2", 2, List.of(review));
+    }
+
+    @Test
+    @DisplayName("Statistics are requested before the other entities, asked for once more at the end, "
+            + "and deferred if GitHub is still computing them")
+    void stats_askedAgainAtEndOfRun() throws Exception {
+        Repository ready = new Repository(1L, "ready", "user/ready", new Repository.Owner("user"), "Java",
+                "2024-01-01T00:00:00Z", "2024-06-01T00:00:00Z", "public", false, 0);
+        Repository computing = new Repository(2L, "computing", "user/computing", new Repository.Owner("user"),
+                "Java", "2024-01-01T00:00:00Z", "2024-06-01T00:00:00Z", "public", false, 0);
+        when(gitHubClient.getRepositories()).thenReturn(List.of(ready, computing));
+        when(gitHubClient.getCommitPages(anyString(), any(), any())).thenReturn(List.of());
+        when(gitHubClient.getPullRequests(anyString(), any())).thenReturn(List.of());
+        when(gitHubClient.getLanguages(anyString())).thenReturn(new Language("n/a", Map.of()));
+        when(loader.loadRepositories(anyList())).thenReturn(new InsertResult(2, 2, List.of()));
+
+        List<ContributorStats> contributors = List.of(new ContributorStats(
+                new ContributorStats.Contributor("dev", 7L), 2,
+                List.of(new ContributorStats.Week(1_700_352_000L, 10, 2, 2))));
+        List<CodeFrequency> frequency = List.of(new CodeFrequency(1_700_352_000L, 10, 2));
+        when(gitHubClient.getContributorStats("user/ready")).thenReturn(contributors);
+        // 202 Accepted when first asked
+        when(gitHubClient.getCodeFrequency("user/ready")).thenReturn(null).thenReturn(frequency);
+        when(gitHubClient.getContributorStats("user/computing")).thenReturn(null);
+        when(gitHubClient.getCodeFrequency("user/computing")).thenReturn(null);
+        when(loader.loadContributorStats("user/ready", contributors)).thenReturn(SUCCESS_RESULT);
+        when(loader.loadCodeFrequency("user/ready", frequency)).thenReturn(SUCCESS_RESULT);
+
+        ExtractionSummary summary = ExtractionOrchestrator.builder(gitHubClient, loader)
+                .statsExtractor(new StatsExtractor(gitHubClient, loader,
+                        EnumSet.of(StatsExtractor.Statistic.CONTRIBUTORS, StatsExtractor.Statistic.CODE_FREQUENCY)))
+                .build()
+                .run(true);
+
+        assertFalse(summary.hasFailures());
+        assertEquals(2, summary.totalLoadedForEntity("stats"));
+        assertTrue(summary.results().stream()
+                .anyMatch(r -> r.entityType().equals("stats") && r.repoFullName().equals("user/computing")
+                        && r.deferred()));
+        verify(gitHubClient, times(2)).getCodeFrequency("user/ready");
+        verify(gitHubClient, times(2)).getCodeFrequency("user/computing");
+        InOrder inOrder = inOrder(gitHubClient);
+        inOrder.verify(gitHubClient).getCodeFrequency("user/computing");
+        inOrder.verify(gitHubClient).getCommitPages(eq("user/computing"), any(), any());
+        inOrder.verify(gitHubClient).getCodeFrequency("user/computing");
+    }
+
     // =========================================================================
     // ExtractorApp CLI argument parsing tests
     // =========================================================================
@@ -0,0 +1,95 @@
+package com.devpulse.extractor.orchestrator;
+
+import com.devpulse.extractor.client.CommitStore;
+import com.devpulse.extractor.client.GitHubApiClient;
+import com.devpulse.extractor.client.TokenPool;
+import com.devpulse.extractor.model.Commit;
+import com.devpulse.extractor.model.RateLimit;
+import com.devpulse.extractor.model.Repository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ExtractionPlanner} covering how repositories and entities
+ * are fitted into the budget.
+ */
+class ExtractionPlannerTest {
+
+    @Test
+    @DisplayName("Plans the most active repositories first and fills the rest with smaller ones")
+    void plan_mostActiveFirst() {
+        ExtractionPlanner.Plan plan = ExtractionPlanner.plan(List.of(
+                estimate("user/quiet", 5, 1, 2),
+                estimate("user/busy", 900, 10, 60),
+                estimate("user/medium", 200, 3, 40)), 80);
+
+        assertTrue(plan.includes("user/busy", "commits"));
+        assertTrue(plan.includes("user/busy", "reviews"));
+        assertTrue(plan.includes("user/busy", "languages"));
+        // 71 spent; medium's pull requests no longer fit, but the quiet repository does
+        assertTrue(plan.includes("user/medium", "commits"));
+        assertFalse(plan.includes("user/medium", "pull_requests"));
+        assertFalse(plan.includes("user/medium", "reviews"));
+        assertTrue(plan.includes("user/quiet", "pull_requests"));
+        assertEquals(79, plan.plannedRequests());
+    }
+
+    @Test
+    @DisplayName("Always plans entities that cost no core requests")
+    void plan_freeEntitiesAlwaysPlanned() {
+        Map<String, Long> costs = new LinkedHashMap<>();
+        costs.put("commits", 50L);
+        costs.put("pull_requests", 0L);
+        costs.put("languages", 0L);
+
+        ExtractionPlanner.Plan plan = ExtractionPlanner.plan(
+                List.of(new ExtractionPlanner.Estimate("user/repo", 5000, costs)), 0);
+
+        assertFalse(plan.includes("user/repo", "commits"));
+        assertTrue(plan.includes("user/repo", "pull_requests"));
+        assertTrue(plan.includes("user/repo", "languages"));
+    }
+
+    @Test
+    @DisplayName("Commit detail cost leaves out commits the commit store already holds")
+    void plan_commitDetailsSkipStoredCommits(@TempDir Path storeDir) throws Exception {
+        String stored = "0123456789abcdef0123456789abcdef01234567";
+        String fresh = "89abcdef0123456789abcdef0123456789abcdef";
+        try (CommitStore store = CommitStore.open(storeDir)) {
+            store.put(stored, new CommitStore.Entry(1, 0, 1, 0, 0));
+            GitHubApiClient client = mock(GitHubApiClient.class);
+            TokenPool tokenPool = mock(TokenPool.class);
+            when(client.getCoreRateLimit()).thenReturn(new RateLimit(5000, 5000, 0, 0));
+            when(client.tokenPool()).thenReturn(tokenPool);
+            when(client.commitStore()).thenReturn(store);
+            when(client.countCommits(eq("user/repo"), any())).thenReturn(2L);
+            when(client.getNewestCommits(eq("user/repo"), any())).thenReturn(List.of(
+                    new Commit(stored, null, null, null), new Commit(fresh, null, null, null)));
+            Repository repo = new Repository(1, "repo", "user/repo", new Repository.Owner("user"), "Java",
+                    "2024-01-01T00:00:00Z", "2024-06-01T00:00:00Z", "public", false, 0);
+
+            ExtractionPlanner.Plan plan = new ExtractionPlanner(client, true)
+                    .plan(List.of(repo), Watermarks.NONE, false, false);
+
+            // One list page plus one detail fetch, for the commit the store lacks
+            assertEquals(2, plan.plannedRequests());
+        }
+    }
+
+    private static ExtractionPlanner.Estimate estimate(String repo, long activity, long commits, long pullRequests) {
+        Map<String, Long> costs = new LinkedHashMap<>();
+        costs.put("commits", commits);
+        costs.put("pull_requests", pullRequests);
+        costs.put("languages", 1L);
+        return new ExtractionPlanner.Estimate(repo, activity, costs);
+    }
+}